@@ -30,6 +30,7 @@ import io.micronaut.runtime.ApplicationConfiguration;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -46,6 +47,12 @@ import java.util.stream.Stream;
  */
 public abstract class DiscoveryClientConfiguration extends HttpClientConfiguration {
 
+    /**
+     * The default DNS TTL seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_DNS_TTL_SECONDS = 60;
+
     private final ApplicationConfiguration applicationConfiguration;
     private List<ServiceInstance> defaultZone = Collections.emptyList();
     private List<ServiceInstance> otherZones = Collections.emptyList();
@@ -54,6 +61,8 @@ public abstract class DiscoveryClientConfiguration extends HttpClientConfigurati
     private int port = -1;
     private boolean secure;
     private boolean shouldUseDns = false;
+    private Duration dnsTtl = Duration.ofSeconds(DEFAULT_DNS_TTL_SECONDS);
+    private String dnsFallbackFile;
     private String contextPath;
 
     /**
@@ -91,6 +100,50 @@ public abstract class DiscoveryClientConfiguration extends HttpClientConfigurati
         this.shouldUseDns = shouldUseDns;
     }
 
+    /**
+     * @return How long the DNS records of the discovery servers are cached before being resolved again in the
+     * background
+     * @since 4.6.0
+     */
+    @Experimental
+    public Duration getDnsTtl() {
+        return dnsTtl;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_DNS_TTL_SECONDS} seconds).
+     *
+     * @param dnsTtl How long the DNS records of the discovery servers are cached before being resolved again in the
+     *               background
+     * @since 4.6.0
+     */
+    @Experimental
+    public void setDnsTtl(Duration dnsTtl) {
+        if (dnsTtl != null) {
+            this.dnsTtl = dnsTtl;
+        }
+    }
+
+    /**
+     * @return The file the discovery servers resolved from DNS are saved to, and read from when DNS resolution fails
+     * before any server was resolved
+     * @since 4.6.0
+     */
+    @Experimental
+    public Optional<String> getDnsFallbackFile() {
+        return Optional.ofNullable(dnsFallbackFile);
+    }
+
+    /**
+     * @param dnsFallbackFile The file the discovery servers resolved from DNS are saved to, and read from when DNS
+     *                        resolution fails before any server was resolved
+     * @since 4.6.0
+     */
+    @Experimental
+    public void setDnsFallbackFile(@Nullable String dnsFallbackFile) {
+        this.dnsFallbackFile = dnsFallbackFile;
+    }
+
     /**
      * @return The context path to use
      */
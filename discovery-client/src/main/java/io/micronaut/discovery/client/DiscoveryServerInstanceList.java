@@ -23,31 +23,59 @@ import io.micronaut.http.HttpRequest;
 import io.micronaut.runtime.ApplicationConfiguration;
 import io.micronaut.runtime.server.EmbeddedServer;
 import io.micronaut.runtime.server.event.ServerStartupEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Abstract {@link ServiceInstanceList} implementation for Discovery servers like Eureka and Consul.
  *
+ * <p>When the discovery servers are resolved from DNS and the resolution fails, the last known servers are served, or
+ * the servers saved to the DNS fallback file, if any, so that a DNS outage does not make the discovery servers
+ * unavailable.</p>
+ *
  * @author graemerocher
  * @since 1.0
  */
 public abstract class DiscoveryServerInstanceList  implements ServiceInstanceList, ApplicationEventListener<ServerStartupEvent>, Ordered {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DiscoveryServerInstanceList.class);
+
     private final DiscoveryClientConfiguration configuration;
     private final ApplicationConfiguration.InstanceConfiguration instanceConfiguration;
+    private final DnsRecordCache dnsRecordCache;
     private EmbeddedServer serverInstance;
+    private final AtomicLong dnsFallbackCount = new AtomicLong();
+    private volatile DnsInstances dnsInstances;
 
     /**
      * @param configuration The discovery client configuration
      * @param instanceConfiguration The instance configuration
      */
     public DiscoveryServerInstanceList(DiscoveryClientConfiguration configuration, ApplicationConfiguration.InstanceConfiguration instanceConfiguration) {
+        this(configuration, instanceConfiguration, DnsResolver::getCNamesFromTxtRecord);
+    }
+
+    /**
+     * @param configuration The discovery client configuration
+     * @param instanceConfiguration The instance configuration
+     * @param lookup Resolves the TXT records of the discovery servers
+     */
+    DiscoveryServerInstanceList(DiscoveryClientConfiguration configuration, ApplicationConfiguration.InstanceConfiguration instanceConfiguration, DnsRecordCache.TxtRecordLookup lookup) {
         this.configuration = configuration;
         this.instanceConfiguration = instanceConfiguration;
+        this.dnsRecordCache = new DnsRecordCache(lookup, configuration.getDnsTtl());
     }
 
     @Override
@@ -58,13 +86,7 @@ public abstract class DiscoveryServerInstanceList  implements ServiceInstanceLis
     @Override
     public List<ServiceInstance> getInstances() {
         if (configuration.isShouldUseDns() && serverInstance != null) {
-            final List<String> serviceUrlsFromDNS = EndpointUtil.getServiceUrlsFromDNS(serverInstance, instanceConfiguration, configuration);
-            List<ServiceInstance> serviceInstances = new ArrayList<>();
-            for (String serviceUrlsFromDN : serviceUrlsFromDNS) {
-                serviceInstances.add(ServiceInstance.builder(getID(), URI.create(serviceUrlsFromDN)).build());
-            }
-
-            return serviceInstances;
+            return getInstancesFromDns();
         } else {
 
             List<ServiceInstance> allZones = configuration.getAllZones();
@@ -79,8 +101,109 @@ public abstract class DiscoveryServerInstanceList  implements ServiceInstanceLis
         }
     }
 
+    /**
+     * @return The number of times the last known discovery servers were served because DNS resolution failed
+     * @since 4.6.0
+     */
+    public long getDnsFallbackCount() {
+        return dnsFallbackCount.get();
+    }
+
     @Override
     public void onApplicationEvent(ServerStartupEvent event) {
         this.serverInstance = event.getSource();
     }
+
+    private List<ServiceInstance> getInstancesFromDns() {
+        // the memoized servers are only computed again once the refreshed records changed
+        dnsRecordCache.refreshExpired();
+        long version = dnsRecordCache.getVersion();
+        DnsInstances dnsInstances = this.dnsInstances;
+        if (dnsInstances != null && dnsInstances.version == version
+            && (!dnsInstances.fallback || System.nanoTime() - dnsInstances.retryAt < 0)) {
+            // the DNS records did not change
+            return dnsInstances.instances;
+        }
+        List<String> serviceUrlsFromDNS;
+        try {
+            serviceUrlsFromDNS = EndpointUtil.getServiceUrlsFromDNS(serverInstance, instanceConfiguration, configuration, dnsRecordCache::getCNamesFromTxtRecord);
+        } catch (RuntimeException e) {
+            List<ServiceInstance> lastKnown = dnsInstances != null ? dnsInstances.instances : readFallbackFile();
+            if (lastKnown.isEmpty()) {
+                throw e;
+            }
+            dnsFallbackCount.incrementAndGet();
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Error resolving the {} servers from DNS, serving the last known servers {}: {}", getID(), lastKnown, e.getMessage());
+            }
+            // retried once the DNS TTL elapsed
+            this.dnsInstances = new DnsInstances(version, lastKnown, true, System.nanoTime() + configuration.getDnsTtl().toNanos());
+            return lastKnown;
+        }
+        List<ServiceInstance> serviceInstances = toInstances(serviceUrlsFromDNS);
+        this.dnsInstances = new DnsInstances(version, serviceInstances, false, 0);
+        if (dnsInstances == null || !serviceUrlsFromDNS.equals(dnsInstances.instances.stream().map(instance -> instance.getURI().toString()).toList())) {
+            writeFallbackFile(serviceUrlsFromDNS);
+        }
+        return serviceInstances;
+    }
+
+    private List<ServiceInstance> toInstances(List<String> serviceUrls) {
+        List<ServiceInstance> serviceInstances = new ArrayList<>(serviceUrls.size());
+        for (String serviceUrl : serviceUrls) {
+            serviceInstances.add(ServiceInstance.builder(getID(), URI.create(serviceUrl)).build());
+        }
+        return Collections.unmodifiableList(serviceInstances);
+    }
+
+    private List<ServiceInstance> readFallbackFile() {
+        Optional<Path> file = configuration.getDnsFallbackFile().map(Path::of);
+        if (file.isEmpty() || !Files.isReadable(file.get())) {
+            return Collections.emptyList();
+        }
+        try {
+            List<String> serviceUrls = new ArrayList<>();
+            for (String line : Files.readAllLines(file.get(), StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    serviceUrls.add(line.trim());
+                }
+            }
+            return toInstances(serviceUrls);
+        } catch (IOException | IllegalArgumentException e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Error reading the last known {} servers from [{}]: {}", getID(), file.get(), e.getMessage());
+            }
+            return Collections.emptyList();
+        }
+    }
+
+    private void writeFallbackFile(List<String> serviceUrls) {
+        Optional<Path> file = configuration.getDnsFallbackFile().map(Path::of);
+        if (file.isEmpty()) {
+            return;
+        }
+        Path target = file.get().toAbsolutePath();
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            Files.write(temp, serviceUrls, StandardCharsets.UTF_8);
+            // readers never see a partially written file
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Error writing the last known {} servers to [{}]: {}", getID(), target, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The discovery servers computed from a version of the DNS records.
+     *
+     * @param version   The version of the DNS records
+     * @param instances The discovery servers
+     * @param fallback  Whether the DNS resolution failed and the servers are the last known ones
+     * @param retryAt   The time in nanoseconds after which a failed DNS resolution is retried
+     */
+    private record DnsInstances(long version, List<ServiceInstance> instances, boolean fallback, long retryAt) {
+    }
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client;
+
+import io.micronaut.core.annotation.Internal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.naming.NamingException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the TXT records of the discovery servers, so that DNS is not queried on every lookup of the discovery
+ * servers.
+ *
+ * <p>A name is only resolved on the calling thread the first time it is looked up. Once its records expire, they are
+ * still served while they are resolved again in the background, and they are kept for another TTL when that fails.
+ * The {@link #getVersion() version} changes whenever resolved records differ from the cached ones, so that what is
+ * derived from the records can be memoized until they change.</p>
+ *
+ * <p>JNDI does not expose the TTL of DNS records, so the TTL is configured.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class DnsRecordCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DnsRecordCache.class);
+
+    private final TxtRecordLookup lookup;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * @param lookup Resolves the TXT records of a name
+     * @param ttl    How long the records are cached
+     */
+    DnsRecordCache(TxtRecordLookup lookup, Duration ttl) {
+        this.lookup = lookup;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * @param dnsName The DNS name
+     * @return The TXT records of the name
+     * @throws NamingException if the name is looked up for the first time and cannot be resolved
+     */
+    Set<String> getCNamesFromTxtRecord(String dnsName) throws NamingException {
+        Entry entry = entries.get(dnsName);
+        if (entry == null) {
+            Set<String> records = copy(lookup.lookup(dnsName));
+            entry = new Entry(records, System.nanoTime() + ttlNanos);
+            Entry previous = entries.putIfAbsent(dnsName, entry);
+            if (previous != null) {
+                return previous.records;
+            }
+            version.incrementAndGet();
+            return records;
+        }
+        if (System.nanoTime() - entry.expiresAt >= 0) {
+            refresh(dnsName, entry);
+        }
+        return entry.records;
+    }
+
+    /**
+     * Resolves again in the background the names whose records expired, for the callers that memoize what they
+     * derive from the records and only look the names up again once the {@link #getVersion() version} changed.
+     */
+    void refreshExpired() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (now - entry.getValue().expiresAt >= 0) {
+                refresh(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * @return A version that changes whenever the cached records change
+     */
+    long getVersion() {
+        return version.get();
+    }
+
+    private void refresh(String dnsName, Entry entry) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        Mono.fromCallable(() -> copy(lookup.lookup(dnsName)))
+            .subscribeOn(Schedulers.boundedElastic())
+            .subscribe(records -> {
+                entries.put(dnsName, new Entry(records, System.nanoTime() + ttlNanos));
+                if (!records.equals(entry.records)) {
+                    version.incrementAndGet();
+                }
+            }, throwable -> {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Error resolving the DNS name [{}], keeping its previous records: {}", dnsName, throwable.getMessage());
+                }
+                entries.put(dnsName, new Entry(entry.records, System.nanoTime() + ttlNanos));
+            });
+    }
+
+    private static Set<String> copy(Set<String> records) {
+        // shared by the callers
+        return Collections.unmodifiableSet(new TreeSet<>(records));
+    }
+
+    /**
+     * Resolves the TXT records of a name.
+     */
+    @FunctionalInterface
+    interface TxtRecordLookup {
+
+        /**
+         * @param dnsName The DNS name
+         * @return The TXT records of the name
+         * @throws NamingException if the name cannot be resolved
+         */
+        Set<String> lookup(String dnsName) throws NamingException;
+    }
+
+    /**
+     * The cached records of a name.
+     */
+    private static final class Entry {
+        private final Set<String> records;
+        private final long expiresAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(Set<String> records, long expiresAt) {
+            this.records = records;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
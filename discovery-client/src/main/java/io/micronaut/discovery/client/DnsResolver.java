@@ -42,8 +42,6 @@ final class DnsResolver {
 
     private static final String TXT_RECORD_TYPE = "TXT";
 
-    private static final DirContext DIR_CONTEXT = getDirContext();
-
     private DnsResolver() {
     }
 
@@ -55,7 +53,14 @@ final class DnsResolver {
      * @return A set of cname records
      */
     static Set<String> getCNamesFromTxtRecord(String discoveryDnsName) throws NamingException {
-        Attributes attrs = DIR_CONTEXT.getAttributes(discoveryDnsName, new String[]{TXT_RECORD_TYPE});
+        // a DirContext is not thread safe
+        DirContext dirContext = getDirContext();
+        Attributes attrs;
+        try {
+            attrs = dirContext.getAttributes(discoveryDnsName, new String[]{TXT_RECORD_TYPE});
+        } finally {
+            dirContext.close();
+        }
         Attribute attr = attrs.get(TXT_RECORD_TYPE);
         String txtRecord = null;
         if (attr != null) {
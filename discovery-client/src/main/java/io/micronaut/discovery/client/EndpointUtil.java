@@ -61,12 +61,32 @@ public class EndpointUtil {
             ApplicationConfiguration.InstanceConfiguration instanceConfiguration,
             DiscoveryClientConfiguration discoveryClientConfiguration) {
 
+        return getServiceUrlsFromDNS(embeddedServer, instanceConfiguration, discoveryClientConfiguration, DnsResolver::getCNamesFromTxtRecord);
+    }
+
+    /**
+     * Get the list of all eureka service urls from DNS, resolving the TXT records with the given lookup.
+     *
+     * @param embeddedServer the embedded server
+     * @param instanceConfiguration The instance configuration
+     * @param discoveryClientConfiguration The discovery client configuration
+     * @param lookup Resolves the TXT records, for example from a {@link DnsRecordCache}
+     *
+     * @return The list of all eureka service urls for the eureka client to talk to.
+     */
+    static List<String> getServiceUrlsFromDNS(
+            EmbeddedServer embeddedServer,
+            ApplicationConfiguration.InstanceConfiguration instanceConfiguration,
+            DiscoveryClientConfiguration discoveryClientConfiguration,
+            DnsRecordCache.TxtRecordLookup lookup) {
+
         return getServiceUrlsFromDNS(
                 instanceConfiguration,
                 discoveryClientConfiguration,
                 instanceConfiguration.getZone().orElse(DEFAULT_ZONE),
                 true,
-                new InstanceInfoBasedUrlRandomizer(embeddedServer)
+                new InstanceInfoBasedUrlRandomizer(embeddedServer),
+                lookup
         );
     }
 
@@ -81,6 +101,7 @@ public class EndpointUtil {
      * @param instanceZone The zone in which the client resides.
      * @param preferSameZone true if we have to prefer the same zone as the client, false otherwise.
      * @param randomizer a randomizer to randomized returned urls
+     * @param lookup Resolves the TXT records
      *
      * @return The list of all eureka service urls for the eureka client to talk to.
      */
@@ -89,12 +110,13 @@ public class EndpointUtil {
             DiscoveryClientConfiguration discoveryClientConfiguration,
             String instanceZone,
             boolean preferSameZone,
-            ServiceUrlRandomizer randomizer) {
+            ServiceUrlRandomizer randomizer,
+            DnsRecordCache.TxtRecordLookup lookup) {
         final ConvertibleValues<String> values = ConvertibleValues.of(serviceInstance.getMetadata());
         String region = values.get(ServiceInstance.REGION, String.class).orElse(DEFAULT_REGION);
         // Get zone-specific DNS names for the given region so that we can get a
         // list of available zones
-        Map<String, List<String>> zoneDnsNamesMap = getZoneBasedDiscoveryUrlsFromRegion(discoveryClientConfiguration, region);
+        Map<String, List<String>> zoneDnsNamesMap = getZoneBasedDiscoveryUrlsFromRegion(discoveryClientConfiguration, region, lookup);
         Set<String> availableZones = zoneDnsNamesMap.keySet();
         List<String> zones = new ArrayList<>(availableZones);
         if (zones.isEmpty()) {
@@ -137,7 +159,7 @@ public class EndpointUtil {
         List<String> serviceUrls = new ArrayList<>();
         for (String zone : zones) {
             for (String zoneCname : zoneDnsNamesMap.get(zone)) {
-                List<String> ec2Urls = new ArrayList<>(getEC2DiscoveryUrlsFromZone(zoneCname, DiscoveryUrlType.CNAME));
+                List<String> ec2Urls = new ArrayList<>(getEC2DiscoveryUrlsFromZone(zoneCname, DiscoveryUrlType.CNAME, lookup));
                 // Rearrange the list to distribute the load in case of multiple servers
                 if (ec2Urls.size() > 1) {
                     randomizer.randomize(ec2Urls);
@@ -184,17 +206,17 @@ public class EndpointUtil {
      *
      * @param dnsName The dns name of the zone-specific CNAME
      * @param type CNAME or EIP that needs to be retrieved
+     * @param lookup Resolves the TXT records
      * @return The list of EC2 URLs associated with the dns name
      */
-    private static Set<String> getEC2DiscoveryUrlsFromZone(String dnsName, DiscoveryUrlType type) {
+    private static Set<String> getEC2DiscoveryUrlsFromZone(String dnsName, DiscoveryUrlType type, DnsRecordCache.TxtRecordLookup lookup) {
         Set<String> eipsForZone;
         try {
             dnsName = "txt." + dnsName;
             LOG.debug("The zone url to be looked up is {} :", dnsName);
-            Set<String> ec2UrlsForZone = DnsResolver.getCNamesFromTxtRecord(dnsName);
+            Set<String> ec2UrlsForZone = lookup.lookup(dnsName);
             for (String ec2Url : ec2UrlsForZone) {
                 LOG.debug("The eureka url for the dns name {} is {}", dnsName, ec2Url);
-                ec2UrlsForZone.add(ec2Url);
             }
             if (DiscoveryUrlType.CNAME.equals(type)) {
                 return ec2UrlsForZone;
@@ -227,18 +249,20 @@ public class EndpointUtil {
      * @param discoveryClientConfiguration The discovery client configuration
      * @param region The region in use
      *            - The region for which the zone names need to be retrieved
+     * @param lookup Resolves the TXT records
      * @return - The list of CNAMES from which the zone-related information can
      *         be retrieved
      */
     private static Map<String, List<String>> getZoneBasedDiscoveryUrlsFromRegion(
             DiscoveryClientConfiguration discoveryClientConfiguration,
-            String region) {
+            String region,
+            DnsRecordCache.TxtRecordLookup lookup) {
         String discoveryDnsName = null;
         try {
             discoveryDnsName = "txt." + region + "." + discoveryClientConfiguration.getHost();
 
             LOG.debug("The region url to be looked up is {} :", discoveryDnsName);
-            Set<String> zoneCnamesForRegion = new TreeSet<>(DnsResolver.getCNamesFromTxtRecord(discoveryDnsName));
+            Set<String> zoneCnamesForRegion = new TreeSet<>(lookup.lookup(discoveryDnsName));
             Map<String, List<String>> zoneCnameMapForRegion = new TreeMap<>();
             for (String zoneCname : zoneCnamesForRegion) {
                 String zone;
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.management.health.indicator.HealthResult;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Caches the result of a health indicator and refreshes it in the background, so that health probes are answered
+ * immediately and never wait for the discovery server.
+ *
+ * <p>Only the first probe waits for the first result. Each refresh starts the refresh interval after the previous one
+ * ended, so a slow discovery server is never queried concurrently. When no refresh succeeds for longer than the max
+ * age, for example because the discovery server hangs, the indicator reports it as down.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+public final class HealthResultCache implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HealthResultCache.class);
+
+    private final String name;
+    private final Supplier<Publisher<HealthResult>> loader;
+    private final Duration refreshInterval;
+    private final Duration maxAge;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final Mono<HealthResult> first;
+    private volatile Cached cached;
+    private volatile Disposable refreshTask;
+    private volatile boolean closed;
+
+    /**
+     * @param name          The name of the health indicator
+     * @param configuration The cache configuration
+     * @param loader        Loads the health result, emitting a down result rather than an error
+     */
+    public HealthResultCache(@NonNull String name,
+                             @NonNull HealthResultCacheConfiguration configuration,
+                             @NonNull Supplier<Publisher<HealthResult>> loader) {
+        this.name = name;
+        this.loader = loader;
+        this.refreshInterval = configuration.getRefreshInterval();
+        this.maxAge = configuration.getMaxAge();
+        this.first = Mono.defer(this::load).cache();
+    }
+
+    /**
+     * @return The cached health result
+     */
+    @NonNull
+    public Publisher<HealthResult> getResult() {
+        Cached cached = this.cached;
+        if (cached == null) {
+            if (started.compareAndSet(false, true)) {
+                first.subscribe(result -> scheduleRefresh(), throwable -> scheduleRefresh());
+            }
+            return first;
+        }
+        long age = System.nanoTime() - cached.loadedAt;
+        if (age > maxAge.toNanos()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("error", "No health result for " + Duration.ofNanos(age));
+            details.put("lastStatus", cached.result.getStatus().getName());
+            return Mono.just(HealthResult.builder(name, HealthStatus.DOWN).details(details).build());
+        }
+        return Mono.just(cached.result);
+    }
+
+    /**
+     * Stops refreshing the health result.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Disposable refreshTask = this.refreshTask;
+        if (refreshTask != null) {
+            refreshTask.dispose();
+        }
+    }
+
+    private Mono<HealthResult> load() {
+        return Mono.from(loader.get())
+            // a hanging refresh must not stop the next ones
+            .timeout(maxAge)
+            .onErrorResume(throwable -> Mono.just(HealthResult.builder(name, HealthStatus.DOWN).exception(throwable).build()))
+            .defaultIfEmpty(HealthResult.builder(name, HealthStatus.UNKNOWN).build())
+            .doOnNext(result -> cached = new Cached(result, System.nanoTime()));
+    }
+
+    private void scheduleRefresh() {
+        if (!closed) {
+            refreshTask = Mono.delay(refreshInterval)
+                .then(Mono.defer(this::load))
+                .subscribe(result -> scheduleRefresh(), throwable -> {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Error refreshing the health result of [{}]: {}", name, throwable.getMessage());
+                    }
+                    scheduleRefresh();
+                });
+        }
+    }
+
+    /**
+     * A cached health result.
+     *
+     * @param result   The health result
+     * @param loadedAt The time in nanoseconds the result was loaded
+     */
+    private record Cached(HealthResult result, long loadedAt) {
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client;
+
+import io.micronaut.core.util.Toggleable;
+
+import java.time.Duration;
+
+/**
+ * Settings of a {@link HealthResultCache}, extended by the health indicator configuration of each discovery client.
+ *
+ * @since 4.6.0
+ */
+public class HealthResultCacheConfiguration implements Toggleable {
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default refresh interval seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_REFRESH_INTERVAL_SECONDS = 10;
+
+    /**
+     * The default max age seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MAX_AGE_SECONDS = 60;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private Duration refreshInterval = Duration.ofSeconds(DEFAULT_REFRESH_INTERVAL_SECONDS);
+    private Duration maxAge = Duration.ofSeconds(DEFAULT_MAX_AGE_SECONDS);
+
+    /**
+     * @return Whether the health indicator serves a cached result refreshed in the background
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_ENABLED}).
+     * @param enabled Whether the health indicator serves a cached result refreshed in the background
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The delay between the end of a refresh of the health result and the start of the next one
+     */
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_REFRESH_INTERVAL_SECONDS} seconds).
+     * @param refreshInterval The delay between the end of a refresh of the health result and the start of the next
+     *                        one
+     */
+    public void setRefreshInterval(Duration refreshInterval) {
+        if (refreshInterval != null) {
+            this.refreshInterval = refreshInterval;
+        }
+    }
+
+    /**
+     * @return The max age of the cached health result, beyond which the health indicator reports the discovery
+     * server as down
+     */
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_MAX_AGE_SECONDS} seconds).
+     * @param maxAge The max age of the cached health result, beyond which the health indicator reports the discovery
+     *               server as down
+     */
+    public void setMaxAge(Duration maxAge) {
+        if (maxAge != null) {
+            this.maxAge = maxAge;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+            "enabled=" + enabled +
+            ", refreshInterval=" + refreshInterval +
+            ", maxAge=" + maxAge +
+            '}';
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.discovery.ServiceInstance;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caches the instances of each service, decoupling the latency of lookups from the latency of the discovery server.
+ *
+ * <ul>
+ *     <li>Instances younger than the time to live are served from the cache.</li>
+ *     <li>Expired instances are still served immediately for up to the max staleness, while they are refreshed in
+ *     the background (stale while revalidate). Past the max staleness, lookups wait for the discovery server.</li>
+ *     <li>When the discovery server fails, the last instances are served however stale they are (stale if error),
+ *     and the discovery server is not queried again for that service until a backoff delay elapsed. The delay
+ *     starts at {@link #INITIAL_BACKOFF} and doubles on each failure, up to {@link #MAX_BACKOFF}.</li>
+ * </ul>
+ *
+ * <p>How stale the served instances are is available from {@link #getStaleness(String)}, and from the
+ * {@link ServiceInstanceCaches} bean for the caches of the discovery clients.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+public final class ServiceInstanceCache implements AutoCloseable {
+
+    static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+    static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private static final Logger LOG = LoggerFactory.getLogger(ServiceInstanceCache.class);
+
+    private final Function<String, Publisher<List<ServiceInstance>>> loader;
+    private final long ttlNanos;
+    private final long maxStalenessNanos;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong staleServed = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * @param configuration The cache configuration
+     * @param loader        Loads the instances of a service from the discovery server
+     */
+    public ServiceInstanceCache(@NonNull ServiceInstanceCacheConfiguration configuration,
+                                @NonNull Function<String, Publisher<List<ServiceInstance>>> loader) {
+        this.loader = loader;
+        this.ttlNanos = configuration.getTtl().toNanos();
+        this.maxStalenessNanos = configuration.getMaxStaleness().toNanos();
+    }
+
+    /**
+     * @param serviceId The service ID
+     * @return The instances of the service
+     */
+    @NonNull
+    public Publisher<List<ServiceInstance>> getInstances(@NonNull String serviceId) {
+        Entry entry = entries.get(serviceId);
+        if (entry != null) {
+            long now = System.nanoTime();
+            long age = now - entry.loadedAt;
+            if (age <= ttlNanos) {
+                return entry.instances.asPublisher();
+            }
+            if (age <= ttlNanos + maxStalenessNanos) {
+                refresh(serviceId, entry);
+                staleServed.incrementAndGet();
+                return entry.instances.asPublisher();
+            }
+            if (entry.isBackingOff(now)) {
+                // the discovery server failed recently
+                staleServed.incrementAndGet();
+                return entry.instances.asPublisher();
+            }
+        }
+        return Mono.from(loader.apply(serviceId))
+            .<List<ServiceInstance>>map(instances -> store(serviceId, instances).instances)
+            .onErrorResume(throwable -> {
+                Entry stale = entries.get(serviceId);
+                if (stale == null) {
+                    return Mono.error(throwable);
+                }
+                Duration backoff = stale.failed(System.nanoTime());
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Error looking up the instances of service [{}], serving instances that are {} stale and retrying in {}: {}", serviceId, getStaleness(serviceId).orElse(Duration.ZERO), backoff, throwable.getMessage());
+                }
+                staleServed.incrementAndGet();
+                return Mono.just(stale.instances);
+            });
+    }
+
+    /**
+     * @param serviceId The service ID
+     * @return How long ago the cached instances of the service expired, {@link Duration#ZERO} if they did not, or
+     * empty if the service is not cached
+     */
+    @NonNull
+    public Optional<Duration> getStaleness(@NonNull String serviceId) {
+        Entry entry = entries.get(serviceId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofNanos(Math.max(0, System.nanoTime() - entry.loadedAt - ttlNanos)));
+    }
+
+    /**
+     * @return The number of lookups served with expired instances
+     */
+    public long getStaleServedCount() {
+        return staleServed.get();
+    }
+
+    /**
+     * Stops the background refreshes and drops the cached instances.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Entry entry : entries.values()) {
+            Disposable pending = entry.pending;
+            if (pending != null) {
+                pending.dispose();
+            }
+        }
+        entries.clear();
+    }
+
+    private void refresh(String serviceId, Entry entry) {
+        if (!closed && !entry.isBackingOff(System.nanoTime()) && entry.refreshing.compareAndSet(false, true)) {
+            entry.pending = Mono.from(loader.apply(serviceId)).subscribe(
+                instances -> store(serviceId, instances),
+                throwable -> {
+                    Duration backoff = entry.failed(System.nanoTime());
+                    entry.refreshing.set(false);
+                    if (LOG.isWarnEnabled()) {
+                        LOG.warn("Error refreshing the instances of service [{}], serving instances that are {} stale and retrying in {}: {}", serviceId, getStaleness(serviceId).orElse(Duration.ZERO), backoff, throwable.getMessage());
+                    }
+                },
+                () -> entry.refreshing.set(false)
+            );
+        }
+    }
+
+    private Entry store(String serviceId, List<ServiceInstance> instances) {
+        Entry entry = new Entry(ServiceInstanceSnapshot.of(instances), System.nanoTime());
+        entries.put(serviceId, entry);
+        return entry;
+    }
+
+    /**
+     * The cached instances of a service. The backoff state is guarded by the monitor of the entry, and reset when
+     * the instances are loaded again, since a new entry replaces this one.
+     */
+    private static final class Entry {
+        private final ServiceInstanceSnapshot instances;
+        private final long loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile Disposable pending;
+        private Duration backoff;
+        private long retryAt;
+
+        private Entry(ServiceInstanceSnapshot instances, long loadedAt) {
+            this.instances = instances;
+            this.loadedAt = loadedAt;
+        }
+
+        /**
+         * @param now The current time in nanoseconds
+         * @return Whether the discovery server is not queried again yet after a failure
+         */
+        private synchronized boolean isBackingOff(long now) {
+            return backoff != null && now - retryAt < 0;
+        }
+
+        /**
+         * Records a failure of the discovery server.
+         *
+         * @param now The current time in nanoseconds
+         * @return The delay before the discovery server is queried again
+         */
+        private synchronized Duration failed(long now) {
+            if (backoff == null) {
+                backoff = INITIAL_BACKOFF;
+            } else if (now - retryAt >= 0) {
+                // failed again after the previous delay
+                Duration doubled = backoff.multipliedBy(2);
+                backoff = doubled.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : doubled;
+            }
+            retryAt = now + backoff.toNanos();
+            return backoff;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client;
+
+import io.micronaut.core.util.Toggleable;
+
+import java.time.Duration;
+
+/**
+ * Settings of a {@link ServiceInstanceCache}, extended by the discovery configuration of each discovery client.
+ *
+ * @since 4.6.0
+ */
+public class ServiceInstanceCacheConfiguration implements Toggleable {
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default time to live seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_TTL_SECONDS = 30;
+
+    /**
+     * The default max staleness minutes.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MAX_STALENESS_MINUTES = 5;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private Duration ttl = Duration.ofSeconds(DEFAULT_TTL_SECONDS);
+    private Duration maxStaleness = Duration.ofMinutes(DEFAULT_MAX_STALENESS_MINUTES);
+
+    /**
+     * @return Whether the instances of each service are cached
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_ENABLED}).
+     * @param enabled Whether the instances of each service are cached
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The time during which cached instances are served without being refreshed
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_TTL_SECONDS} seconds).
+     * @param ttl The time during which cached instances are served without being refreshed
+     */
+    public void setTtl(Duration ttl) {
+        if (ttl != null) {
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * @return How long after expiring cached instances are still served immediately, while they are refreshed in the
+     * background. Past it lookups wait for the discovery server, and the cached instances are only served if it fails
+     */
+    public Duration getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_MAX_STALENESS_MINUTES} minutes).
+     * @param maxStaleness How long after expiring cached instances are still served immediately, while they are
+     *                     refreshed in the background
+     */
+    public void setMaxStaleness(Duration maxStaleness) {
+        if (maxStaleness != null) {
+            this.maxStaleness = maxStaleness;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+            "enabled=" + enabled +
+            ", ttl=" + ttl +
+            ", maxStaleness=" + maxStaleness +
+            '}';
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client;
+
+import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.naming.NameUtils;
+import jakarta.inject.Singleton;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holds the {@link ServiceInstanceCache caches} of the discovery clients, to tell how stale the instances they serve
+ * are without exposing the caches on the clients themselves.
+ *
+ * <p>The discovery clients register their caches when they create them, under their description, such as
+ * {@code consul} or {@code eureka}, and unregister them when they are closed.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+@Singleton
+@BootstrapContextCompatible
+public final class ServiceInstanceCaches {
+
+    private final Map<String, List<ServiceInstanceCache>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param discoveryClient The description of the discovery client
+     * @param cache           A cache of the discovery client
+     */
+    public void register(@NonNull String discoveryClient, @NonNull ServiceInstanceCache cache) {
+        caches.computeIfAbsent(discoveryClient, client -> new CopyOnWriteArrayList<>()).add(cache);
+    }
+
+    /**
+     * @param discoveryClient The description of the discovery client
+     * @param cache           A cache of the discovery client
+     */
+    public void unregister(@NonNull String discoveryClient, @NonNull ServiceInstanceCache cache) {
+        List<ServiceInstanceCache> registered = caches.get(discoveryClient);
+        if (registered != null) {
+            registered.remove(cache);
+        }
+    }
+
+    /**
+     * @param discoveryClient The description of the discovery client
+     * @return The number of lookups the discovery client served with expired instances
+     */
+    public long getStaleServedCount(@NonNull String discoveryClient) {
+        long count = 0;
+        for (ServiceInstanceCache cache : caches.getOrDefault(discoveryClient, List.of())) {
+            count += cache.getStaleServedCount();
+        }
+        return count;
+    }
+
+    /**
+     * @param discoveryClient The description of the discovery client
+     * @param serviceId       The service ID
+     * @return How long ago the cached instances of the service expired, {@link Duration#ZERO} if they did not, or
+     * empty if the discovery client does not cache the service
+     */
+    @NonNull
+    public Optional<Duration> getStaleness(@NonNull String discoveryClient, @NonNull String serviceId) {
+        String id = NameUtils.hyphenate(serviceId);
+        for (ServiceInstanceCache cache : caches.getOrDefault(discoveryClient, List.of())) {
+            Optional<Duration> staleness = cache.getStaleness(id);
+            if (staleness.isPresent()) {
+                return staleness;
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client;
+
+/**
+ * The metadata entries of a {@link io.micronaut.discovery.ServiceInstance} that the discovery clients fill and the
+ * load balancer reads.
+ *
+ * @since 4.6.0
+ */
+public final class ServiceInstanceMetadata {
+
+    /**
+     * The metadata entry holding the weight of an instance, for the weighted selection strategies of the load
+     * balancer. Consul instances fill it from the weights of the service, or from the SRV weight with DNS discovery,
+     * and Eureka instances from their registration metadata.
+     */
+    public static final String WEIGHT = "weight";
+
+    private ServiceInstanceMetadata() {
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.discovery.ServiceInstance;
+import org.reactivestreams.Publisher;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An immutable, array backed list of the instances of a service at a point in time.
+ *
+ * <p>A snapshot is built once per change of the underlying data. The URI, metadata and health status of every
+ * instance are resolved when the snapshot is built and the same {@link Publisher} is handed out for every read, so
+ * that serving a snapshot does not allocate.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+public final class ServiceInstanceSnapshot extends AbstractList<ServiceInstance> implements RandomAccess {
+
+    private static final ServiceInstanceSnapshot EMPTY = new ServiceInstanceSnapshot(new ServiceInstance[0]);
+
+    private final ServiceInstance[] instances;
+    private final Publisher<List<ServiceInstance>> publisher;
+
+    private ServiceInstanceSnapshot(ServiceInstance[] instances) {
+        this.instances = instances;
+        this.publisher = Publishers.just(this);
+    }
+
+    /**
+     * Builds a snapshot of the given instances.
+     *
+     * @param instances The instances
+     * @return The snapshot
+     */
+    @NonNull
+    public static ServiceInstanceSnapshot of(@NonNull List<? extends ServiceInstance> instances) {
+        if (instances instanceof ServiceInstanceSnapshot snapshot) {
+            return snapshot;
+        }
+        if (instances.isEmpty()) {
+            return EMPTY;
+        }
+        ServiceInstance[] array = instances.toArray(new ServiceInstance[0]);
+        for (ServiceInstance instance : array) {
+            // resolve the lazily computed state up front so that reads do not have to
+            instance.getURI();
+            instance.getMetadata();
+            instance.getHealthStatus();
+        }
+        return new ServiceInstanceSnapshot(array);
+    }
+
+    /**
+     * @return An empty snapshot
+     */
+    @NonNull
+    public static ServiceInstanceSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return A publisher that emits this snapshot, the same instance on every call
+     */
+    @NonNull
+    public Publisher<List<ServiceInstance>> asPublisher() {
+        return publisher;
+    }
+
+    @Override
+    public ServiceInstance get(int index) {
+        return instances[index];
+    }
+
+    @Override
+    public int size() {
+        return instances.length;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent calls by key: the subscribers that arrive while a call for the same key is in flight
+ * share its single result instead of starting their own call.
+ *
+ * <p>Only in flight calls are shared. Once a call completes, successfully or not, the next subscriber starts a new
+ * one, so results are never served from a cache.</p>
+ *
+ * @param <K> The key type
+ * @param <V> The result type
+ * @since 4.6.0
+ */
+@Internal
+public final class SingleFlight<K, V> {
+
+    private final Map<K, Flight> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the result of the call in flight for the given key, or starts a new call if there is none. The call
+     * starts when the returned {@link Publisher} is subscribed.
+     *
+     * @param key  The key
+     * @param call Supplies the call, emitting at most one result
+     * @return A {@link Publisher} that emits the shared result
+     */
+    @NonNull
+    public Publisher<V> execute(@NonNull K key, @NonNull Supplier<? extends Publisher<V>> call) {
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> new Flight(k, call)).result);
+    }
+
+    /**
+     * @return The number of calls in flight
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+    /**
+     * A call in flight, removed from the in flight calls once it terminates.
+     */
+    private final class Flight {
+        private final Mono<V> result;
+
+        private Flight(K key, Supplier<? extends Publisher<V>> call) {
+            this.result = Mono.<V>defer(() -> Mono.from(call.get()))
+                .doFinally(signal -> inFlight.remove(key, this))
+                .cache();
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package io.micronaut.discovery.client.config;
 
 import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.annotation.Property;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.context.annotation.Value;
 import io.micronaut.context.env.BootstrapPropertySourceLocator;
@@ -23,16 +24,24 @@ import io.micronaut.context.env.Environment;
 import io.micronaut.context.env.PropertySource;
 import io.micronaut.context.exceptions.ConfigurationException;
 import io.micronaut.core.annotation.Blocking;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.discovery.config.ConfigurationClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 /**
  * <p>A {@link BootstrapPropertySourceLocator} implementation that uses the {@link ConfigurationClient} to find
@@ -40,6 +49,14 @@ import java.util.concurrent.TimeoutException;
  * <p>
  * <p>This implementation using a Blocking operation which is required during bootstrap which is configured to Timeout after
  * 10 seconds. The timeout can be configured with {@code micronaut.config.readTimeout} in configuration</p>
+ * <p>
+ * <p>When {@code micronaut.config-client.parallel} is enabled, every {@link ConfigurationClient} is read concurrently
+ * with its own deadline, configured with {@code micronaut.config-client.client-timeout}, so that the time spent
+ * reading distributed configuration is bounded by the slowest client rather than by the sum of all of them.</p>
+ * <p>
+ * <p>When a {@link PropertySourceSnapshotStore} is enabled, the property sources it stored during the previous run are
+ * returned immediately at startup. Once the application has started, the {@link PropertySourceSnapshotReconciler}
+ * reads the configuration clients and refreshes the environment if their configuration differs from the snapshot.</p>
  *
  * @author Graeme Rocher
  * @since 1.0
@@ -48,21 +65,71 @@ import java.util.concurrent.TimeoutException;
 @Requires(property = ConfigurationClient.ENABLED, value = StringUtils.TRUE, defaultValue = StringUtils.FALSE)
 @BootstrapContextCompatible
 public class DistributedPropertySourceLocator implements BootstrapPropertySourceLocator {
+
+    /**
+     * Whether the configuration clients are read concurrently, each with its own deadline.
+     */
+    public static final String PARALLEL = ConfigurationClient.CONFIGURATION_PREFIX + ".parallel";
+
+    /**
+     * The deadline of each configuration client when {@link #PARALLEL} is enabled. Defaults to the read timeout.
+     */
+    public static final String CLIENT_TIMEOUT = ConfigurationClient.CONFIGURATION_PREFIX + ".client-timeout";
+
     private static final Logger LOG = LoggerFactory.getLogger(DistributedPropertySourceLocator.class);
     private final ConfigurationClient configurationClient;
     private final Duration readTimeout;
+    private final List<ConfigurationClient> configurationClients;
+    private final boolean parallel;
+    private final Duration clientTimeout;
+    private final PropertySourceSnapshotStore snapshotStore;
+    private volatile List<PropertySource> lastPropertySources;
 
     /**
      * @param configurationClient The configuration client
      * @param readTimeout         The read timeout
      */
+    public DistributedPropertySourceLocator(
+        ConfigurationClient configurationClient,
+        Duration readTimeout) {
+
+        this(configurationClient, readTimeout, Collections.emptyList(), false, null, null);
+    }
+
+    /**
+     * @param configurationClient  The configuration client
+     * @param readTimeout          The read timeout
+     * @param configurationClients All the configuration clients, read concurrently in parallel mode
+     * @param parallel             Whether the configuration clients are read concurrently
+     * @param clientTimeout        The deadline of each configuration client in parallel mode
+     * @param snapshotStore        The store of the last read property sources, if enabled
+     * @since 4.6.0
+     */
+    @Inject
     public DistributedPropertySourceLocator(
         ConfigurationClient configurationClient,
         @Value("${" + ConfigurationClient.READ_TIMEOUT + ":10s}")
-            Duration readTimeout) {
+            Duration readTimeout,
+        List<ConfigurationClient> configurationClients,
+        @Property(name = PARALLEL, defaultValue = StringUtils.FALSE)
+            boolean parallel,
+        @Property(name = CLIENT_TIMEOUT) @Nullable
+            Duration clientTimeout,
+        @Nullable PropertySourceSnapshotStore snapshotStore) {
 
         this.configurationClient = configurationClient;
         this.readTimeout = readTimeout;
+        // the primary client is the composite of all the others
+        List<ConfigurationClient> clients = new ArrayList<>(configurationClients.size());
+        for (ConfigurationClient client : configurationClients) {
+            if (client != configurationClient) {
+                clients.add(client);
+            }
+        }
+        this.configurationClients = clients.isEmpty() ? Collections.singletonList(configurationClient) : clients;
+        this.parallel = parallel;
+        this.clientTimeout = clientTimeout != null ? clientTimeout : readTimeout;
+        this.snapshotStore = snapshotStore;
     }
 
     @Override
@@ -71,15 +138,36 @@ public class DistributedPropertySourceLocator implements BootstrapPropertySource
         if (LOG.isDebugEnabled()) {
             LOG.debug("Resolving configuration sources from client: {}", configurationClient);
         }
+        if (snapshotStore != null && lastPropertySources == null) {
+            List<PropertySource> snapshot = snapshotStore.read(environment);
+            if (snapshot != null) {
+                if (LOG.isInfoEnabled()) {
+                    LOG.info("Resolved {} configuration sources from snapshot, client {} is read once the application has started", snapshot.size(), configurationClient);
+                }
+                this.lastPropertySources = snapshot;
+                return snapshot;
+            }
+        }
         try {
-            Flux<PropertySource> propertySourceFlowable = Flux.from(configurationClient.getPropertySources(environment));
-            List<PropertySource> propertySources = propertySourceFlowable
-                    .timeout(Duration.ofMillis(readTimeout.toMillis()))
-                    .collectList()
-                    .block();
+            List<PropertySource> propertySources = readPropertySources(environment).block();
             if (LOG.isInfoEnabled()) {
                 LOG.info("Resolved {} configuration sources from client: {}", propertySources != null ? propertySources.size() : 0, configurationClient);
             }
+            if (propertySources != null) {
+                // when the environment is refreshed, keep the unchanged sources of the previous read
+                List<PropertySource> previous = this.lastPropertySources;
+                if (previous != null) {
+                    PropertySourceDiff diff = PropertySourceDiff.compare(previous, propertySources);
+                    propertySources = diff.getPropertySources();
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Changed configuration properties from client {}: {}", configurationClient, diff.getChangedKeys());
+                    }
+                }
+                this.lastPropertySources = propertySources;
+                if (snapshotStore != null) {
+                    snapshotStore.write(environment, propertySources);
+                }
+            }
             return propertySources;
         } catch (RuntimeException e) {
             if (e.getCause() instanceof TimeoutException) {
@@ -89,4 +177,57 @@ public class DistributedPropertySourceLocator implements BootstrapPropertySource
             }
         }
     }
+
+    /**
+     * Reads the configuration clients, concurrently in parallel mode.
+     *
+     * @param environment The environment
+     * @return The property sources of all the clients
+     */
+    Mono<List<PropertySource>> readPropertySources(Environment environment) {
+        if (parallel) {
+            return readInParallel(environment);
+        }
+        return Flux.from(configurationClient.getPropertySources(environment))
+                .timeout(Duration.ofMillis(readTimeout.toMillis()))
+                .collectList();
+    }
+
+    /**
+     * Reads every configuration client concurrently, each with its own deadline. The property sources are returned
+     * in the order of the clients, whatever order they complete in.
+     *
+     * @param environment The environment
+     * @return The property sources of all the clients
+     */
+    private Mono<List<PropertySource>> readInParallel(Environment environment) {
+        List<Mono<List<PropertySource>>> reads = new ArrayList<>(configurationClients.size());
+        for (ConfigurationClient client : configurationClients) {
+            reads.add(read(client, environment));
+        }
+        return Flux.mergeSequential(reads)
+                .flatMapIterable(Function.identity())
+                .collectList();
+    }
+
+    private Mono<List<PropertySource>> read(ConfigurationClient client, Environment environment) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Flux.<PropertySource>defer(() -> client.getPropertySources(environment))
+                    // clients that block while subscribing must not delay the others
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .collectList()
+                    .timeout(clientTimeout)
+                    .doOnSuccess(propertySources -> {
+                        if (LOG.isInfoEnabled()) {
+                            LOG.info("Resolved {} configuration sources from client {} in {}ms", propertySources.size(), client, elapsedMillis(start));
+                        }
+                    })
+                    .onErrorMap(TimeoutException.class, e -> new ConfigurationException("Read timeout occurred reading distributed configuration from client: " + client.getDescription() + " after " + elapsedMillis(start) + "ms", e));
+        });
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.config;
+
+import io.micronaut.context.env.PropertySource;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The key level difference between two versions of a set of distributed {@link PropertySource} instances, matched
+ * by name.
+ *
+ * <p>Property sources whose order and properties did not change are replaced with their previous instance in
+ * {@link #getPropertySources()}, so that reloading distributed configuration does not retain a new copy of
+ * unchanged sources, and {@link #getChanges()} only holds the properties that were actually added, modified or
+ * removed.</p>
+ *
+ * @since 4.6.0
+ */
+public final class PropertySourceDiff {
+
+    private final List<PropertySource> propertySources;
+    private final List<PropertySource> changedPropertySources;
+    private final Map<String, Object> changes;
+    private final boolean removals;
+
+    private PropertySourceDiff(List<PropertySource> propertySources,
+                               List<PropertySource> changedPropertySources,
+                               Map<String, Object> changes,
+                               boolean removals) {
+        this.propertySources = propertySources;
+        this.changedPropertySources = changedPropertySources;
+        this.changes = changes;
+        this.removals = removals;
+    }
+
+    /**
+     * Compares two versions of a set of property sources.
+     *
+     * @param previous The previous property sources, {@code null} if there were none
+     * @param updated  The updated property sources
+     * @return The difference
+     */
+    @NonNull
+    public static PropertySourceDiff compare(@Nullable Collection<PropertySource> previous, @NonNull Collection<PropertySource> updated) {
+        Map<String, PropertySource> previousByName = new LinkedHashMap<>();
+        if (previous != null) {
+            for (PropertySource propertySource : previous) {
+                previousByName.put(propertySource.getName(), propertySource);
+            }
+        }
+        List<PropertySource> propertySources = new ArrayList<>(updated.size());
+        List<PropertySource> changedPropertySources = new ArrayList<>();
+        Map<String, Object> changes = new LinkedHashMap<>();
+        boolean removals = false;
+        for (PropertySource after : updated) {
+            PropertySource before = previousByName.remove(after.getName());
+            boolean changed = false;
+            if (before != null) {
+                for (String key : before) {
+                    Object oldValue = before.get(key);
+                    Object newValue = after.get(key);
+                    if (newValue == null) {
+                        removals = true;
+                    }
+                    if (!Objects.equals(oldValue, newValue)) {
+                        changes.put(key, oldValue);
+                        changed = true;
+                    }
+                }
+            }
+            for (String key : after) {
+                if (before == null || before.get(key) == null) {
+                    changes.putIfAbsent(key, null);
+                    changed = true;
+                }
+            }
+            if (before == null || changed || before.getOrder() != after.getOrder()) {
+                propertySources.add(after);
+                changedPropertySources.add(after);
+            } else {
+                propertySources.add(before);
+            }
+        }
+        for (PropertySource removed : previousByName.values()) {
+            for (String key : removed) {
+                changes.put(key, removed.get(key));
+                removals = true;
+            }
+        }
+        return new PropertySourceDiff(
+            Collections.unmodifiableList(propertySources),
+            Collections.unmodifiableList(changedPropertySources),
+            Collections.unmodifiableMap(changes),
+            removals
+        );
+    }
+
+    /**
+     * @return The updated property sources, where the unchanged ones are the previous instances
+     */
+    @NonNull
+    public List<PropertySource> getPropertySources() {
+        return propertySources;
+    }
+
+    /**
+     * @return The property sources that were added or whose properties changed
+     */
+    @NonNull
+    public List<PropertySource> getChangedPropertySources() {
+        return changedPropertySources;
+    }
+
+    /**
+     * @return The changed properties, mapped to their previous value or {@code null} if they were added
+     */
+    @NonNull
+    public Map<String, Object> getChanges() {
+        return changes;
+    }
+
+    /**
+     * @return The names of the changed properties
+     */
+    @NonNull
+    public Set<String> getChangedKeys() {
+        return changes.keySet();
+    }
+
+    /**
+     * @return Whether properties or property sources were removed
+     */
+    public boolean hasRemovals() {
+        return removals;
+    }
+
+    /**
+     * @return Whether nothing changed
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty() && changedPropertySources.isEmpty();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.config;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.env.Environment;
+import io.micronaut.context.env.PropertySource;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.discovery.config.ConfigurationClient;
+import io.micronaut.runtime.context.scope.refresh.RefreshEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reconciles the property sources served from the {@link PropertySourceSnapshotStore} at startup with the
+ * distributed configuration.
+ *
+ * <p>When the snapshot was served at startup, the configuration clients are read in the background once the
+ * application has started and compared with the snapshot. If they differ, the environment is refreshed, which reads
+ * the configuration clients again and stores the new snapshot, and a {@link RefreshEvent} carrying the changed
+ * properties is published so that the refreshable beans built from the snapshot are rebuilt. When the configuration
+ * was read from the clients at startup, nothing is read again.</p>
+ *
+ * @since 4.6.0
+ */
+@Singleton
+@Requires(beans = {PropertySourceSnapshotStore.class, DistributedPropertySourceLocator.class})
+@Requires(property = ConfigurationClient.ENABLED, value = StringUtils.TRUE, defaultValue = StringUtils.FALSE)
+public class PropertySourceSnapshotReconciler implements ApplicationEventListener<StartupEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PropertySourceSnapshotReconciler.class);
+
+    private final DistributedPropertySourceLocator locator;
+    private final PropertySourceSnapshotStore snapshotStore;
+    private final Environment environment;
+    private final ApplicationEventPublisher<RefreshEvent> eventPublisher;
+    private volatile Disposable pending;
+
+    /**
+     * @param locator        The locator reading the configuration clients
+     * @param snapshotStore  The snapshot store
+     * @param environment    The environment
+     * @param eventPublisher The publisher of refresh events
+     */
+    public PropertySourceSnapshotReconciler(DistributedPropertySourceLocator locator,
+                                            PropertySourceSnapshotStore snapshotStore,
+                                            Environment environment,
+                                            ApplicationEventPublisher<RefreshEvent> eventPublisher) {
+        this.locator = locator;
+        this.snapshotStore = snapshotStore;
+        this.environment = environment;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        List<PropertySource> snapshot = snapshotStore.getServedPropertySources(environment);
+        if (snapshot.isEmpty()) {
+            // read from the configuration clients at startup
+            return;
+        }
+        pending = Mono.defer(() -> locator.readPropertySources(environment))
+            .subscribeOn(Schedulers.boundedElastic())
+            .subscribe(
+                propertySources -> reconcile(snapshot, propertySources),
+                throwable -> {
+                    if (LOG.isWarnEnabled()) {
+                        LOG.warn("Error reading the distributed configuration, keeping the snapshot: {}", throwable.getMessage());
+                    }
+                }
+            );
+    }
+
+    /**
+     * Stops reconciling.
+     */
+    @PreDestroy
+    void close() {
+        Disposable pending = this.pending;
+        if (pending != null) {
+            pending.dispose();
+        }
+    }
+
+    private void reconcile(List<PropertySource> snapshot, List<PropertySource> propertySources) {
+        PropertySourceDiff diff = PropertySourceDiff.compare(snapshot, propertySources);
+        if (diff.isEmpty()) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Distributed configuration matches the snapshot");
+            }
+            return;
+        }
+        if (LOG.isInfoEnabled()) {
+            LOG.info("Distributed configuration differs from the snapshot, refreshing properties: {}", diff.getChangedKeys());
+        }
+        Map<String, Object> changes = environment.refreshAndDiff();
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new RefreshEvent(changes));
+        }
+    }
+}
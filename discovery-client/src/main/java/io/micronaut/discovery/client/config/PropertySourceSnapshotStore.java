@@ -0,0 +1,410 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.config;
+
+import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.env.Environment;
+import io.micronaut.context.env.MapPropertySource;
+import io.micronaut.context.env.PropertySource;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.discovery.config.ConfigurationClient;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores the last property sources read from the distributed configuration in a compact binary file, so that
+ * {@link DistributedPropertySourceLocator} can serve them immediately at startup and read the remote configuration
+ * in the background.
+ *
+ * <p>There is one file per application name and set of active environments, under
+ * {@code micronaut.config-client.snapshot.dir}, which defaults to {@code .micronaut/config-snapshot} in the home
+ * directory of the user. The files may contain secrets read from Vault, so the directory is created only accessible
+ * by its owner, the files are only readable by their owner, and snapshots are neither read from nor written to a
+ * directory or file owned by another user or writable by other users. The permissions are only checked when the
+ * file system supports POSIX permissions.</p>
+ *
+ * @since 4.6.0
+ */
+@Singleton
+@BootstrapContextCompatible
+@Requires(property = PropertySourceSnapshotStore.ENABLED, value = StringUtils.TRUE, defaultValue = StringUtils.FALSE)
+public class PropertySourceSnapshotStore {
+
+    /**
+     * Whether the property sources are stored on disk.
+     */
+    public static final String ENABLED = ConfigurationClient.CONFIGURATION_PREFIX + ".snapshot.enabled";
+
+    /**
+     * The directory of the snapshot files.
+     */
+    public static final String DIR = ConfigurationClient.CONFIGURATION_PREFIX + ".snapshot.dir";
+
+    private static final Logger LOG = LoggerFactory.getLogger(PropertySourceSnapshotStore.class);
+    private static final int MAGIC = 0x4D43534E;
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".snapshot";
+    private static final int MAX_STRING_LENGTH = 16 * 1024 * 1024;
+    private static final int MAX_SIZE = 1024 * 1024;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_BOOLEAN = 2;
+    private static final byte TYPE_INT = 3;
+    private static final byte TYPE_LONG = 4;
+    private static final byte TYPE_DOUBLE = 5;
+    private static final byte TYPE_LIST = 6;
+    private static final byte TYPE_MAP = 7;
+
+    private final Path directory;
+
+    /**
+     * @param directory The directory of the snapshot files, defaults to {@code .micronaut/config-snapshot} in the
+     *                  home directory of the user
+     */
+    public PropertySourceSnapshotStore(@Property(name = DIR) @Nullable String directory) {
+        this.directory = directory != null ? Paths.get(directory) : Paths.get(System.getProperty("user.home"), ".micronaut", "config-snapshot");
+    }
+
+    /**
+     * Reads the snapshot of the given environment.
+     *
+     * @param environment The environment
+     * @return The property sources, {@code null} if there is no snapshot or it cannot be read
+     */
+    @Nullable
+    public List<PropertySource> read(@NonNull Environment environment) {
+        Path file = resolveFile(environment);
+        if (!Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS) || !isTrusted(directory) || !isTrusted(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Ignoring configuration snapshot [{}] written in an unknown format", file);
+                }
+                return null;
+            }
+            int count = readSize(in, MAX_SIZE);
+            List<PropertySource> propertySources = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String name = readString(in);
+                int order = in.readInt();
+                propertySources.add(new SnapshotPropertySource(name, readMap(in), order));
+            }
+            return propertySources;
+        } catch (IOException | RuntimeException e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Error reading configuration snapshot [{}]: {}", file, e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The property sources served from a snapshot keep their type once added to the environment, including when they
+     * were served by the bootstrap context, so this tells whether the configuration was read from the configuration
+     * clients at startup.
+     *
+     * @param environment The environment
+     * @return The property sources of the environment served from a snapshot, empty if none was served
+     */
+    @NonNull
+    public List<PropertySource> getServedPropertySources(@NonNull Environment environment) {
+        List<PropertySource> served = new ArrayList<>();
+        for (PropertySource propertySource : environment.getPropertySources()) {
+            if (propertySource instanceof SnapshotPropertySource) {
+                served.add(propertySource);
+            }
+        }
+        return served;
+    }
+
+    /**
+     * Replaces the snapshot of the given environment. Errors are logged, not thrown.
+     *
+     * @param environment     The environment
+     * @param propertySources The property sources
+     */
+    public void write(@NonNull Environment environment, @NonNull Collection<PropertySource> propertySources) {
+        Path file = resolveFile(environment);
+        Path tmp = null;
+        try {
+            createDirectory();
+            if (!isTrusted(directory)) {
+                return;
+            }
+            tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            restrictPermissions(tmp);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(propertySources.size());
+                for (PropertySource propertySource : propertySources) {
+                    writeString(out, propertySource.getName());
+                    out.writeInt(propertySource.getOrder());
+                    Map<String, Object> values = new LinkedHashMap<>();
+                    for (String key : propertySource) {
+                        values.put(key, propertySource.get(key));
+                    }
+                    writeMap(out, values);
+                }
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Error writing configuration snapshot [{}]: {}", file, e.getMessage());
+            }
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * @param environment The environment
+     * @return The snapshot file of the environment
+     */
+    @NonNull
+    Path resolveFile(@NonNull Environment environment) {
+        StringBuilder name = new StringBuilder(environment.getProperty("micronaut.application.name", String.class).orElse("application"));
+        for (String activeName : environment.getActiveNames()) {
+            name.append('-').append(activeName);
+        }
+        return directory.resolve(name.toString().replaceAll("[^A-Za-z0-9._-]", "_") + EXTENSION);
+    }
+
+    /**
+     * Creates the directory of the snapshot files, only accessible by its owner.
+     */
+    private void createDirectory() throws IOException {
+        if (Files.exists(directory, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        Path parent = directory.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try {
+            Files.createDirectory(directory, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        } catch (UnsupportedOperationException e) {
+            // not a POSIX file system
+            Files.createDirectory(directory);
+        }
+    }
+
+    /**
+     * Another user could plant a snapshot, which would then be loaded as configuration, in a directory they own or
+     * can write to.
+     *
+     * @param path The directory or file
+     * @return Whether the path is owned by the current user and not writable by other users
+     */
+    private static boolean isTrusted(Path path) {
+        try {
+            UserPrincipal owner = Files.getOwner(path, LinkOption.NOFOLLOW_LINKS);
+            UserPrincipal user = path.getFileSystem().getUserPrincipalLookupService().lookupPrincipalByName(System.getProperty("user.name"));
+            if (!owner.equals(user)) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Ignoring configuration snapshot [{}] owned by {} instead of {}", path, owner.getName(), user.getName());
+                }
+                return false;
+            }
+            Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(path, LinkOption.NOFOLLOW_LINKS);
+            if (permissions.contains(PosixFilePermission.GROUP_WRITE) || permissions.contains(PosixFilePermission.OTHERS_WRITE)) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Ignoring configuration snapshot [{}] writable by other users: {}", path, PosixFilePermissions.toString(permissions));
+                }
+                return false;
+            }
+            return true;
+        } catch (UnsupportedOperationException e) {
+            // not a POSIX file system
+            return true;
+        } catch (IOException e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Ignoring configuration snapshot [{}] whose owner cannot be verified: {}", path, e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    private static void restrictPermissions(Path file) {
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException | IOException e) {
+            // not a POSIX file system
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof CharSequence) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, value.toString());
+        } else if (value instanceof Boolean b) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean(b);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(TYPE_INT);
+            out.writeInt(((Number) value).intValue());
+        } else if (value instanceof Long l) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong(l);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Collection<?> collection) {
+            out.writeByte(TYPE_LIST);
+            out.writeInt(collection.size());
+            for (Object item : collection) {
+                writeValue(out, item);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(TYPE_MAP);
+            Map<String, Object> values = new LinkedHashMap<>(map.size());
+            map.forEach((key, item) -> values.put(String.valueOf(key), item));
+            writeMap(out, values);
+        } else {
+            // any other type is converted from its string form when read
+            out.writeByte(TYPE_STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case TYPE_NULL -> null;
+            case TYPE_STRING -> readString(in);
+            case TYPE_BOOLEAN -> in.readBoolean();
+            case TYPE_INT -> in.readInt();
+            case TYPE_LONG -> in.readLong();
+            case TYPE_DOUBLE -> in.readDouble();
+            case TYPE_LIST -> {
+                int size = readSize(in, MAX_SIZE);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                yield list;
+            }
+            case TYPE_MAP -> readMap(in);
+            default -> throw new IOException("Unknown value type: " + type);
+        };
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String, Object> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            writeString(out, entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    private static Map<String, Object> readMap(DataInputStream in) throws IOException {
+        int size = readSize(in, MAX_SIZE);
+        Map<String, Object> map = new LinkedHashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            map.put(key, readValue(in));
+        }
+        return map;
+    }
+
+    /**
+     * Unlike {@link DataOutputStream#writeUTF(String)}, strings are not limited to 64KB.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readSize(in, MAX_STRING_LENGTH);
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new IOException("Truncated string of " + length + " bytes");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Bounds the sizes read from the file, so that a corrupted file cannot trigger a huge allocation.
+     */
+    private static int readSize(DataInputStream in, int max) throws IOException {
+        int size = in.readInt();
+        if (size < 0 || size > max) {
+            throw new IOException("Invalid size: " + size);
+        }
+        return size;
+    }
+
+    /**
+     * A property source read from a snapshot.
+     */
+    private static final class SnapshotPropertySource extends MapPropertySource {
+
+        private final int order;
+
+        private SnapshotPropertySource(String name, Map<String, Object> map, int order) {
+            super(name, map);
+            this.order = order;
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.health.HealthStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leaves out the instances whose health status is {@link HealthStatus#DOWN}, once per instance list rather than on
+ * every selection.
+ *
+ * <p>As a stage of a {@link DiscoveryLoadBalancer}, it runs before the stages that narrow down the instances, such as
+ * subsetting, so that they only choose among the instances that can be selected. The available instances are
+ * computed again only when the list is not the list seen last, and the list itself is kept when none of its
+ * instances is down.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class AvailableInstances implements InstanceFilter {
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), List.of());
+
+    @Override
+    public List<ServiceInstance> filter(List<ServiceInstance> instances) {
+        Snapshot snapshot = this.snapshot;
+        if (instances == snapshot.instances) {
+            return snapshot.available;
+        }
+        List<ServiceInstance> available = available(instances);
+        this.snapshot = new Snapshot(instances, available);
+        return available;
+    }
+
+    /**
+     * @param available The instances returned by this stage, or by the later stages
+     * @return The complete instance list they come from, or the given instances if that list is no longer the list
+     * seen last
+     */
+    List<ServiceInstance> complete(List<ServiceInstance> available) {
+        Snapshot snapshot = this.snapshot;
+        return available == snapshot.available ? snapshot.instances : available;
+    }
+
+    /**
+     * @param instances The instances
+     * @return The instances that are not down, or the instances themselves if none is down
+     */
+    static List<ServiceInstance> available(List<ServiceInstance> instances) {
+        List<ServiceInstance> available = null;
+        for (int i = 0; i < instances.size(); i++) {
+            ServiceInstance instance = instances.get(i);
+            if (HealthStatus.DOWN.equals(instance.getHealthStatus())) {
+                if (available == null) {
+                    available = new ArrayList<>(instances.subList(0, i));
+                }
+            } else if (available != null) {
+                available.add(instance);
+            }
+        }
+        return available != null ? available : instances;
+    }
+
+    /**
+     * The available instances of an instance list.
+     *
+     * @param instances The instance list
+     * @param available The instances of the list that are not down
+     */
+    private record Snapshot(List<ServiceInstance> instances, List<ServiceInstance> available) {
+    }
+}
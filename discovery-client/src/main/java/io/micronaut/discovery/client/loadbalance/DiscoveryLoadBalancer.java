@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.exceptions.NoAvailableServiceException;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.http.client.LoadBalancer;
+import org.reactivestreams.Publisher;
+
+import java.util.List;
+
+/**
+ * A {@link LoadBalancer} over the instances of a service returned by a {@link DiscoveryClient}.
+ *
+ * <p>On each selection the instances go through the configured stages, such as zone affinity, and one of the
+ * remaining instances is selected with the configured {@link SelectionStrategy}. The instances whose health status is
+ * {@link HealthStatus#DOWN} are never selected: the stages leave them out once per instance list, and only the lists
+ * that still hold some are copied without them.</p>
+ *
+ * @since 4.6.0
+ */
+public class DiscoveryLoadBalancer implements LoadBalancer {
+
+    private final String serviceId;
+    private final DiscoveryClient discoveryClient;
+    private final List<InstanceFilter> filters;
+    private final InstanceSelector selector;
+
+    /**
+     * @param serviceId       The service ID
+     * @param discoveryClient The discovery client
+     * @param filters         The stages the instances go through before one is selected
+     * @param selector        Selects one of the available instances
+     */
+    DiscoveryLoadBalancer(String serviceId, DiscoveryClient discoveryClient, List<InstanceFilter> filters, InstanceSelector selector) {
+        this.serviceId = serviceId;
+        this.discoveryClient = discoveryClient;
+        this.filters = filters;
+        this.selector = selector;
+    }
+
+    /**
+     * @return The service ID
+     */
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    @Override
+    public Publisher<ServiceInstance> select(@Nullable Object discriminator) {
+        return Publishers.map(discoveryClient.getInstances(serviceId), this::select);
+    }
+
+    /**
+     * @param instances The instances of the service
+     * @return The selected instance
+     * @throws NoAvailableServiceException if no instance is available
+     */
+    @NonNull
+    ServiceInstance select(List<ServiceInstance> instances) {
+        List<ServiceInstance> candidates = instances;
+        for (InstanceFilter filter : filters) {
+            if (candidates.isEmpty()) {
+                break;
+            }
+            candidates = filter.filter(candidates);
+        }
+        List<ServiceInstance> available = AvailableInstances.available(candidates);
+        if (available.isEmpty()) {
+            throw new NoAvailableServiceException(serviceId);
+        }
+        return selector.select(available);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.env.Environment;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.ServiceInstanceIdGenerator;
+import io.micronaut.http.client.LoadBalancer;
+import io.micronaut.http.client.loadbalance.DiscoveryClientLoadBalancerFactory;
+import io.micronaut.runtime.ApplicationConfiguration;
+import io.micronaut.runtime.server.EmbeddedServer;
+import jakarta.inject.Singleton;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Replaces the default {@link DiscoveryClientLoadBalancerFactory} to create a {@link DiscoveryLoadBalancer} for each
+ * service, when {@link LoadBalancerConfiguration#ENABLED} is set.
+ *
+ * @since 4.6.0
+ */
+@Singleton
+@BootstrapContextCompatible
+@Replaces(DiscoveryClientLoadBalancerFactory.class)
+@Requires(property = LoadBalancerConfiguration.ENABLED, value = StringUtils.TRUE, defaultValue = StringUtils.FALSE)
+public class DiscoveryLoadBalancerFactory extends DiscoveryClientLoadBalancerFactory {
+
+    private final DiscoveryClient discoveryClient;
+    private final LoadBalancerConfiguration configuration;
+    private final InstanceStatsRegistry statsRegistry;
+    private final OutlierDetector outlierDetector;
+    private final String zone;
+    private final String applicationName;
+    private final Environment environment;
+    private final ServiceInstanceIdGenerator idGenerator;
+    private final BeanProvider<EmbeddedServer> embeddedServer;
+    private volatile String clientId;
+
+    /**
+     * @param discoveryClient          The discovery client
+     * @param configuration            The load balancer configuration
+     * @param applicationConfiguration The application configuration
+     * @param statsRegistry            The request statistics of the instances
+     * @param environment              The environment
+     * @param idGenerator              The generator of the ID of this client
+     * @param embeddedServer           The embedded server, if any
+     * @param outlierDetector          The detector of the instances that fail or respond slowly
+     */
+    public DiscoveryLoadBalancerFactory(DiscoveryClient discoveryClient,
+                                        LoadBalancerConfiguration configuration,
+                                        ApplicationConfiguration applicationConfiguration,
+                                        InstanceStatsRegistry statsRegistry,
+                                        Environment environment,
+                                        ServiceInstanceIdGenerator idGenerator,
+                                        BeanProvider<EmbeddedServer> embeddedServer,
+                                        OutlierDetector outlierDetector) {
+        super(discoveryClient);
+        this.discoveryClient = discoveryClient;
+        this.configuration = configuration;
+        this.statsRegistry = statsRegistry;
+        this.zone = configuration.getZone().orElse(applicationConfiguration.getInstance().getZone().orElse(null));
+        this.applicationName = applicationConfiguration.getName().orElse(Environment.DEFAULT_NAME);
+        this.environment = environment;
+        this.idGenerator = idGenerator;
+        this.embeddedServer = embeddedServer;
+        this.outlierDetector = outlierDetector;
+    }
+
+    @Override
+    public LoadBalancer create(String serviceID) {
+        List<InstanceFilter> filters = new ArrayList<>();
+        // sees the complete instance lists, to track the discovered instances
+        filters.add(new InstanceTracker(serviceID, statsRegistry, outlierDetector));
+        SnapshotWeights weights = new SnapshotWeights();
+        if (configuration.getStrategy() == SelectionStrategy.WEIGHTED_RANDOM || configuration.getStrategy() == SelectionStrategy.WEIGHTED_ROUND_ROBIN) {
+            // sees the complete instance lists, to parse the weights once per list
+            filters.add(weights);
+        }
+        SlowStart slowStart = null;
+        if (configuration.getSlowStart().isEnabled()) {
+            // sees the complete instance lists, to tell the new instances
+            slowStart = new SlowStart(configuration.getSlowStart());
+            filters.add(slowStart);
+        }
+        // leaves out the down instances before the stages that narrow down the instances
+        AvailableInstances available = new AvailableInstances();
+        filters.add(available);
+        if (outlierDetector.isEnabled()) {
+            filters.add(new OutlierFilter(outlierDetector, configuration.getOutlierDetection().getInterval().toNanos()));
+        }
+        if (zone != null && configuration.getZoneAffinity().isEnabled()) {
+            filters.add(new ZoneAffinityFilter(zone, configuration.getZoneAffinity(), available));
+        }
+        if (configuration.getSubsetting().isEnabled()) {
+            filters.add(new SubsettingFilter(configuration.getSubsetting(), this::clientId));
+        }
+        return new DiscoveryLoadBalancer(serviceID, discoveryClient, filters, selector(slowStart, weights));
+    }
+
+    private InstanceSelector selector(@Nullable SlowStart slowStart, ToDoubleFunction<ServiceInstance> weights) {
+        if (slowStart == null) {
+            return switch (configuration.getStrategy()) {
+                case ROUND_ROBIN -> new RoundRobinSelector();
+                case WEIGHTED_RANDOM -> new WeightedRandomSelector(weights);
+                case WEIGHTED_ROUND_ROBIN -> new SmoothWeightedRoundRobinSelector(weights);
+                case POWER_OF_TWO_CHOICES -> new PowerOfTwoChoicesSelector(statsRegistry, instance -> 1);
+            };
+        }
+        ToDoubleFunction<ServiceInstance> rampedUp = instance -> weights.applyAsDouble(instance) * slowStart.factor(instance);
+        return switch (configuration.getStrategy()) {
+            // equal weights select the instances in turn
+            case ROUND_ROBIN -> new SmoothWeightedRoundRobinSelector(slowStart::factor);
+            case WEIGHTED_RANDOM -> new WeightedRandomSelector(rampedUp);
+            case WEIGHTED_ROUND_ROBIN -> new SmoothWeightedRoundRobinSelector(rampedUp);
+            case POWER_OF_TWO_CHOICES -> new PowerOfTwoChoicesSelector(statsRegistry, slowStart::factor);
+        };
+    }
+
+    private String clientId() {
+        String clientId = this.clientId;
+        if (clientId == null) {
+            synchronized (this) { // double check
+                clientId = this.clientId;
+                if (clientId == null) {
+                    clientId = configuration.getSubsetting().getClientId().orElse(null);
+                    if (clientId != null) {
+                        this.clientId = clientId;
+                        return clientId;
+                    }
+                    if (embeddedServer.isPresent()) {
+                        EmbeddedServer server = embeddedServer.get();
+                        clientId = idGenerator.generateId(environment, ServiceInstance.of(applicationName, server.getURI()));
+                        if (!server.isRunning()) {
+                            // the port may not be bound yet
+                            return clientId;
+                        }
+                    } else {
+                        clientId = idGenerator.generateId(environment, ServiceInstance.of(applicationName, localUri()));
+                    }
+                    this.clientId = clientId;
+                }
+            }
+        }
+        return clientId;
+    }
+
+    private static URI localUri() {
+        try {
+            return URI.create("http://" + InetAddress.getLocalHost().getHostName());
+        } catch (UnknownHostException e) {
+            return URI.create("http://localhost");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+/**
+ * Why an {@link OutlierDetector} ejected an instance.
+ *
+ * @since 4.6.0
+ */
+public enum EjectionReason {
+
+    /**
+     * The requests to the instance returned consecutive 5xx responses or timed out.
+     */
+    CONSECUTIVE_ERRORS,
+
+    /**
+     * The connections to the instance failed consecutively.
+     */
+    CONSECUTIVE_CONNECT_FAILURES,
+
+    /**
+     * The latency of the instance is an outlier among the instances of its service.
+     */
+    LATENCY
+}
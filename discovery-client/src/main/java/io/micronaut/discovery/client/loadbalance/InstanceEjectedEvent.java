@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.context.event.ApplicationEvent;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Published when an {@link OutlierDetector} ejects an instance, for example to count the ejections in the metrics of
+ * the application.
+ *
+ * @since 4.6.0
+ */
+public class InstanceEjectedEvent extends ApplicationEvent {
+
+    private final EjectionReason reason;
+    private final Duration ejectionTime;
+
+    /**
+     * @param uri          The URI of the ejected instance
+     * @param reason       Why the instance was ejected
+     * @param ejectionTime How long the instance is ejected for
+     */
+    public InstanceEjectedEvent(URI uri, EjectionReason reason, Duration ejectionTime) {
+        super(uri);
+        this.reason = reason;
+        this.ejectionTime = ejectionTime;
+    }
+
+    @Override
+    public URI getSource() {
+        return (URI) super.getSource();
+    }
+
+    /**
+     * @return Why the instance was ejected
+     */
+    public EjectionReason getReason() {
+        return reason;
+    }
+
+    /**
+     * @return How long the instance is ejected for
+     */
+    public Duration getEjectionTime() {
+        return ejectionTime;
+    }
+}
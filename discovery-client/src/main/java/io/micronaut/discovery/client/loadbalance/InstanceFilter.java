@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.discovery.ServiceInstance;
+
+import java.util.List;
+
+/**
+ * A stage of a {@link DiscoveryLoadBalancer} that narrows down the instances of a service before one is selected.
+ *
+ * @since 4.6.0
+ */
+@Internal
+@FunctionalInterface
+interface InstanceFilter {
+
+    /**
+     * @param instances The instances of the service, never empty
+     * @return The instances to select from
+     */
+    List<ServiceInstance> filter(List<ServiceInstance> instances);
+}
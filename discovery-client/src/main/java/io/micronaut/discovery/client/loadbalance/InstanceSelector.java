@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.discovery.ServiceInstance;
+
+import java.util.List;
+
+/**
+ * The last stage of a {@link DiscoveryLoadBalancer}, that selects one of the available instances of a service.
+ *
+ * @since 4.6.0
+ */
+@Internal
+@FunctionalInterface
+interface InstanceSelector {
+
+    /**
+     * @param instances The available instances, never empty
+     * @return The selected instance
+     */
+    ServiceInstance select(List<ServiceInstance> instances);
+}
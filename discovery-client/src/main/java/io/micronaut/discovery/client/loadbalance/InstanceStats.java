@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The request statistics of an instance: the number of requests in flight and an exponentially weighted moving
+ * average (EWMA) of the latency. Older samples decay with time rather than with the number of samples, so the
+ * average of an instance that receives little traffic still follows its recent latency.
+ *
+ * <p>The statistics are updated without locking. Concurrent samples may be merged in any order.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+public final class InstanceStats {
+
+    private static final long NO_SAMPLE = Double.doubleToLongBits(-1);
+
+    private final double decayNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong latencyEwma = new AtomicLong(NO_SAMPLE);
+    private final AtomicLong lastSample = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+
+    /**
+     * @param decayNanos The time in nanoseconds after which the weight of a sample has decayed to 1/e
+     */
+    InstanceStats(long decayNanos) {
+        this.decayNanos = decayNanos;
+    }
+
+    /**
+     * Records the start of a request.
+     *
+     * @return The start time in nanoseconds, to pass to {@link #end(long)}
+     */
+    public long start() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a request that was cancelled before it completed, without recording its latency.
+     */
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Records the end of a request.
+     *
+     * @param start The start time returned by {@link #start()}
+     */
+    public void end(long start) {
+        long now = System.nanoTime();
+        inFlight.decrementAndGet();
+        completed.incrementAndGet();
+        long elapsed = now - lastSample.getAndSet(now);
+        double latency = now - start;
+        while (true) {
+            long current = latencyEwma.get();
+            double average = Double.longBitsToDouble(current);
+            double updated;
+            if (current == NO_SAMPLE) {
+                updated = latency;
+            } else {
+                double weight = Math.exp(-Math.max(0, elapsed) / decayNanos);
+                updated = average * weight + latency * (1 - weight);
+            }
+            if (latencyEwma.compareAndSet(current, Double.doubleToLongBits(updated))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return The number of requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return The number of requests completed
+     */
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    /**
+     * @return The moving average of the latency in nanoseconds, negative if no request completed yet
+     */
+    public double getLatencyEwma() {
+        return Double.longBitsToDouble(latencyEwma.get());
+    }
+}
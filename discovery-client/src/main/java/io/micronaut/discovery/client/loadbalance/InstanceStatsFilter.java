@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MutableHttpRequest;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.ClientFilterChain;
+import io.micronaut.http.filter.HttpClientFilter;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+
+/**
+ * Records the {@link InstanceStats} of the discovered instances the HTTP clients send requests to, and reports the
+ * outcome of the requests to the {@link OutlierDetector}. The requests to the hosts that are not tracked by the
+ * {@link InstanceStatsRegistry} are left alone.
+ *
+ * @since 4.6.0
+ */
+@Internal
+@Filter(Filter.MATCH_ALL_PATTERN)
+@BootstrapContextCompatible
+@Requires(property = LoadBalancerConfiguration.ENABLED, value = StringUtils.TRUE, defaultValue = StringUtils.FALSE)
+public final class InstanceStatsFilter implements HttpClientFilter {
+
+    private final InstanceStatsRegistry registry;
+    private final OutlierDetector outlierDetector;
+
+    /**
+     * @param registry        The instance statistics
+     * @param outlierDetector The outlier detector
+     */
+    public InstanceStatsFilter(InstanceStatsRegistry registry, OutlierDetector outlierDetector) {
+        this.registry = registry;
+        this.outlierDetector = outlierDetector;
+    }
+
+    @Override
+    public Publisher<? extends HttpResponse<?>> doFilter(MutableHttpRequest<?> request, ClientFilterChain chain) {
+        URI uri = request.getUri();
+        if (uri.getHost() == null) {
+            return chain.proceed(request);
+        }
+        InstanceStats stats = registry.find(uri);
+        if (stats == null) {
+            // not a discovered instance
+            return chain.proceed(request);
+        }
+        return Flux.defer(() -> {
+            long start = stats.start();
+            Flux<? extends HttpResponse<?>> response = Flux.from(chain.proceed(request));
+            if (outlierDetector.isEnabled()) {
+                response = response
+                    .doOnNext(r -> outlierDetector.onResponse(uri, r.code()))
+                    .doOnError(throwable -> outlierDetector.onError(uri, throwable));
+            }
+            return response.doFinally(signal -> {
+                if (signal == SignalType.CANCEL) {
+                    // the latency of an abandoned request says nothing about the instance
+                    stats.cancel();
+                } else {
+                    stats.end(start);
+                }
+            });
+        });
+    }
+}
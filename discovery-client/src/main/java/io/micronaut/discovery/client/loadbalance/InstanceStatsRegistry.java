@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.discovery.ServiceInstance;
+import jakarta.inject.Singleton;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the {@link InstanceStats} of each instance, keyed by the scheme, host and port of its URI, so that the
+ * statistics recorded by the HTTP client filter are found by the load balancer from the URI of a discovered instance.
+ *
+ * <p>Only the instances of the services that go through a {@link DiscoveryLoadBalancer} are tracked, so that the
+ * requests to any other host are not recorded, and an instance stops being tracked once it left all its services.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+@Singleton
+@BootstrapContextCompatible
+@Requires(property = LoadBalancerConfiguration.ENABLED, value = StringUtils.TRUE, defaultValue = StringUtils.FALSE)
+public final class InstanceStatsRegistry {
+
+    private static final int HTTP_PORT = 80;
+    private static final int HTTPS_PORT = 443;
+
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> services = new HashMap<>();
+    private final Map<String, Integer> references = new HashMap<>();
+    private final long decayNanos;
+
+    /**
+     * @param configuration The load balancer configuration
+     */
+    public InstanceStatsRegistry(LoadBalancerConfiguration configuration) {
+        this.decayNanos = configuration.getLatencyDecay().toNanos();
+    }
+
+    /**
+     * @param uri The URI of a tracked instance
+     * @return The statistics of the instance
+     */
+    @NonNull
+    public InstanceStats get(@NonNull URI uri) {
+        return stats.computeIfAbsent(key(uri), key -> new InstanceStats(decayNanos));
+    }
+
+    /**
+     * @param uri The URI of an instance, or of a request to the instance
+     * @return The statistics of the instance, or {@code null} if the instance is not tracked
+     */
+    @Nullable
+    public InstanceStats find(@NonNull URI uri) {
+        return stats.get(key(uri));
+    }
+
+    /**
+     * @param key The key of an instance
+     * @return Whether the instance is tracked
+     */
+    boolean isTracked(String key) {
+        return stats.containsKey(key);
+    }
+
+    /**
+     * Tracks the instances of a service, and stops tracking the instances that left the service unless another
+     * service still holds them.
+     *
+     * @param serviceId The service ID
+     * @param instances The instances of the service
+     * @return Whether some instances stopped being tracked
+     */
+    synchronized boolean retain(String serviceId, List<ServiceInstance> instances) {
+        Set<String> keys = new HashSet<>(instances.size() * 2);
+        for (ServiceInstance instance : instances) {
+            keys.add(key(instance.getURI()));
+        }
+        Set<String> previous = services.put(serviceId, keys);
+        if (keys.equals(previous)) {
+            return false;
+        }
+        for (String key : keys) {
+            if (previous == null || !previous.contains(key)) {
+                references.merge(key, 1, Integer::sum);
+            }
+        }
+        boolean evicted = false;
+        if (previous != null) {
+            for (String key : previous) {
+                if (!keys.contains(key) && references.merge(key, -1, Integer::sum) <= 0) {
+                    references.remove(key);
+                    evicted = true;
+                }
+            }
+        }
+        // also drops the statistics looked up while their instance was leaving
+        stats.keySet().removeIf(key -> !references.containsKey(key));
+        for (String key : keys) {
+            stats.computeIfAbsent(key, k -> new InstanceStats(decayNanos));
+        }
+        return evicted;
+    }
+
+    /**
+     * @param uri The URI of the instance, or of a request to the instance
+     * @return The key of the instance
+     */
+    static String key(URI uri) {
+        String scheme = uri.getScheme() != null ? uri.getScheme() : "http";
+        int port = uri.getPort();
+        if (port < 0) {
+            port = "https".equalsIgnoreCase(scheme) ? HTTPS_PORT : HTTP_PORT;
+        }
+        return scheme + "://" + uri.getHost() + ":" + port;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.discovery.ServiceInstance;
+
+import java.util.List;
+
+/**
+ * Tracks the instances of a service in the {@link InstanceStatsRegistry}, so that only the requests to discovered
+ * instances are recorded, and evicts the statistics and the outlier state of the instances that left the service.
+ *
+ * <p>As the first stage of a {@link DiscoveryLoadBalancer}, it sees the complete instance lists and leaves them as
+ * they are. A list is only compared with the tracked instances when it is not the list seen last.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class InstanceTracker implements InstanceFilter {
+
+    private final String serviceId;
+    private final InstanceStatsRegistry registry;
+    private final OutlierDetector outlierDetector;
+    private volatile List<ServiceInstance> previous;
+
+    /**
+     * @param serviceId       The service ID
+     * @param registry        The instance statistics
+     * @param outlierDetector The outlier detector
+     */
+    InstanceTracker(String serviceId, InstanceStatsRegistry registry, OutlierDetector outlierDetector) {
+        this.serviceId = serviceId;
+        this.registry = registry;
+        this.outlierDetector = outlierDetector;
+    }
+
+    @Override
+    public List<ServiceInstance> filter(List<ServiceInstance> instances) {
+        if (instances != previous) {
+            if (registry.retain(serviceId, instances)) {
+                outlierDetector.evictUntracked();
+            }
+            previous = instances;
+        }
+        return instances;
+    }
+}
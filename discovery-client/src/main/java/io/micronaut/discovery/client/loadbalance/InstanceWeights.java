@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.client.ServiceInstanceMetadata;
+
+/**
+ * Reads the weight of an instance from its {@value ServiceInstanceMetadata#WEIGHT} metadata entry, which
+ * Consul instances fill from the weights of the service and Eureka instances from their registration metadata.
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class InstanceWeights {
+
+    /**
+     * The weight of the instances without a valid weight.
+     */
+    static final double DEFAULT_WEIGHT = 1;
+
+    private InstanceWeights() {
+    }
+
+    /**
+     * @param instance The instance
+     * @return The weight of the instance, never negative
+     */
+    static double weight(ServiceInstance instance) {
+        String weight = instance.getMetadata().get(ServiceInstanceMetadata.WEIGHT, String.class).orElse(null);
+        if (weight == null) {
+            return DEFAULT_WEIGHT;
+        }
+        try {
+            return Math.max(0, Double.parseDouble(weight));
+        } catch (NumberFormatException e) {
+            return DEFAULT_WEIGHT;
+        }
+    }
+}
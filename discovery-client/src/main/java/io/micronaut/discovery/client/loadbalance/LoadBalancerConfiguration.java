@@ -0,0 +1,735 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.util.Toggleable;
+import io.micronaut.discovery.client.ServiceInstanceMetadata;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Configuration of the load balancing over the instances returned by the discovery clients.
+ *
+ * @since 4.6.0
+ */
+@ConfigurationProperties(LoadBalancerConfiguration.PREFIX)
+@BootstrapContextCompatible
+public class LoadBalancerConfiguration implements Toggleable {
+
+    /**
+     * The prefix to use for all load balancer settings.
+     */
+    public static final String PREFIX = "micronaut.discovery-client.load-balancer";
+
+    /**
+     * Configuration property name for enabling the load balancer.
+     */
+    public static final String ENABLED = PREFIX + ".enabled";
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default latency decay seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_LATENCY_DECAY_SECONDS = 10;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private String zone;
+    private SelectionStrategy strategy = SelectionStrategy.ROUND_ROBIN;
+    private Duration latencyDecay = Duration.ofSeconds(DEFAULT_LATENCY_DECAY_SECONDS);
+    private ZoneAffinityConfiguration zoneAffinity = new ZoneAffinityConfiguration();
+    private SlowStartConfiguration slowStart = new SlowStartConfiguration();
+    private SubsettingConfiguration subsetting = new SubsettingConfiguration();
+    private OutlierDetectionConfiguration outlierDetection = new OutlierDetectionConfiguration();
+
+    /**
+     * @return Whether the load balancer replaces the default round robin load balancer of the HTTP client
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_ENABLED}).
+     * @param enabled Whether the load balancer replaces the default round robin load balancer of the HTTP client
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The zone of this client. Defaults to the zone of the application instance,
+     * {@code micronaut.application.instance.zone}.
+     *
+     * @return The zone
+     */
+    public Optional<String> getZone() {
+        return Optional.ofNullable(zone);
+    }
+
+    /**
+     * @param zone The zone of this client
+     */
+    public void setZone(String zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * The weighted strategies read the weight of each instance from its {@value ServiceInstanceMetadata#WEIGHT}
+     * metadata entry, which Consul instances fill from the weights of the service.
+     *
+     * @return How an instance is selected among the available instances (defaults to
+     * {@link SelectionStrategy#ROUND_ROBIN})
+     */
+    public SelectionStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * @param strategy How an instance is selected among the available instances
+     */
+    public void setStrategy(SelectionStrategy strategy) {
+        if (strategy != null) {
+            this.strategy = strategy;
+        }
+    }
+
+    /**
+     * @return The time after which the weight of a latency sample in the moving average of an instance has decayed
+     * to 1/e
+     */
+    public Duration getLatencyDecay() {
+        return latencyDecay;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_LATENCY_DECAY_SECONDS} seconds).
+     * @param latencyDecay The time after which the weight of a latency sample in the moving average of an instance
+     *                     has decayed to 1/e
+     */
+    public void setLatencyDecay(Duration latencyDecay) {
+        if (latencyDecay != null) {
+            this.latencyDecay = latencyDecay;
+        }
+    }
+
+    /**
+     * @return The settings for preferring the instances of the zone of this client
+     */
+    public ZoneAffinityConfiguration getZoneAffinity() {
+        return zoneAffinity;
+    }
+
+    /**
+     * @param zoneAffinity The settings for preferring the instances of the zone of this client
+     */
+    public void setZoneAffinity(ZoneAffinityConfiguration zoneAffinity) {
+        if (zoneAffinity != null) {
+            this.zoneAffinity = zoneAffinity;
+        }
+    }
+
+    /**
+     * @return The settings for ramping up the traffic of the instances that join a service
+     */
+    public SlowStartConfiguration getSlowStart() {
+        return slowStart;
+    }
+
+    /**
+     * @param slowStart The settings for ramping up the traffic of the instances that join a service
+     */
+    public void setSlowStart(SlowStartConfiguration slowStart) {
+        if (slowStart != null) {
+            this.slowStart = slowStart;
+        }
+    }
+
+    /**
+     * @return The settings for bounding the number of instances of a service this client connects to
+     */
+    public SubsettingConfiguration getSubsetting() {
+        return subsetting;
+    }
+
+    /**
+     * @param subsetting The settings for bounding the number of instances of a service this client connects to
+     */
+    public void setSubsetting(SubsettingConfiguration subsetting) {
+        if (subsetting != null) {
+            this.subsetting = subsetting;
+        }
+    }
+
+    /**
+     * @return The settings for ejecting the instances that fail or respond slowly
+     */
+    public OutlierDetectionConfiguration getOutlierDetection() {
+        return outlierDetection;
+    }
+
+    /**
+     * @param outlierDetection The settings for ejecting the instances that fail or respond slowly
+     */
+    public void setOutlierDetection(OutlierDetectionConfiguration outlierDetection) {
+        if (outlierDetection != null) {
+            this.outlierDetection = outlierDetection;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LoadBalancerConfiguration{" +
+            "enabled=" + enabled +
+            ", zone=" + zone +
+            ", strategy=" + strategy +
+            ", latencyDecay=" + latencyDecay +
+            ", zoneAffinity=" + zoneAffinity +
+            ", slowStart=" + slowStart +
+            ", subsetting=" + subsetting +
+            ", outlierDetection=" + outlierDetection +
+            '}';
+    }
+
+    /**
+     * Configuration for preferring the instances of the zone of this client, spilling over to the other zones when
+     * the zone runs short of healthy instances.
+     */
+    @ConfigurationProperties("zone-affinity")
+    @BootstrapContextCompatible
+    public static class ZoneAffinityConfiguration implements Toggleable {
+
+        /**
+         * The default enable value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_ENABLED = true;
+
+        /**
+         * The default min healthy ratio.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final double DEFAULT_MIN_HEALTHY_RATIO = 0.5;
+
+        /**
+         * The default min healthy instances.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MIN_HEALTHY_INSTANCES = 1;
+
+        private boolean enabled = DEFAULT_ENABLED;
+        private double minHealthyRatio = DEFAULT_MIN_HEALTHY_RATIO;
+        private int minHealthyInstances = DEFAULT_MIN_HEALTHY_INSTANCES;
+
+        /**
+         * @return Whether the instances of the zone of this client are preferred
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_ENABLED}).
+         * @param enabled Whether the instances of the zone of this client are preferred
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return The ratio of healthy instances in the zone under which traffic spills over to the other zones
+         */
+        public double getMinHealthyRatio() {
+            return minHealthyRatio;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_MIN_HEALTHY_RATIO}).
+         * @param minHealthyRatio The ratio of healthy instances in the zone under which traffic spills over to the
+         *                        other zones
+         */
+        public void setMinHealthyRatio(double minHealthyRatio) {
+            this.minHealthyRatio = minHealthyRatio;
+        }
+
+        /**
+         * @return The number of healthy instances in the zone under which traffic spills over to the other zones
+         */
+        public int getMinHealthyInstances() {
+            return minHealthyInstances;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_MIN_HEALTHY_INSTANCES}).
+         * @param minHealthyInstances The number of healthy instances in the zone under which traffic spills over
+         *                            to the other zones
+         */
+        public void setMinHealthyInstances(int minHealthyInstances) {
+            this.minHealthyInstances = minHealthyInstances;
+        }
+
+        @Override
+        public String toString() {
+            return "ZoneAffinityConfiguration{" +
+                "enabled=" + enabled +
+                ", minHealthyRatio=" + minHealthyRatio +
+                ", minHealthyInstances=" + minHealthyInstances +
+                '}';
+        }
+    }
+
+    /**
+     * Configuration for ramping up the traffic of the instances that join a service over a window, while their caches
+     * and JIT warm up.
+     */
+    @ConfigurationProperties("slow-start")
+    @BootstrapContextCompatible
+    public static class SlowStartConfiguration implements Toggleable {
+
+        /**
+         * The default enable value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * The default window seconds.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_WINDOW_SECONDS = 30;
+
+        /**
+         * The default min weight ratio.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final double DEFAULT_MIN_WEIGHT_RATIO = 0.1;
+
+        /**
+         * The default aggression.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final double DEFAULT_AGGRESSION = 1.0;
+
+        private boolean enabled = DEFAULT_ENABLED;
+        private Duration window = Duration.ofSeconds(DEFAULT_WINDOW_SECONDS);
+        private double minWeightRatio = DEFAULT_MIN_WEIGHT_RATIO;
+        private double aggression = DEFAULT_AGGRESSION;
+
+        /**
+         * @return Whether the traffic of the instances that join a service is ramped up
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_ENABLED}).
+         * @param enabled Whether the traffic of the instances that join a service is ramped up
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return The time over which the traffic of a new instance ramps up to its full share
+         */
+        public Duration getWindow() {
+            return window;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_WINDOW_SECONDS} seconds).
+         * @param window The time over which the traffic of a new instance ramps up to its full share
+         */
+        public void setWindow(Duration window) {
+            if (window != null) {
+                this.window = window;
+            }
+        }
+
+        /**
+         * @return The share of its full weight a new instance starts with
+         */
+        public double getMinWeightRatio() {
+            return minWeightRatio;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_MIN_WEIGHT_RATIO}).
+         * @param minWeightRatio The share of its full weight a new instance starts with
+         */
+        public void setMinWeightRatio(double minWeightRatio) {
+            this.minWeightRatio = minWeightRatio;
+        }
+
+        /**
+         * @return How fast the weight ramps up: 1 ramps up linearly, higher values ramp up faster at the start of the
+         * window
+         */
+        public double getAggression() {
+            return aggression;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_AGGRESSION}).
+         * @param aggression How fast the weight ramps up
+         */
+        public void setAggression(double aggression) {
+            if (aggression > 0) {
+                this.aggression = aggression;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "SlowStartConfiguration{" +
+                "enabled=" + enabled +
+                ", window=" + window +
+                ", minWeightRatio=" + minWeightRatio +
+                ", aggression=" + aggression +
+                '}';
+        }
+    }
+
+    /**
+     * Configuration for bounding the number of instances of a service this client connects to, by selecting a stable
+     * subset of the instances.
+     */
+    @ConfigurationProperties("subsetting")
+    @BootstrapContextCompatible
+    public static class SubsettingConfiguration implements Toggleable {
+
+        /**
+         * The default enable value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * The default size.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_SIZE = 20;
+
+        private boolean enabled = DEFAULT_ENABLED;
+        private int size = DEFAULT_SIZE;
+        private String clientId;
+
+        /**
+         * @return Whether this client only uses a subset of the instances of each service
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_ENABLED}).
+         * @param enabled Whether this client only uses a subset of the instances of each service
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return The max number of instances of each service this client uses
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_SIZE}).
+         * @param size The max number of instances of each service this client uses
+         */
+        public void setSize(int size) {
+            if (size > 0) {
+                this.size = size;
+            }
+        }
+
+        /**
+         * @return The ID the subsets of this client are derived from, generated from the instance of this application
+         * if not set
+         */
+        public Optional<String> getClientId() {
+            return Optional.ofNullable(clientId);
+        }
+
+        /**
+         * @param clientId The ID the subsets of this client are derived from
+         */
+        public void setClientId(String clientId) {
+            this.clientId = clientId;
+        }
+
+        @Override
+        public String toString() {
+            return "SubsettingConfiguration{" +
+                "enabled=" + enabled +
+                ", size=" + size +
+                ", clientId=" + clientId +
+                '}';
+        }
+    }
+
+    /**
+     * Configuration for temporarily ejecting the instances whose requests fail or respond much slower than the other
+     * instances, before their health checks catch up.
+     */
+    @ConfigurationProperties("outlier-detection")
+    @BootstrapContextCompatible
+    public static class OutlierDetectionConfiguration implements Toggleable {
+
+        /**
+         * The default enable value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * The default consecutive errors.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_CONSECUTIVE_ERRORS = 5;
+
+        /**
+         * The default consecutive connect failures.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_CONSECUTIVE_CONNECT_FAILURES = 3;
+
+        /**
+         * The default latency ratio.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final double DEFAULT_LATENCY_RATIO = 3.0;
+
+        /**
+         * The default min latency instances.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MIN_LATENCY_INSTANCES = 3;
+
+        /**
+         * The default interval seconds.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_INTERVAL_SECONDS = 10;
+
+        /**
+         * The default base ejection time seconds.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_BASE_EJECTION_TIME_SECONDS = 30;
+
+        /**
+         * The default max ejection time minutes.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MAX_EJECTION_TIME_MINUTES = 5;
+
+        /**
+         * The default max ejection percent.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MAX_EJECTION_PERCENT = 50;
+
+        private boolean enabled = DEFAULT_ENABLED;
+        private int consecutiveErrors = DEFAULT_CONSECUTIVE_ERRORS;
+        private int consecutiveConnectFailures = DEFAULT_CONSECUTIVE_CONNECT_FAILURES;
+        private double latencyRatio = DEFAULT_LATENCY_RATIO;
+        private int minLatencyInstances = DEFAULT_MIN_LATENCY_INSTANCES;
+        private Duration interval = Duration.ofSeconds(DEFAULT_INTERVAL_SECONDS);
+        private Duration baseEjectionTime = Duration.ofSeconds(DEFAULT_BASE_EJECTION_TIME_SECONDS);
+        private Duration maxEjectionTime = Duration.ofMinutes(DEFAULT_MAX_EJECTION_TIME_MINUTES);
+        private int maxEjectionPercent = DEFAULT_MAX_EJECTION_PERCENT;
+
+        /**
+         * @return Whether the instances that fail or respond slowly are ejected
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_ENABLED}).
+         * @param enabled Whether the instances that fail or respond slowly are ejected
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return The number of consecutive 5xx responses or timeouts after which an instance is ejected, 0 to disable
+         */
+        public int getConsecutiveErrors() {
+            return consecutiveErrors;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_CONSECUTIVE_ERRORS}).
+         * @param consecutiveErrors The number of consecutive 5xx responses or timeouts after which an instance is
+         *                          ejected, 0 to disable
+         */
+        public void setConsecutiveErrors(int consecutiveErrors) {
+            this.consecutiveErrors = consecutiveErrors;
+        }
+
+        /**
+         * @return The number of consecutive connect failures after which an instance is ejected, 0 to disable
+         */
+        public int getConsecutiveConnectFailures() {
+            return consecutiveConnectFailures;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_CONSECUTIVE_CONNECT_FAILURES}).
+         * @param consecutiveConnectFailures The number of consecutive connect failures after which an instance is
+         *                                   ejected, 0 to disable
+         */
+        public void setConsecutiveConnectFailures(int consecutiveConnectFailures) {
+            this.consecutiveConnectFailures = consecutiveConnectFailures;
+        }
+
+        /**
+         * @return How many times the median latency of the instances of a service the latency of an instance must
+         * exceed for the instance to be ejected, 0 to disable
+         */
+        public double getLatencyRatio() {
+            return latencyRatio;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_LATENCY_RATIO}).
+         * @param latencyRatio How many times the median latency of the instances of a service the latency of an
+         *                     instance must exceed for the instance to be ejected, 0 to disable
+         */
+        public void setLatencyRatio(double latencyRatio) {
+            this.latencyRatio = latencyRatio;
+        }
+
+        /**
+         * @return The min number of instances with latency samples for the latency outliers to be detected
+         */
+        public int getMinLatencyInstances() {
+            return minLatencyInstances;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_MIN_LATENCY_INSTANCES}).
+         * @param minLatencyInstances The min number of instances with latency samples for the latency outliers to be
+         *                            detected
+         */
+        public void setMinLatencyInstances(int minLatencyInstances) {
+            this.minLatencyInstances = minLatencyInstances;
+        }
+
+        /**
+         * @return The interval between two detections of the latency outliers of a service
+         */
+        public Duration getInterval() {
+            return interval;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_INTERVAL_SECONDS} seconds).
+         * @param interval The interval between two detections of the latency outliers of a service
+         */
+        public void setInterval(Duration interval) {
+            if (interval != null) {
+                this.interval = interval;
+            }
+        }
+
+        /**
+         * @return The time an instance is ejected for the first time, doubled on each consecutive ejection
+         */
+        public Duration getBaseEjectionTime() {
+            return baseEjectionTime;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_BASE_EJECTION_TIME_SECONDS} seconds).
+         * @param baseEjectionTime The time an instance is ejected for the first time, doubled on each consecutive
+         *                         ejection
+         */
+        public void setBaseEjectionTime(Duration baseEjectionTime) {
+            if (baseEjectionTime != null) {
+                this.baseEjectionTime = baseEjectionTime;
+            }
+        }
+
+        /**
+         * @return The max time an instance is ejected
+         */
+        public Duration getMaxEjectionTime() {
+            return maxEjectionTime;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_MAX_EJECTION_TIME_MINUTES} minutes).
+         * @param maxEjectionTime The max time an instance is ejected
+         */
+        public void setMaxEjectionTime(Duration maxEjectionTime) {
+            if (maxEjectionTime != null) {
+                this.maxEjectionTime = maxEjectionTime;
+            }
+        }
+
+        /**
+         * @return The max percentage of the instances of a service that are ejected at once
+         */
+        public int getMaxEjectionPercent() {
+            return maxEjectionPercent;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_MAX_EJECTION_PERCENT}).
+         * @param maxEjectionPercent The max percentage of the instances of a service that are ejected at once
+         */
+        public void setMaxEjectionPercent(int maxEjectionPercent) {
+            this.maxEjectionPercent = maxEjectionPercent;
+        }
+
+        @Override
+        public String toString() {
+            return "OutlierDetectionConfiguration{" +
+                "enabled=" + enabled +
+                ", consecutiveErrors=" + consecutiveErrors +
+                ", consecutiveConnectFailures=" + consecutiveConnectFailures +
+                ", latencyRatio=" + latencyRatio +
+                ", minLatencyInstances=" + minLatencyInstances +
+                ", interval=" + interval +
+                ", baseEjectionTime=" + baseEjectionTime +
+                ", maxEjectionTime=" + maxEjectionTime +
+                ", maxEjectionPercent=" + maxEjectionPercent +
+                '}';
+        }
+    }
+}
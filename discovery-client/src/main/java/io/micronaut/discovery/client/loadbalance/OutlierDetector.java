@@ -0,0 +1,381 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.http.client.exceptions.ReadTimeoutException;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detects the instances whose requests fail, or respond much slower than the other instances of their service, from
+ * the outcome of the requests of the HTTP clients, and ejects them from the load balancing before their health checks
+ * catch up.
+ *
+ * <p>An instance is ejected after consecutive 5xx responses or timeouts, after consecutive connect failures, or when
+ * its latency moving average exceeds a multiple of the median of its service. It is re-admitted once its ejection
+ * time elapses, and the ejection time doubles each time it is ejected again, up to the max ejection time. An instance
+ * that stays admitted for the max ejection time starts over from the base ejection time. Never more than the max
+ * ejection percentage of the instances of a service are left out of the load balancing.</p>
+ *
+ * <p>Each ejection publishes an {@link InstanceEjectedEvent}, and the ejections are counted by reason.</p>
+ *
+ * @since 4.6.0
+ */
+@Singleton
+@BootstrapContextCompatible
+@Requires(property = LoadBalancerConfiguration.ENABLED, value = StringUtils.TRUE, defaultValue = StringUtils.FALSE)
+public final class OutlierDetector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutlierDetector.class);
+    private static final int SERVER_ERROR = 500;
+
+    private final boolean enabled;
+    private final int consecutiveErrors;
+    private final int consecutiveConnectFailures;
+    private final double latencyRatio;
+    private final int minLatencyInstances;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    private final int maxEjectionPercent;
+    private final InstanceStatsRegistry registry;
+    private final ApplicationEventPublisher<InstanceEjectedEvent> eventPublisher;
+    private final Map<String, Outlier> outliers = new ConcurrentHashMap<>();
+    private final Map<EjectionReason, LongAdder> ejections = new EnumMap<>(EjectionReason.class);
+
+    /**
+     * @param configuration  The load balancer configuration
+     * @param registry       The request statistics of the instances
+     * @param eventPublisher The publisher of the ejection events
+     */
+    public OutlierDetector(LoadBalancerConfiguration configuration,
+                           InstanceStatsRegistry registry,
+                           ApplicationEventPublisher<InstanceEjectedEvent> eventPublisher) {
+        LoadBalancerConfiguration.OutlierDetectionConfiguration outlierDetection = configuration.getOutlierDetection();
+        this.enabled = outlierDetection.isEnabled();
+        this.consecutiveErrors = outlierDetection.getConsecutiveErrors();
+        this.consecutiveConnectFailures = outlierDetection.getConsecutiveConnectFailures();
+        this.latencyRatio = outlierDetection.getLatencyRatio();
+        this.minLatencyInstances = Math.max(1, outlierDetection.getMinLatencyInstances());
+        this.baseEjectionNanos = outlierDetection.getBaseEjectionTime().toNanos();
+        this.maxEjectionNanos = Math.max(baseEjectionNanos, outlierDetection.getMaxEjectionTime().toNanos());
+        this.maxEjectionPercent = outlierDetection.getMaxEjectionPercent();
+        this.registry = registry;
+        this.eventPublisher = eventPublisher;
+        for (EjectionReason reason : EjectionReason.values()) {
+            ejections.put(reason, new LongAdder());
+        }
+    }
+
+    /**
+     * @return Whether the instances that fail or respond slowly are ejected
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records a response of an instance.
+     *
+     * @param uri    The URI of the request
+     * @param status The status code of the response
+     */
+    public void onResponse(@NonNull URI uri, int status) {
+        if (!enabled) {
+            return;
+        }
+        String key = InstanceStatsRegistry.key(uri);
+        Outlier outlier = outliers.computeIfAbsent(key, k -> new Outlier());
+        EjectionReason reason = null;
+        synchronized (outlier) {
+            outlier.consecutiveConnectFailures = 0;
+            if (status < SERVER_ERROR) {
+                outlier.consecutiveErrors = 0;
+            } else if (consecutiveErrors > 0 && ++outlier.consecutiveErrors >= consecutiveErrors) {
+                reason = EjectionReason.CONSECUTIVE_ERRORS;
+            }
+        }
+        if (reason != null) {
+            eject(key, outlier, reason);
+        }
+    }
+
+    /**
+     * Records a failed request to an instance. The errors that tell nothing about the instance are ignored.
+     *
+     * @param uri       The URI of the request
+     * @param throwable The error
+     */
+    public void onError(@NonNull URI uri, @NonNull Throwable throwable) {
+        if (!enabled) {
+            return;
+        }
+        if (throwable instanceof HttpClientResponseException e) {
+            onResponse(uri, e.getStatus().getCode());
+            return;
+        }
+        EjectionReason failure = classify(throwable);
+        if (failure == null) {
+            return;
+        }
+        String key = InstanceStatsRegistry.key(uri);
+        Outlier outlier = outliers.computeIfAbsent(key, k -> new Outlier());
+        boolean eject;
+        synchronized (outlier) {
+            if (failure == EjectionReason.CONSECUTIVE_CONNECT_FAILURES) {
+                eject = consecutiveConnectFailures > 0 && ++outlier.consecutiveConnectFailures >= consecutiveConnectFailures;
+            } else {
+                eject = consecutiveErrors > 0 && ++outlier.consecutiveErrors >= consecutiveErrors;
+            }
+        }
+        if (eject) {
+            eject(key, outlier, failure);
+        }
+    }
+
+    /**
+     * @param uri The URI of the instance
+     * @return Whether the instance is ejected
+     */
+    public boolean isEjected(@NonNull URI uri) {
+        Outlier outlier = outliers.get(InstanceStatsRegistry.key(uri));
+        return outlier != null && outlier.isEjected(System.nanoTime());
+    }
+
+    /**
+     * @return The number of ejections since the application started
+     */
+    public long getEjectionCount() {
+        long count = 0;
+        for (LongAdder adder : ejections.values()) {
+            count += adder.sum();
+        }
+        return count;
+    }
+
+    /**
+     * @param reason The ejection reason
+     * @return The number of ejections for the given reason since the application started
+     */
+    public long getEjectionCount(@NonNull EjectionReason reason) {
+        return ejections.get(reason).sum();
+    }
+
+    /**
+     * @return The number of instances currently ejected
+     */
+    public int getEjectedCount() {
+        long now = System.nanoTime();
+        int count = 0;
+        for (Outlier outlier : outliers.values()) {
+            if (outlier.isEjected(now)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes the ejected instances, keeping the instances whose ejection ends first when more than the max ejection
+     * percentage of the instances are ejected.
+     *
+     * @param instances The instances of a service
+     * @return The instances that are not ejected
+     */
+    List<ServiceInstance> filter(List<ServiceInstance> instances) {
+        long now = System.nanoTime();
+        List<Ejected> ejected = null;
+        for (int i = 0; i < instances.size(); i++) {
+            Outlier outlier = outliers.get(InstanceStatsRegistry.key(instances.get(i).getURI()));
+            long remaining = outlier != null ? outlier.remaining(now) : -1;
+            if (remaining >= 0) {
+                if (ejected == null) {
+                    ejected = new ArrayList<>();
+                }
+                ejected.add(new Ejected(i, remaining));
+            }
+        }
+        if (ejected == null) {
+            return instances;
+        }
+        int maxEjected = instances.size() * maxEjectionPercent / 100;
+        if (ejected.size() > maxEjected) {
+            // left out the instances whose ejection ends last
+            ejected.sort(Comparator.comparingLong(Ejected::remaining).reversed());
+            ejected = ejected.subList(0, maxEjected);
+        }
+        boolean[] left = new boolean[instances.size()];
+        for (Ejected e : ejected) {
+            left[e.index] = true;
+        }
+        List<ServiceInstance> admitted = new ArrayList<>(instances.size() - ejected.size());
+        for (int i = 0; i < instances.size(); i++) {
+            if (!left[i]) {
+                admitted.add(instances.get(i));
+            }
+        }
+        return admitted;
+    }
+
+    /**
+     * Ejects the instances whose latency moving average exceeds the latency ratio times the median of the given
+     * instances. Only the instances that completed requests since their last ejection are considered.
+     *
+     * @param instances The instances of a service
+     */
+    void detectLatencyOutliers(List<ServiceInstance> instances) {
+        if (!enabled || latencyRatio <= 0 || instances.size() < minLatencyInstances) {
+            return;
+        }
+        long now = System.nanoTime();
+        List<String> keys = new ArrayList<>(instances.size());
+        List<Double> latencies = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            String key = InstanceStatsRegistry.key(instance.getURI());
+            InstanceStats stats = registry.get(instance.getURI());
+            double latency = stats.getLatencyEwma();
+            if (latency < 0) {
+                continue;
+            }
+            Outlier outlier = outliers.get(key);
+            if (outlier != null && (outlier.isEjected(now) || stats.getCompleted() <= outlier.completedAtEjection)) {
+                continue;
+            }
+            keys.add(key);
+            latencies.add(latency);
+        }
+        if (latencies.size() < minLatencyInstances) {
+            return;
+        }
+        List<Double> sorted = new ArrayList<>(latencies);
+        sorted.sort(null);
+        double median = sorted.get(sorted.size() / 2);
+        for (int i = 0; i < keys.size(); i++) {
+            if (latencies.get(i) > median * latencyRatio) {
+                String key = keys.get(i);
+                eject(key, outliers.computeIfAbsent(key, k -> new Outlier()), EjectionReason.LATENCY);
+            }
+        }
+    }
+
+    /**
+     * Forgets the instances that are no longer tracked by the {@link InstanceStatsRegistry}.
+     */
+    void evictUntracked() {
+        outliers.keySet().removeIf(key -> !registry.isTracked(key));
+    }
+
+    private void eject(String key, Outlier outlier, EjectionReason reason) {
+        long now = System.nanoTime();
+        long ejectionNanos;
+        synchronized (outlier) {
+            if (outlier.isEjected(now)) {
+                return;
+            }
+            if (outlier.ejections > 0 && now - outlier.admittedAt >= maxEjectionNanos) {
+                // stayed admitted long enough to start over
+                outlier.ejections = 0;
+            }
+            outlier.ejections++;
+            ejectionNanos = outlier.ejections > Long.SIZE - 2
+                ? maxEjectionNanos
+                : Math.min(maxEjectionNanos, baseEjectionNanos << (outlier.ejections - 1));
+            if (ejectionNanos < 0) {
+                ejectionNanos = maxEjectionNanos;
+            }
+            outlier.ejected = true;
+            outlier.ejectedUntil = now + ejectionNanos;
+            outlier.consecutiveErrors = 0;
+            outlier.consecutiveConnectFailures = 0;
+            InstanceStats stats = registry.find(URI.create(key));
+            outlier.completedAtEjection = stats != null ? stats.getCompleted() : -1;
+        }
+        ejections.get(reason).increment();
+        Duration ejectionTime = Duration.ofNanos(ejectionNanos);
+        if (LOG.isWarnEnabled()) {
+            LOG.warn("Ejecting instance [{}] from load balancing for {}: {}", key, ejectionTime, reason);
+        }
+        eventPublisher.publishEvent(new InstanceEjectedEvent(URI.create(key), reason, ejectionTime));
+    }
+
+    private static EjectionReason classify(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException) {
+                return EjectionReason.CONSECUTIVE_CONNECT_FAILURES;
+            }
+            if (cause instanceof ReadTimeoutException || cause instanceof TimeoutException) {
+                return EjectionReason.CONSECUTIVE_ERRORS;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * An ejected instance.
+     *
+     * @param index     The index of the instance
+     * @param remaining The remaining ejection time in nanoseconds
+     */
+    private record Ejected(int index, long remaining) {
+    }
+
+    /**
+     * The outlier detection state of an instance, guarded by its own monitor.
+     */
+    private static final class Outlier {
+        private int consecutiveErrors;
+        private int consecutiveConnectFailures;
+        private int ejections;
+        private boolean ejected;
+        private long ejectedUntil;
+        private long admittedAt;
+        private long completedAtEjection = -1;
+
+        private synchronized boolean isEjected(long now) {
+            if (ejected && now - ejectedUntil >= 0) {
+                ejected = false;
+                admittedAt = ejectedUntil;
+            }
+            return ejected;
+        }
+
+        private synchronized long remaining(long now) {
+            return isEjected(now) ? ejectedUntil - now : -1;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.discovery.ServiceInstance;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Leaves out the instances of a service ejected by the {@link OutlierDetector}, and detects the latency outliers of
+ * the service once per interval.
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class OutlierFilter implements InstanceFilter {
+
+    private final OutlierDetector detector;
+    private final long intervalNanos;
+    private final AtomicLong lastDetection;
+
+    /**
+     * @param detector The outlier detector
+     * @param interval The interval between two detections of the latency outliers, in nanoseconds
+     */
+    OutlierFilter(OutlierDetector detector, long interval) {
+        this.detector = detector;
+        this.intervalNanos = interval;
+        this.lastDetection = new AtomicLong(System.nanoTime());
+    }
+
+    @Override
+    public List<ServiceInstance> filter(List<ServiceInstance> instances) {
+        long now = System.nanoTime();
+        long last = lastDetection.get();
+        if (now - last >= intervalNanos && lastDetection.compareAndSet(last, now)) {
+            detector.detectLatencyOutliers(instances);
+        }
+        return detector.filter(instances);
+    }
+}
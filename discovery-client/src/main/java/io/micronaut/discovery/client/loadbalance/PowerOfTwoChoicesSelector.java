@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.discovery.ServiceInstance;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Picks two distinct instances at random and selects the less loaded one, which avoids both the herding of always
+ * selecting the least loaded instance and the uneven load of selecting at random.
+ *
+ * <p>The load of an instance is its latency moving average multiplied by its number of requests in flight plus one.
+ * An instance without latency samples yet is assumed to be as fast as the other candidate, and when neither has
+ * samples the candidate with fewer requests in flight is selected. The load is divided by the capacity factor of the
+ * instance, which is lower than 1 while a new instance ramps up.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class PowerOfTwoChoicesSelector implements InstanceSelector {
+
+    private static final double MIN_CAPACITY = 0.001;
+
+    private final InstanceStatsRegistry registry;
+    private final ToDoubleFunction<ServiceInstance> capacity;
+
+    /**
+     * @param registry The instance statistics
+     * @param capacity The capacity factor of each instance, 1 for full capacity
+     */
+    PowerOfTwoChoicesSelector(InstanceStatsRegistry registry, ToDoubleFunction<ServiceInstance> capacity) {
+        this.registry = registry;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public ServiceInstance select(List<ServiceInstance> instances) {
+        int size = instances.size();
+        if (size == 1) {
+            return instances.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        InstanceStats statsA = registry.get(a.getURI());
+        InstanceStats statsB = registry.get(b.getURI());
+        double latencyA = statsA.getLatencyEwma();
+        double latencyB = statsB.getLatencyEwma();
+        if (latencyA < 0 && latencyB < 0) {
+            // no samples, only the requests in flight tell the candidates apart
+            latencyA = 1;
+            latencyB = 1;
+        } else if (latencyA < 0) {
+            latencyA = latencyB;
+        } else if (latencyB < 0) {
+            latencyB = latencyA;
+        }
+        double loadA = latencyA * (statsA.getInFlight() + 1) / capacity(a);
+        double loadB = latencyB * (statsB.getInFlight() + 1) / capacity(b);
+        return loadA <= loadB ? a : b;
+    }
+
+    private double capacity(ServiceInstance instance) {
+        // never divide by zero
+        return Math.max(MIN_CAPACITY, capacity.applyAsDouble(instance));
+    }
+}
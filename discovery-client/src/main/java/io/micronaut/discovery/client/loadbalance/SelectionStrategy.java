@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+/**
+ * How a {@link DiscoveryLoadBalancer} selects an instance among the available instances of a service.
+ *
+ * @since 4.6.0
+ */
+public enum SelectionStrategy {
+
+    /**
+     * The instances are selected in turn.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * The instances are selected at random, in proportion to their weight.
+     */
+    WEIGHTED_RANDOM,
+
+    /**
+     * The instances are selected in turn, in proportion to their weight, with the selections of each instance
+     * spread evenly over time (smooth weighted round robin).
+     */
+    WEIGHTED_ROUND_ROBIN,
+
+    /**
+     * The less loaded of two instances picked at random is selected, the load being measured from the requests in
+     * flight and the latency moving average of each instance.
+     */
+    POWER_OF_TWO_CHOICES
+}
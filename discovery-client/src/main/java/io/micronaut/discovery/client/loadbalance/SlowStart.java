@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.discovery.ServiceInstance;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ramps up the traffic of the instances that join a service, while their caches and JIT warm up.
+ *
+ * <p>As a stage of a {@link DiscoveryLoadBalancer}, it leaves the instances as they are but compares each instance
+ * list with the previous one: the instances missing from the previous list are new, and their selection weight is
+ * multiplied by a factor that grows from the min weight ratio to 1 over the slow start window. The instances of the
+ * first list are considered warm, so that a client starting up does not ramp up every instance.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class SlowStart implements InstanceFilter {
+
+    private static final long WARM = Long.MIN_VALUE;
+
+    private final long windowNanos;
+    private final double minWeightRatio;
+    private final double aggression;
+    private final Map<String, Long> firstSeen = new HashMap<>();
+    private volatile Map<String, Long> rampingUp = Map.of();
+    private List<ServiceInstance> previous;
+
+    /**
+     * @param configuration The slow start configuration
+     */
+    SlowStart(LoadBalancerConfiguration.SlowStartConfiguration configuration) {
+        this.windowNanos = configuration.getWindow().toNanos();
+        this.minWeightRatio = configuration.getMinWeightRatio();
+        this.aggression = configuration.getAggression();
+    }
+
+    @Override
+    public List<ServiceInstance> filter(List<ServiceInstance> instances) {
+        observe(instances);
+        return instances;
+    }
+
+    /**
+     * @param instance The instance
+     * @return The factor to multiply the selection weight of the instance by, between the min weight ratio and 1
+     */
+    double factor(ServiceInstance instance) {
+        Map<String, Long> rampingUp = this.rampingUp;
+        if (rampingUp.isEmpty()) {
+            return 1;
+        }
+        Long since = rampingUp.get(instance.getURI().toString());
+        if (since == null) {
+            return 1;
+        }
+        long elapsed = System.nanoTime() - since;
+        if (elapsed >= windowNanos) {
+            return 1;
+        }
+        double progress = Math.pow((double) Math.max(0, elapsed) / windowNanos, 1 / aggression);
+        return Math.max(minWeightRatio, progress);
+    }
+
+    private synchronized void observe(List<ServiceInstance> instances) {
+        if (instances == previous) {
+            // the discovery client returned the same snapshot
+            return;
+        }
+        boolean first = previous == null;
+        previous = instances;
+        long now = System.nanoTime();
+        Map<String, Long> current = new HashMap<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            String key = instance.getURI().toString();
+            Long since = firstSeen.get(key);
+            if (since == null) {
+                since = first ? WARM : now;
+            }
+            current.put(key, since);
+        }
+        // the instances that left are new again if they come back
+        firstSeen.clear();
+        firstSeen.putAll(current);
+        Map<String, Long> ramping = new HashMap<>();
+        for (Map.Entry<String, Long> entry : current.entrySet()) {
+            if (entry.getValue() != WARM && now - entry.getValue() < windowNanos) {
+                ramping.put(entry.getKey(), entry.getValue());
+            }
+        }
+        rampingUp = ramping;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.discovery.ServiceInstance;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Selects the instances in turn, in proportion to their weight, using smooth weighted round robin: on each
+ * selection every instance gains its weight, the instance with the highest current weight is selected and loses the
+ * total weight. An instance with weight 5 among two instances with weight 1 is selected as {@code a a b a c a a}
+ * rather than {@code a a a a a b c}. When no instance has a positive weight, the instances are selected uniformly.
+ *
+ * <p>The current weights are keyed by instance URI and kept across selections, so they survive changes of the
+ * instance list.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class SmoothWeightedRoundRobinSelector implements InstanceSelector {
+
+    private final ToDoubleFunction<ServiceInstance> weights;
+    private final Map<String, Double> currentWeights = new HashMap<>();
+
+    /**
+     * @param weights The weight of each instance
+     */
+    SmoothWeightedRoundRobinSelector(ToDoubleFunction<ServiceInstance> weights) {
+        this.weights = weights;
+    }
+
+    @Override
+    public synchronized ServiceInstance select(List<ServiceInstance> instances) {
+        int size = instances.size();
+        double[] instanceWeights = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            instanceWeights[i] = weights.applyAsDouble(instances.get(i));
+            total += instanceWeights[i];
+        }
+        if (total <= 0) {
+            // no instance has a positive weight, select them uniformly
+            Arrays.fill(instanceWeights, 1);
+            total = size;
+        }
+        ServiceInstance selected = null;
+        String selectedKey = null;
+        double selectedWeight = 0;
+        for (int i = 0; i < size; i++) {
+            ServiceInstance instance = instances.get(i);
+            String key = instance.getURI().toString();
+            double current = currentWeights.merge(key, instanceWeights[i], Double::sum);
+            if (selected == null || current > selectedWeight) {
+                selected = instance;
+                selectedKey = key;
+                selectedWeight = current;
+            }
+        }
+        currentWeights.put(selectedKey, selectedWeight - total);
+        if (currentWeights.size() > 2 * instances.size()) {
+            // forget the instances that are gone
+            Set<String> keys = new HashSet<>(instances.size());
+            for (ServiceInstance instance : instances) {
+                keys.add(instance.getURI().toString());
+            }
+            currentWeights.keySet().retainAll(keys);
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.discovery.ServiceInstance;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Parses the {@link InstanceWeights weights} of the instances of a service once per instance list, rather than on
+ * every selection.
+ *
+ * <p>As a stage of a {@link DiscoveryLoadBalancer}, it sees the complete instance lists and leaves them as they are.
+ * The weights are parsed again only when the list is not the list seen last, and are looked up by instance identity,
+ * since the later stages only leave instances out. An instance missing from the last list is parsed on the spot.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class SnapshotWeights implements InstanceFilter, ToDoubleFunction<ServiceInstance> {
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), Map.of());
+
+    @Override
+    public List<ServiceInstance> filter(List<ServiceInstance> instances) {
+        if (instances != snapshot.instances) {
+            Map<ServiceInstance, Double> weights = new IdentityHashMap<>(instances.size());
+            for (ServiceInstance instance : instances) {
+                weights.put(instance, InstanceWeights.weight(instance));
+            }
+            snapshot = new Snapshot(instances, weights);
+        }
+        return instances;
+    }
+
+    @Override
+    public double applyAsDouble(ServiceInstance instance) {
+        Double weight = snapshot.weights.get(instance);
+        return weight != null ? weight : InstanceWeights.weight(instance);
+    }
+
+    /**
+     * The weights of an instance list.
+     *
+     * @param instances The instance list
+     * @param weights   The weight of each instance
+     */
+    private record Snapshot(List<ServiceInstance> instances, Map<ServiceInstance, Double> weights) {
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.health.HealthStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a stable subset of the instances of a service for this client, so that the number of connections of each
+ * client stays bounded however many instances the service has.
+ *
+ * <p>The subset is chosen by rendezvous hashing: every instance is ranked by a hash of the ID of this client and of
+ * the instance, and the highest ranked instances that are not down are kept. Each client ranks the instances
+ * differently, which spreads the clients evenly, and an instance that joins or leaves the service changes at most one
+ * instance of each subset.</p>
+ *
+ * <p>The subset is only selected again when the instances change. The filters that run before this one, such as
+ * outlier ejection, may return a new list on every call, so the instances are compared one by one rather than by
+ * list.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class SubsettingFilter implements InstanceFilter {
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private final int size;
+    private final Supplier<String> clientId;
+    private volatile Subset subset;
+
+    /**
+     * @param configuration The subsetting configuration
+     * @param clientId      Supplies the ID of this client
+     */
+    SubsettingFilter(LoadBalancerConfiguration.SubsettingConfiguration configuration, Supplier<String> clientId) {
+        this.size = configuration.getSize();
+        this.clientId = clientId;
+    }
+
+    @Override
+    public List<ServiceInstance> filter(List<ServiceInstance> instances) {
+        if (instances.size() <= size) {
+            return instances;
+        }
+        String clientId = this.clientId.get();
+        Subset subset = this.subset;
+        if (subset != null && subset.clientId.equals(clientId) && sameInstances(subset.instances, instances)) {
+            // the same instances, in a list that may have been rebuilt by the previous filters
+            return subset.subset;
+        }
+        List<ServiceInstance> selected = select(clientId, instances);
+        this.subset = new Subset(instances, clientId, selected);
+        return selected;
+    }
+
+    /**
+     * Compares the instances by identity, which takes a single pass and, unlike equality, does not depend on how
+     * each {@link ServiceInstance} implementation compares.
+     */
+    private static boolean sameInstances(List<ServiceInstance> previous, List<ServiceInstance> instances) {
+        if (previous == instances) {
+            return true;
+        }
+        int size = previous.size();
+        if (size != instances.size()) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (previous.get(i) != instances.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<ServiceInstance> select(String clientId, List<ServiceInstance> instances) {
+        long clientHash = hash(SEED, clientId);
+        List<Ranked> ranked = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            ranked.add(new Ranked(instance, hash(clientHash, instance.getURI().toString())));
+        }
+        ranked.sort(Comparator.comparingLong(Ranked::rank).reversed());
+        List<ServiceInstance> selected = new ArrayList<>(size);
+        for (Ranked candidate : ranked) {
+            if (!HealthStatus.DOWN.equals(candidate.instance.getHealthStatus())) {
+                selected.add(candidate.instance);
+                if (selected.size() == size) {
+                    break;
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * @param seed  The seed
+     * @param value The value
+     * @return A 64-bit hash of the value, mixed with the MurmurHash3 finalizer
+     */
+    static long hash(long seed, String value) {
+        long hash = seed;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xFF)) * 0x100000001B3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * An instance and its rank for this client.
+     *
+     * @param instance The instance
+     * @param rank     The rank
+     */
+    private record Ranked(ServiceInstance instance, long rank) {
+    }
+
+    /**
+     * The subset selected from an instance list.
+     *
+     * @param instances The instance list
+     * @param clientId  The ID of this client
+     * @param subset    The subset
+     */
+    private record Subset(List<ServiceInstance> instances, String clientId, List<ServiceInstance> subset) {
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.discovery.ServiceInstance;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Selects the instances at random, in proportion to their weight. When no instance has a positive weight, the
+ * instances are selected uniformly.
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class WeightedRandomSelector implements InstanceSelector {
+
+    private final ToDoubleFunction<ServiceInstance> weights;
+
+    /**
+     * @param weights The weight of each instance
+     */
+    WeightedRandomSelector(ToDoubleFunction<ServiceInstance> weights) {
+        this.weights = weights;
+    }
+
+    @Override
+    public ServiceInstance select(List<ServiceInstance> instances) {
+        int size = instances.size();
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += weights.applyAsDouble(instances.get(i));
+            cumulative[i] = total;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (total <= 0) {
+            return instances.get(random.nextInt(size));
+        }
+        double point = random.nextDouble(total);
+        for (int i = 0; i < size; i++) {
+            if (point < cumulative[i]) {
+                return instances.get(i);
+            }
+        }
+        return instances.get(size - 1);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.health.HealthStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the instances of the zone of this client, unless the zone runs short of healthy instances, in which case
+ * traffic spills over to all the zones.
+ *
+ * <p>The health of the zone is measured against the instances the discovery client returns, so a zone is only seen
+ * as unhealthy when the discovery client returns its unhealthy instances too, as Consul does unless
+ * {@code consul.client.discovery.passing} is set. Otherwise spilling over relies on
+ * {@link LoadBalancerConfiguration.ZoneAffinityConfiguration#getMinHealthyInstances()}. When it runs after the
+ * {@link AvailableInstances} stage, the down instances are counted from the complete instance list.</p>
+ *
+ * <p>The instances are split again only when the list is not the list seen last.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class ZoneAffinityFilter implements InstanceFilter {
+
+    private final String zone;
+    private final double minHealthyRatio;
+    private final int minHealthyInstances;
+    @Nullable
+    private final AvailableInstances available;
+    private volatile Split split = new Split(List.of(), List.of(), List.of());
+
+    /**
+     * @param zone          The zone of this client
+     * @param configuration The zone affinity configuration
+     */
+    ZoneAffinityFilter(String zone, LoadBalancerConfiguration.ZoneAffinityConfiguration configuration) {
+        this(zone, configuration, null);
+    }
+
+    /**
+     * @param zone          The zone of this client
+     * @param configuration The zone affinity configuration
+     * @param available     The stage that left out the down instances before this one, if any
+     */
+    ZoneAffinityFilter(String zone, LoadBalancerConfiguration.ZoneAffinityConfiguration configuration, @Nullable AvailableInstances available) {
+        this.zone = zone;
+        this.minHealthyRatio = configuration.getMinHealthyRatio();
+        this.minHealthyInstances = configuration.getMinHealthyInstances();
+        this.available = available;
+    }
+
+    @Override
+    public List<ServiceInstance> filter(List<ServiceInstance> instances) {
+        List<ServiceInstance> complete = available != null ? available.complete(instances) : instances;
+        Split split = this.split;
+        if (instances == split.instances && complete == split.complete) {
+            return split.selected;
+        }
+        List<ServiceInstance> selected = select(instances, complete);
+        this.split = new Split(complete, instances, selected);
+        return selected;
+    }
+
+    private List<ServiceInstance> select(List<ServiceInstance> instances, List<ServiceInstance> complete) {
+        List<ServiceInstance> local = new ArrayList<>(instances.size());
+        int healthy = 0;
+        for (ServiceInstance instance : instances) {
+            if (isLocal(instance)) {
+                local.add(instance);
+                if (!HealthStatus.DOWN.equals(instance.getHealthStatus())) {
+                    healthy++;
+                }
+            }
+        }
+        int total = local.size();
+        if (complete != instances) {
+            total = 0;
+            for (ServiceInstance instance : complete) {
+                if (isLocal(instance)) {
+                    total++;
+                }
+            }
+        }
+        if (healthy == 0 || healthy < minHealthyInstances || healthy < minHealthyRatio * total) {
+            // not enough capacity left in the zone
+            return instances;
+        }
+        return local;
+    }
+
+    private boolean isLocal(ServiceInstance instance) {
+        return instance.getZone().filter(zone::equals).isPresent();
+    }
+
+    /**
+     * The instances of the zone of this client, or all the instances, for an instance list.
+     *
+     * @param complete  The complete instance list
+     * @param instances The instances this stage received
+     * @param selected  The instances this stage returned
+     */
+    private record Split(List<ServiceInstance> complete, List<ServiceInstance> instances, List<ServiceInstance> selected) {
+    }
+}
@@ -18,11 +18,16 @@ package io.micronaut.discovery.consul;
 import io.micronaut.context.annotation.BootstrapContextCompatible;
 import io.micronaut.context.annotation.ConfigurationProperties;
 import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.Toggleable;
 import io.micronaut.discovery.DiscoveryConfiguration;
 import io.micronaut.discovery.client.DiscoveryClientConfiguration;
+import io.micronaut.discovery.client.HealthResultCacheConfiguration;
+import io.micronaut.discovery.client.ServiceInstanceCacheConfiguration;
 import io.micronaut.discovery.config.ConfigDiscoveryConfiguration;
+import io.micronaut.discovery.consul.client.v1.ConsistencyMode;
 import io.micronaut.discovery.consul.client.v1.ConsulClient;
+import io.micronaut.discovery.consul.client.v1.ConsulWeights;
 import io.micronaut.discovery.consul.condition.RequiresConsul;
 import io.micronaut.discovery.registration.RegistrationConfiguration;
 import io.micronaut.http.HttpMethod;
@@ -60,6 +65,7 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
     private ConsulRegistrationConfiguration registration = new ConsulRegistrationConfiguration();
     private ConsulDiscoveryConfiguration discovery = new ConsulDiscoveryConfiguration();
     private ConsulConfigDiscoveryConfiguration configuration = new ConsulConfigDiscoveryConfiguration();
+    private ConsulHealthIndicatorConfiguration healthIndicator = new ConsulHealthIndicatorConfiguration();
 
     /**
      * Default Consult configuration.
@@ -98,6 +104,24 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
         this.healthCheck = healthCheck;
     }
 
+    /**
+     * @return The configuration of the Consul health indicator
+     * @see io.micronaut.discovery.consul.health.ConsulHealthIndicator
+     */
+    public ConsulHealthIndicatorConfiguration getHealthIndicator() {
+        return healthIndicator;
+    }
+
+    /**
+     * @param healthIndicator The configuration of the Consul health indicator
+     */
+    @Inject
+    public void setHealthIndicator(ConsulHealthIndicatorConfiguration healthIndicator) {
+        if (healthIndicator != null) {
+            this.healthIndicator = healthIndicator;
+        }
+    }
+
     @Override
     public ConnectionPoolConfiguration getConnectionPoolConfiguration() {
         return consulConnectionPoolConfiguration;
@@ -184,9 +208,18 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
             "aslToken='" + aslToken + '\'' +
             ", registration=" + registration +
             ", discovery=" + discovery +
+            ", healthIndicator=" + healthIndicator +
             "} " + super.toString();
     }
 
+    /**
+     * Configuration for serving a cached result from the Consul health indicator, refreshed in the background.
+     */
+    @ConfigurationProperties("health-indicator")
+    @BootstrapContextCompatible
+    public static class ConsulHealthIndicatorConfiguration extends HealthResultCacheConfiguration {
+    }
+
     /**
      * Configuration class for Consul client config.
      */
@@ -201,6 +234,9 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
         public static final String PREFIX = ConsulConfiguration.PREFIX + "." + ConfigDiscoveryConfiguration.PREFIX;
 
         private String datacenter;
+        private boolean streaming;
+        private ConsistencyMode consistencyMode = ConsistencyMode.DEFAULT;
+        private ConfigWatchConfiguration watch = new ConfigWatchConfiguration();
 
         /**
          * The data center to use to read configuration.
@@ -217,6 +253,148 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
         public void setDatacenter(String datacenter) {
             this.datacenter = datacenter;
         }
+
+        /**
+         * Whether the key/value store is read as a stream and parsed incrementally, rather than being read as a
+         * whole before it is parsed. Lowers the memory used to read large configuration trees.
+         *
+         * @return True if the key/value store is streamed (defaults to false)
+         * @since 4.6.0
+         */
+        public boolean isStreaming() {
+            return streaming;
+        }
+
+        /**
+         * @param streaming Whether the key/value store is read as a stream and parsed incrementally
+         * @since 4.6.0
+         */
+        public void setStreaming(boolean streaming) {
+            this.streaming = streaming;
+        }
+
+        /**
+         * The consistency mode of the key/value store reads. The key/value store does not support agent caching, so
+         * {@link ConsistencyMode#CACHED} reads are {@link ConsistencyMode#STALE} reads.
+         *
+         * @return The consistency mode (defaults to {@link ConsistencyMode#DEFAULT})
+         * @since 4.6.0
+         */
+        public ConsistencyMode getConsistencyMode() {
+            return consistencyMode;
+        }
+
+        /**
+         * @param consistencyMode The consistency mode of the key/value store reads
+         * @since 4.6.0
+         */
+        public void setConsistencyMode(ConsistencyMode consistencyMode) {
+            if (consistencyMode != null) {
+                this.consistencyMode = consistencyMode;
+            }
+        }
+
+        /**
+         * @return The settings for watching the configuration with blocking queries
+         * @since 4.6.0
+         */
+        public ConfigWatchConfiguration getWatch() {
+            return watch;
+        }
+
+        /**
+         * @param watch The settings for watching the configuration with blocking queries
+         * @since 4.6.0
+         */
+        public void setWatch(ConfigWatchConfiguration watch) {
+            if (watch != null) {
+                this.watch = watch;
+            }
+        }
+
+        /**
+         * Configuration for refreshing the configuration as soon as it changes in Consul, using
+         * <a href="https://developer.hashicorp.com/consul/api-docs/features/blocking">blocking queries</a>.
+         */
+        @ConfigurationProperties("watch")
+        @BootstrapContextCompatible
+        public static class ConfigWatchConfiguration implements Toggleable {
+
+            /**
+             * The default enable value.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final boolean DEFAULT_ENABLED = false;
+
+            /**
+             * The default wait minutes.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final int DEFAULT_WAIT_MINUTES = 5;
+
+            /**
+             * The default retry delay seconds.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final int DEFAULT_RETRY_DELAY_SECONDS = 5;
+
+            private boolean enabled = DEFAULT_ENABLED;
+            private Duration wait = Duration.ofMinutes(DEFAULT_WAIT_MINUTES);
+            private Duration retryDelay = Duration.ofSeconds(DEFAULT_RETRY_DELAY_SECONDS);
+
+            /**
+             * @return Whether the configuration is refreshed when it changes in Consul
+             */
+            @Override
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_ENABLED}).
+             * @param enabled Whether the configuration is refreshed when it changes in Consul
+             */
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            /**
+             * The maximum duration a blocking query waits for a change, capped at three quarters of the client read
+             * timeout.
+             *
+             * @return The maximum duration of a blocking query
+             */
+            public Duration getWait() {
+                return wait;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_WAIT_MINUTES} minutes).
+             * @param wait The maximum duration of a blocking query
+             */
+            public void setWait(Duration wait) {
+                if (wait != null) {
+                    this.wait = wait;
+                }
+            }
+
+            /**
+             * @return The delay before a failed watch is retried, or before polling again when Consul returns no index
+             */
+            public Duration getRetryDelay() {
+                return retryDelay;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_RETRY_DELAY_SECONDS} seconds).
+             * @param retryDelay The delay before a failed watch is retried
+             */
+            public void setRetryDelay(Duration retryDelay) {
+                if (retryDelay != null) {
+                    this.retryDelay = retryDelay;
+                }
+            }
+        }
     }
 
     /**
@@ -231,6 +409,14 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
         private Map<String, String> schemes = Collections.emptyMap();
         private Map<String, String> datacenters = Collections.emptyMap();
         private boolean passing = false;
+        private ConsistencyMode consistencyMode = ConsistencyMode.DEFAULT;
+        private Map<String, ConsistencyMode> consistencyModes = Collections.emptyMap();
+        private Duration cacheMaxAge;
+        private String near;
+        private CoordinatesConfiguration coordinates = new CoordinatesConfiguration();
+        private WatchConfiguration watch = new WatchConfiguration();
+        private CacheConfiguration cache = new CacheConfiguration();
+        private DnsConfiguration dns = new DnsConfiguration();
 
         /**
          * Whether services that are not passing health checks should be returned.
@@ -300,14 +486,556 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
             this.schemes = schemes;
         }
 
+        /**
+         * The consistency mode of the service lookups, for the services without a mode in
+         * {@link #getConsistencyModes()}.
+         *
+         * @return The consistency mode (defaults to {@link ConsistencyMode#DEFAULT})
+         * @since 4.6.0
+         */
+        public ConsistencyMode getConsistencyMode() {
+            return consistencyMode;
+        }
+
+        /**
+         * @param consistencyMode The consistency mode of the service lookups
+         * @since 4.6.0
+         */
+        public void setConsistencyMode(ConsistencyMode consistencyMode) {
+            if (consistencyMode != null) {
+                this.consistencyMode = consistencyMode;
+            }
+        }
+
+        /**
+         * A map of service ID to the consistency mode of its lookups.
+         *
+         * @return The consistency modes
+         * @since 4.6.0
+         */
+        public Map<String, ConsistencyMode> getConsistencyModes() {
+            return consistencyModes;
+        }
+
+        /**
+         * @param consistencyModes The service ID to consistency mode
+         * @since 4.6.0
+         */
+        public void setConsistencyModes(Map<String, ConsistencyMode> consistencyModes) {
+            if (consistencyModes != null) {
+                this.consistencyModes = consistencyModes;
+            }
+        }
+
+        /**
+         * @param serviceId The service ID
+         * @return The consistency mode of the lookups of the service
+         * @since 4.6.0
+         */
+        public ConsistencyMode getConsistencyMode(String serviceId) {
+            return consistencyModes.getOrDefault(serviceId, consistencyMode);
+        }
+
+        /**
+         * The maximum age of the results served from the agent cache, for the {@link ConsistencyMode#CACHED} mode.
+         *
+         * @return The maximum age, empty to use the default of the agent
+         * @since 4.6.0
+         */
+        public Optional<Duration> getCacheMaxAge() {
+            return Optional.ofNullable(cacheMaxAge);
+        }
+
+        /**
+         * @param cacheMaxAge The maximum age of the results served from the agent cache
+         * @since 4.6.0
+         */
+        public void setCacheMaxAge(Duration cacheMaxAge) {
+            this.cacheMaxAge = cacheMaxAge;
+        }
+
+        /**
+         * The node to sort the instances of each service by estimated round trip time from, {@code _agent} for the
+         * local agent. Consul sorts the instances of both lookups and watches.
+         *
+         * @return The node, empty to keep the order of Consul
+         * @since 4.6.0
+         */
+        public Optional<String> getNear() {
+            return Optional.ofNullable(near);
+        }
+
+        /**
+         * @param near The node to sort the instances of each service by estimated round trip time from
+         * @since 4.6.0
+         */
+        public void setNear(String near) {
+            this.near = near;
+        }
+
+        /**
+         * @return The settings for estimating the round trip time to each instance from network coordinates
+         * @since 4.6.0
+         */
+        public CoordinatesConfiguration getCoordinates() {
+            return coordinates;
+        }
+
+        /**
+         * @param coordinates The settings for estimating the round trip time to each instance from network
+         *                    coordinates
+         * @since 4.6.0
+         */
+        public void setCoordinates(CoordinatesConfiguration coordinates) {
+            if (coordinates != null) {
+                this.coordinates = coordinates;
+            }
+        }
+
+        /**
+         * @return The settings for watching service instances with blocking queries
+         */
+        public WatchConfiguration getWatch() {
+            return watch;
+        }
+
+        /**
+         * @param watch The settings for watching service instances with blocking queries
+         */
+        public void setWatch(WatchConfiguration watch) {
+            if (watch != null) {
+                this.watch = watch;
+            }
+        }
+
+        /**
+         * @return The settings for caching the instances of each service
+         */
+        public CacheConfiguration getCache() {
+            return cache;
+        }
+
+        /**
+         * @param cache The settings for caching the instances of each service
+         */
+        public void setCache(CacheConfiguration cache) {
+            if (cache != null) {
+                this.cache = cache;
+            }
+        }
+
+        /**
+         * @return The settings for resolving service instances from the Consul DNS interface
+         * @since 4.6.0
+         */
+        public DnsConfiguration getDns() {
+            return dns;
+        }
+
+        /**
+         * @param dns The settings for resolving service instances from the Consul DNS interface
+         * @since 4.6.0
+         */
+        public void setDns(DnsConfiguration dns) {
+            if (dns != null) {
+                this.dns = dns;
+            }
+        }
+
         @Override
         public String toString() {
             return "ConsulDiscoveryConfiguration{" +
                 "tags=" + tags +
                 ", datacenters=" + datacenters +
                 ", passing=" + passing +
+                ", consistencyMode=" + consistencyMode +
+                ", consistencyModes=" + consistencyModes +
+                ", cacheMaxAge=" + cacheMaxAge +
+                ", near=" + near +
+                ", coordinates=" + coordinates +
+                ", watch=" + watch +
+                ", cache=" + cache +
+                ", dns=" + dns +
                 '}';
         }
+
+        /**
+         * Configuration for keeping a local copy of the service instances current with Consul
+         * <a href="https://developer.hashicorp.com/consul/api-docs/features/blocking">blocking queries</a>.
+         */
+        @ConfigurationProperties("watch")
+        @BootstrapContextCompatible
+        public static class WatchConfiguration implements Toggleable {
+
+            /**
+             * The default enable value.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final boolean DEFAULT_ENABLED = false;
+
+            /**
+             * The default wait minutes.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final int DEFAULT_WAIT_MINUTES = 5;
+
+            /**
+             * The default retry delay seconds.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final int DEFAULT_RETRY_DELAY_SECONDS = 1;
+
+            /**
+             * The default idle timeout minutes.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final int DEFAULT_IDLE_TIMEOUT_MINUTES = 10;
+
+            private boolean enabled = DEFAULT_ENABLED;
+            private Duration wait = Duration.ofMinutes(DEFAULT_WAIT_MINUTES);
+            private Duration retryDelay = Duration.ofSeconds(DEFAULT_RETRY_DELAY_SECONDS);
+            private Duration idleTimeout = Duration.ofMinutes(DEFAULT_IDLE_TIMEOUT_MINUTES);
+
+            /**
+             * @return Whether service instances are served from a local copy kept current with blocking queries
+             */
+            @Override
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_ENABLED}).
+             * @param enabled Whether service instances are served from a local copy kept current with blocking queries
+             */
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            /**
+             * The maximum duration a blocking query waits for a change. Consul adds up to {@code wait / 16} of jitter,
+             * so the value is capped at three quarters of the client read timeout.
+             *
+             * @return The maximum duration of a blocking query
+             */
+            public Duration getWait() {
+                return wait;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_WAIT_MINUTES} minutes).
+             * @param wait The maximum duration of a blocking query
+             */
+            public void setWait(Duration wait) {
+                if (wait != null) {
+                    this.wait = wait;
+                }
+            }
+
+            /**
+             * @return The delay before a failed watch is retried, or before polling again when Consul returns no index
+             */
+            public Duration getRetryDelay() {
+                return retryDelay;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_RETRY_DELAY_SECONDS} second).
+             * @param retryDelay The delay before a failed watch is retried
+             */
+            public void setRetryDelay(Duration retryDelay) {
+                if (retryDelay != null) {
+                    this.retryDelay = retryDelay;
+                }
+            }
+
+            /**
+             * The duration after which the watch of a service that was not looked up is stopped. The watch is stopped
+             * when its next query is due, and the next lookup of the service starts a new one.
+             *
+             * @return The duration after which a watch that is not read is stopped
+             */
+            public Duration getIdleTimeout() {
+                return idleTimeout;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_IDLE_TIMEOUT_MINUTES} minutes).
+             * @param idleTimeout The duration after which a watch that is not read is stopped
+             */
+            public void setIdleTimeout(Duration idleTimeout) {
+                if (idleTimeout != null) {
+                    this.idleTimeout = idleTimeout;
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "WatchConfiguration{" +
+                    "enabled=" + enabled +
+                    ", wait=" + wait +
+                    ", retryDelay=" + retryDelay +
+                    ", idleTimeout=" + idleTimeout +
+                    '}';
+            }
+        }
+
+        /**
+         * Configuration for caching the instances of each service, with stale while revalidate and stale if error.
+         */
+        @ConfigurationProperties("cache")
+        @BootstrapContextCompatible
+        public static class CacheConfiguration extends ServiceInstanceCacheConfiguration {
+        }
+
+        /**
+         * Configuration for estimating the round trip time from the local agent to each instance from the Consul
+         * <a href="https://developer.hashicorp.com/consul/docs/architecture/coordinates">network coordinates</a>, and
+         * sorting the instances nearest first.
+         */
+        @ConfigurationProperties("coordinates")
+        @BootstrapContextCompatible
+        public static class CoordinatesConfiguration implements Toggleable {
+
+            /**
+             * The default enable value.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final boolean DEFAULT_ENABLED = false;
+
+            /**
+             * The default refresh interval seconds.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final int DEFAULT_REFRESH_INTERVAL_SECONDS = 30;
+
+            private boolean enabled = DEFAULT_ENABLED;
+            private Duration refreshInterval = Duration.ofSeconds(DEFAULT_REFRESH_INTERVAL_SECONDS);
+
+            /**
+             * @return Whether the round trip time to each instance is estimated
+             */
+            @Override
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_ENABLED}).
+             * @param enabled Whether the round trip time to each instance is estimated
+             */
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            /**
+             * @return The interval at which the network coordinates are read again
+             */
+            public Duration getRefreshInterval() {
+                return refreshInterval;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_REFRESH_INTERVAL_SECONDS} seconds).
+             * @param refreshInterval The interval at which the network coordinates are read again
+             */
+            public void setRefreshInterval(Duration refreshInterval) {
+                if (refreshInterval != null) {
+                    this.refreshInterval = refreshInterval;
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "CoordinatesConfiguration{" +
+                    "enabled=" + enabled +
+                    ", refreshInterval=" + refreshInterval +
+                    '}';
+            }
+        }
+
+        /**
+         * Configuration for resolving the instances of each service with SRV lookups against the Consul
+         * <a href="https://developer.hashicorp.com/consul/docs/services/discovery/dns-overview">DNS interface</a>
+         * instead of the HTTP API. The instances carry no metadata other than their weight.
+         *
+         * @since 4.6.0
+         */
+        @ConfigurationProperties("dns")
+        @BootstrapContextCompatible
+        public static class DnsConfiguration implements Toggleable {
+
+            /**
+             * The default enable value.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final boolean DEFAULT_ENABLED = false;
+
+            /**
+             * The default DNS port.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final int DEFAULT_PORT = 8600;
+
+            /**
+             * The default domain.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final String DEFAULT_DOMAIN = "consul";
+
+            /**
+             * The default time to live seconds.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final int DEFAULT_TTL_SECONDS = 10;
+
+            /**
+             * The default max staleness minutes.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final int DEFAULT_MAX_STALENESS_MINUTES = 1;
+
+            /**
+             * The default timeout milliseconds.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final int DEFAULT_TIMEOUT_MILLIS = 1000;
+
+            private boolean enabled = DEFAULT_ENABLED;
+            private String host;
+            private int port = DEFAULT_PORT;
+            private String domain = DEFAULT_DOMAIN;
+            private Duration ttl = Duration.ofSeconds(DEFAULT_TTL_SECONDS);
+            private Duration maxStaleness = Duration.ofMinutes(DEFAULT_MAX_STALENESS_MINUTES);
+            private Duration timeout = Duration.ofMillis(DEFAULT_TIMEOUT_MILLIS);
+
+            /**
+             * @return Whether service instances are resolved from the Consul DNS interface
+             */
+            @Override
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_ENABLED}).
+             * @param enabled Whether service instances are resolved from the Consul DNS interface
+             */
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            /**
+             * @return The host of the DNS interface, empty to use the host of the Consul agent
+             */
+            public Optional<String> getHost() {
+                return Optional.ofNullable(host);
+            }
+
+            /**
+             * @param host The host of the DNS interface
+             */
+            public void setHost(@Nullable String host) {
+                this.host = host;
+            }
+
+            /**
+             * @return The port of the DNS interface
+             */
+            public int getPort() {
+                return port;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_PORT}).
+             * @param port The port of the DNS interface
+             */
+            public void setPort(int port) {
+                this.port = port;
+            }
+
+            /**
+             * @return The domain Consul answers DNS queries for
+             */
+            public String getDomain() {
+                return domain;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_DOMAIN}).
+             * @param domain The domain Consul answers DNS queries for
+             */
+            public void setDomain(String domain) {
+                if (domain != null) {
+                    this.domain = domain;
+                }
+            }
+
+            /**
+             * @return The time during which resolved instances are served without being resolved again
+             */
+            public Duration getTtl() {
+                return ttl;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_TTL_SECONDS} seconds).
+             * @param ttl The time during which resolved instances are served without being resolved again
+             */
+            public void setTtl(Duration ttl) {
+                if (ttl != null) {
+                    this.ttl = ttl;
+                }
+            }
+
+            /**
+             * @return How long after expiring resolved instances are still served immediately, while they are resolved
+             * again in the background
+             */
+            public Duration getMaxStaleness() {
+                return maxStaleness;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_MAX_STALENESS_MINUTES} minute).
+             * @param maxStaleness How long after expiring resolved instances are still served
+             */
+            public void setMaxStaleness(Duration maxStaleness) {
+                if (maxStaleness != null) {
+                    this.maxStaleness = maxStaleness;
+                }
+            }
+
+            /**
+             * @return The timeout of a DNS query
+             */
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_TIMEOUT_MILLIS} milliseconds).
+             * @param timeout The timeout of a DNS query
+             */
+            public void setTimeout(Duration timeout) {
+                if (timeout != null) {
+                    this.timeout = timeout;
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "DnsConfiguration{" +
+                    "enabled=" + enabled +
+                    ", host=" + host +
+                    ", port=" + port +
+                    ", domain=" + domain +
+                    ", ttl=" + ttl +
+                    ", maxStaleness=" + maxStaleness +
+                    ", timeout=" + timeout +
+                    '}';
+            }
+        }
     }
 
     /**
@@ -333,6 +1061,7 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
         private List<String> tags = Collections.emptyList();
         private Map<String, String> meta = Collections.emptyMap();
         private CheckConfiguration check = new CheckConfiguration();
+        private WeightsConfiguration weights = new WeightsConfiguration();
 
         /**
          * @return That tags to use for registering the service
@@ -376,12 +1105,31 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
             this.check = check;
         }
 
+        /**
+         * @return The weights of the service
+         * @since 4.6.0
+         */
+        public WeightsConfiguration getWeights() {
+            return weights;
+        }
+
+        /**
+         * @param weights The weights of the service
+         * @since 4.6.0
+         */
+        public void setWeights(WeightsConfiguration weights) {
+            if (weights != null) {
+                this.weights = weights;
+            }
+        }
+
         @Override
         public String toString() {
             return "ConsulRegistrationConfiguration{" +
                 "tags=" + tags +
                 ", meta=" + meta +
                 ", check=" + check +
+                ", weights=" + weights +
                 '}';
         }
 
@@ -563,6 +1311,68 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
                     '}';
             }
         }
+
+        /**
+         * Configuration for the <a href="https://developer.hashicorp.com/consul/api-docs/agent/service#weights">weights</a>
+         * of the service, which weighted load balancing uses to send traffic in proportion to the capacity of each
+         * instance.
+         */
+        @ConfigurationProperties("weights")
+        @BootstrapContextCompatible
+        public static class WeightsConfiguration {
+
+            private Integer passing;
+            private Integer warning;
+
+            /**
+             * @return The weight of the service when its checks are passing, empty to use the Consul default
+             */
+            public Optional<Integer> getPassing() {
+                return Optional.ofNullable(passing);
+            }
+
+            /**
+             * @param passing The weight of the service when its checks are passing
+             */
+            public void setPassing(Integer passing) {
+                this.passing = passing;
+            }
+
+            /**
+             * @return The weight of the service when one of its checks is in the warning state, empty to use the
+             * Consul default
+             */
+            public Optional<Integer> getWarning() {
+                return Optional.ofNullable(warning);
+            }
+
+            /**
+             * @param warning The weight of the service when one of its checks is in the warning state
+             */
+            public void setWarning(Integer warning) {
+                this.warning = warning;
+            }
+
+            /**
+             * @return The weights to register, {@code null} if none is set
+             */
+            @Nullable
+            public ConsulWeights toWeights() {
+                if (passing == null && warning == null) {
+                    return null;
+                }
+                // the Consul defaults
+                return new ConsulWeights(passing != null ? passing : 1, warning != null ? warning : 1);
+            }
+
+            @Override
+            public String toString() {
+                return "WeightsConfiguration{" +
+                    "passing=" + passing +
+                    ", warning=" + warning +
+                    '}';
+            }
+        }
     }
 
 }
@@ -21,11 +21,13 @@ import io.micronaut.core.convert.value.ConvertibleValues;
 import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.client.ServiceInstanceMetadata;
 import io.micronaut.discovery.consul.client.v1.*;
 import io.micronaut.discovery.exceptions.DiscoveryException;
 import io.micronaut.health.HealthStatus;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -41,9 +43,38 @@ import java.util.stream.Stream;
  */
 public class ConsulServiceInstance implements ServiceInstance {
 
+    /**
+     * The metadata entry holding the {@code X-Consul-LastContact} milliseconds of the response the instance was read
+     * from, for stale reads.
+     *
+     * @since 4.6.0
+     */
+    public static final String METADATA_LAST_CONTACT = "consul-last-contact";
+
+    /**
+     * The metadata entry holding the {@code X-Cache} value of the response the instance was read from, for cached
+     * reads.
+     *
+     * @since 4.6.0
+     */
+    public static final String METADATA_CACHE = "consul-cache";
+
+    /**
+     * The metadata entry holding the estimated round trip time in milliseconds from the local agent to the node of
+     * the instance, when network coordinates are enabled.
+     *
+     * @since 4.6.0
+     */
+    public static final String METADATA_RTT = "consul-rtt";
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
     private final ConsulHealthEntry healthEntry;
     private final URI uri;
-    private ConvertibleValues<String> metadata;
+    private final ConsulResponseMetadata responseMetadata;
+    private final Duration rtt;
+    private volatile ConvertibleValues<String> metadata;
+    private volatile HealthStatus healthStatus;
 
     /**
      * Constructs a {@link ConsulServiceInstance} for the given {@link ConsulHealthEntry} and scheme.
@@ -52,8 +83,40 @@ public class ConsulServiceInstance implements ServiceInstance {
      * @param scheme      The scheme
      */
     public ConsulServiceInstance(@NonNull ConsulHealthEntry healthEntry, @Nullable String scheme) {
+        this(healthEntry, scheme, null);
+    }
+
+    /**
+     * Constructs a {@link ConsulServiceInstance} for the given {@link ConsulHealthEntry}, scheme and metadata of the
+     * response the entry was read from.
+     *
+     * @param healthEntry      The health entry
+     * @param scheme           The scheme
+     * @param responseMetadata The metadata of the response
+     * @since 4.6.0
+     */
+    public ConsulServiceInstance(@NonNull ConsulHealthEntry healthEntry, @Nullable String scheme, @Nullable ConsulResponseMetadata responseMetadata) {
+        this(healthEntry, scheme, responseMetadata, null);
+    }
+
+    /**
+     * Constructs a {@link ConsulServiceInstance} for the given {@link ConsulHealthEntry}, scheme, metadata of the
+     * response the entry was read from and estimated round trip time.
+     *
+     * @param healthEntry      The health entry
+     * @param scheme           The scheme
+     * @param responseMetadata The metadata of the response
+     * @param rtt              The estimated round trip time from the local agent to the node of the instance
+     * @since 4.6.0
+     */
+    public ConsulServiceInstance(@NonNull ConsulHealthEntry healthEntry,
+                                 @Nullable String scheme,
+                                 @Nullable ConsulResponseMetadata responseMetadata,
+                                 @Nullable Duration rtt) {
         Objects.requireNonNull(healthEntry, "ConsulHealthEntry cannot be null");
         this.healthEntry = healthEntry;
+        this.responseMetadata = responseMetadata;
+        this.rtt = rtt;
         ConsulServiceEntry service = healthEntry.service();
         Objects.requireNonNull(service, "ConsulHealthEntry cannot reference a null service entry");
         ConsulCatalogEntry node = healthEntry.node();
@@ -81,10 +144,22 @@ public class ConsulServiceInstance implements ServiceInstance {
     public ConsulServiceInstance(@NonNull HealthEntry healthEntry, @Nullable String scheme) {
         this.healthEntry = null;
         this.uri = null;
+        this.responseMetadata = null;
+        this.rtt = null;
     }
 
     @Override
     public HealthStatus getHealthStatus() {
+        HealthStatus healthStatus = this.healthStatus;
+        if (healthStatus == null) {
+            // benign race, the status is derived from immutable state
+            healthStatus = resolveHealthStatus();
+            this.healthStatus = healthStatus;
+        }
+        return healthStatus;
+    }
+
+    private HealthStatus resolveHealthStatus() {
         List<ConsulCheck> checks = healthEntry.checks();
         if (CollectionUtils.isNotEmpty(checks)) {
             Stream<ConsulCheck> criticalStream = checks.stream().filter(c -> c.getStatus().equals(ConsulCheckStatus.CRITICAL.toString()));
@@ -126,17 +201,57 @@ public class ConsulServiceInstance implements ServiceInstance {
         return uri;
     }
 
+    /**
+     * The metadata of the response this instance was read from, available for the lookups with a
+     * {@link ConsistencyMode} other than {@link ConsistencyMode#DEFAULT}.
+     *
+     * @return The metadata of the response
+     * @since 4.6.0
+     */
+    public Optional<ConsulResponseMetadata> getResponseMetadata() {
+        return Optional.ofNullable(responseMetadata);
+    }
+
+    /**
+     * The weight of this instance from the Consul
+     * <a href="https://developer.hashicorp.com/consul/api-docs/agent/service#weights">weights</a> of the service: the
+     * warning weight if one of its checks is in the warning state, the passing weight otherwise. The weight is also
+     * exposed as the {@value ServiceInstanceMetadata#WEIGHT} metadata entry, unless the metadata of the
+     * instance already has one.
+     *
+     * @return The weight, empty if the service has no weights
+     * @since 4.6.0
+     */
+    public Optional<Integer> getWeight() {
+        ConsulWeights weights = healthEntry.service().weights();
+        if (weights == null) {
+            return Optional.empty();
+        }
+        List<ConsulCheck> checks = healthEntry.checks();
+        if (checks != null && checks.stream().anyMatch(c -> ConsulCheckStatus.WARNING.toString().equals(c.getStatus()))) {
+            return Optional.of(weights.warning());
+        }
+        return Optional.of(weights.passing());
+    }
+
+    /**
+     * The estimated round trip time from the local agent to the node of this instance, based on the Consul
+     * <a href="https://developer.hashicorp.com/consul/docs/architecture/coordinates">network coordinates</a>.
+     *
+     * @return The estimated round trip time, empty if network coordinates are not enabled or not known for the node
+     * @since 4.6.0
+     */
+    public Optional<Duration> getRtt() {
+        return Optional.ofNullable(rtt);
+    }
+
     @Override
     public ConvertibleValues<String> getMetadata() {
         ConvertibleValues<String> metadata = this.metadata;
         if (metadata == null) {
-            synchronized (this) { // double check
-                metadata = this.metadata;
-                if (metadata == null) {
-                    metadata = buildMetadata();
-                    this.metadata = metadata;
-                }
-            }
+            // benign race, the metadata is derived from immutable state
+            metadata = buildMetadata();
+            this.metadata = metadata;
         }
         return metadata;
     }
@@ -159,6 +274,20 @@ public class ConsulServiceInstance implements ServiceInstance {
         if (meta != null) {
             map.putAll(meta);
         }
+
+        if (responseMetadata != null) {
+            if (responseMetadata.lastContact() != null) {
+                map.put(METADATA_LAST_CONTACT, String.valueOf(responseMetadata.lastContact().toMillis()));
+            }
+            if (responseMetadata.cacheHit() != null) {
+                map.put(METADATA_CACHE, responseMetadata.cacheHit() ? "HIT" : "MISS");
+            }
+        }
+        if (rtt != null) {
+            map.put(METADATA_RTT, String.valueOf(rtt.toNanos() / NANOS_PER_MILLI));
+        }
+        // a weight set in the service meta takes precedence
+        getWeight().ifPresent(weight -> map.putIfAbsent(ServiceInstanceMetadata.WEIGHT, String.valueOf(weight)));
         return ConvertibleValues.of(map);
     }
 }
@@ -17,18 +17,34 @@ package io.micronaut.discovery.consul.client.v1;
 
 import io.micronaut.context.annotation.BootstrapContextCompatible;
 import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.annotation.TypeHint;
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.core.naming.NameUtils;
 import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.client.ServiceInstanceCache;
+import io.micronaut.discovery.client.ServiceInstanceCaches;
+import io.micronaut.discovery.client.ServiceInstanceSnapshot;
+import io.micronaut.discovery.client.SingleFlight;
 import io.micronaut.discovery.consul.ConsulConfiguration;
 import io.micronaut.discovery.consul.ConsulServiceInstance;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Header;
+import io.micronaut.http.annotation.QueryValue;
 import io.micronaut.http.client.annotation.Client;
+import io.micronaut.retry.annotation.Retryable;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
+import jakarta.validation.constraints.NotNull;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -51,6 +67,12 @@ public abstract class AbstractConsulClient implements ConsulClient {
     static final String EXPR_CONSUL_CONFIG_RETRY_DELAY = "${" + ConsulConfiguration.ConsulConfigDiscoveryConfiguration.PREFIX + ".retry-delay:1s}";
 
     private ConsulConfiguration consulConfiguration = new ConsulConfiguration();
+    private final SingleFlight<String, List<ServiceInstance>> instanceLookups = new SingleFlight<>();
+    private volatile ConsulServiceWatcher serviceWatcher;
+    private volatile ServiceInstanceCache instanceCache;
+    private volatile ConsulDnsDiscoveryClient dnsClient;
+    private volatile ConsulNetworkCoordinates networkCoordinates;
+    private ServiceInstanceCaches instanceCaches = new ServiceInstanceCaches();
 
     /**
      * @param consulConfiguration The Consul configuration
@@ -62,6 +84,17 @@ public abstract class AbstractConsulClient implements ConsulClient {
         }
     }
 
+    /**
+     * @param instanceCaches The caches of the discovery clients, which the caches of this client are registered with
+     * @since 4.6.0
+     */
+    @Inject
+    public void setInstanceCaches(ServiceInstanceCaches instanceCaches) {
+        if (instanceCaches != null) {
+            this.instanceCaches = instanceCaches;
+        }
+    }
+
     @Override
     public String getDescription() {
         return ConsulClient.SERVICE_ID;
@@ -88,19 +121,242 @@ public abstract class AbstractConsulClient implements ConsulClient {
             );
         } else {
             ConsulConfiguration.ConsulDiscoveryConfiguration discovery = consulConfiguration.getDiscovery();
-            boolean passing = discovery.isPassing();
-            String datacenter = discovery.getDatacenters().get(serviceId);
-            String tag = discovery.getTags().get(serviceId);
-            Optional<String> scheme = Optional.ofNullable(discovery.getSchemes().get(serviceId));
-
-            Publisher<List<ConsulHealthEntry>> healthyServicesPublisher = findHealthyServices(serviceId, passing, tag, datacenter);
-            return Publishers.map(healthyServicesPublisher, healthEntries -> {
-                List<ServiceInstance> serviceInstances = new ArrayList<>();
-                for (ConsulHealthEntry healthEntry : healthEntries) {
-                    serviceInstances.add(new ConsulServiceInstance(healthEntry, scheme.orElse("http")));
+            if (discovery.getDns().isEnabled()) {
+                return getDnsClient().getInstances(serviceId);
+            }
+            if (discovery.getWatch().isEnabled()) {
+                return getServiceWatcher().getInstances(serviceId);
+            }
+            if (discovery.getCache().isEnabled()) {
+                return getInstanceCache().getInstances(serviceId);
+            }
+            return lookupInstances(serviceId);
+        }
+    }
+
+    /**
+     * Performs a <a href="https://developer.hashicorp.com/consul/api-docs/features/blocking">blocking query</a> for
+     * the instances of the given service. The response is held until the instances change or the wait time elapses.
+     *
+     * @param service The service
+     * @param passing The passing parameter
+     * @param tag     The tag
+     * @param dc      The dc
+     * @param index   The {@code X-Consul-Index} of the previous response, or {@code null} to return immediately
+     * @param wait    The maximum time to block, for example {@code 5m}
+     * @param near    The node to sort the instances by estimated round trip time from, {@code _agent} for the local
+     *                agent
+     * @return The response, carrying the index for the next query in the {@code X-Consul-Index} header
+     * @since 4.6.0
+     */
+    @SuppressWarnings("WeakerAccess")
+    @Get(uri = "/health/service/{service}{?passing,tag,dc,index,wait,near}", single = true)
+    public abstract Publisher<HttpResponse<List<ConsulHealthEntry>>> watchHealthyServices(
+        @NotNull String service,
+        @Nullable Boolean passing,
+        @Nullable String tag,
+        @Nullable String dc,
+        @Nullable Long index,
+        @Nullable String wait,
+        @Nullable String near);
+
+    @Override
+    @Get(uri = "/kv/{+key}?recurse=true{&dc}{&index}{&wait}", single = true)
+    public abstract Publisher<HttpResponse<List<KeyValue>>> watchValues(
+        String key,
+        @Nullable @QueryValue("dc") String datacenter,
+        @Nullable Long index,
+        @Nullable String wait);
+
+    @Override
+    @Get(uri = "/agent/service/{serviceId}", single = true)
+    public abstract Publisher<ConsulServiceEntry> findService(@NotNull String serviceId);
+
+    @Override
+    @Get(uri = "/kv/{+key}?recurse=true{&dc}{&stale}{&consistent}", single = true)
+    @Retryable(
+        attempts = AbstractConsulClient.EXPR_CONSUL_CONFIG_RETRY_COUNT,
+        delay = AbstractConsulClient.EXPR_CONSUL_CONFIG_RETRY_DELAY
+    )
+    public abstract Publisher<HttpResponse<List<KeyValue>>> queryValues(
+        String key,
+        @Nullable @QueryValue("dc") String datacenter,
+        @Nullable Boolean stale,
+        @Nullable Boolean consistent);
+
+    @Override
+    @Get(uri = "/health/service/{service}{?passing,tag,dc,stale,consistent,cached,near}", single = true)
+    public abstract Publisher<HttpResponse<List<ConsulHealthEntry>>> queryHealthyServices(
+        @NotNull String service,
+        @Nullable Boolean passing,
+        @Nullable String tag,
+        @Nullable String dc,
+        @Nullable Boolean stale,
+        @Nullable Boolean consistent,
+        @Nullable Boolean cached,
+        @Nullable @Header(HttpHeaders.CACHE_CONTROL) String cacheControl,
+        @Nullable String near);
+
+    @Override
+    @Get(uri = "/coordinate/nodes{?dc}", single = true)
+    public abstract Publisher<List<ConsulNodeCoordinate>> getNodeCoordinates(@Nullable String dc);
+
+    /**
+     * Stops watching services, and closes the instance cache, the DNS client and the network coordinates.
+     */
+    @PreDestroy
+    void stopWatching() {
+        ConsulServiceWatcher watcher = this.serviceWatcher;
+        if (watcher != null) {
+            watcher.close();
+        }
+        ServiceInstanceCache cache = this.instanceCache;
+        if (cache != null) {
+            instanceCaches.unregister(getDescription(), cache);
+            cache.close();
+        }
+        ConsulDnsDiscoveryClient dnsClient = this.dnsClient;
+        if (dnsClient != null) {
+            instanceCaches.unregister(getDescription(), dnsClient.getCache());
+            dnsClient.close();
+        }
+        ConsulNetworkCoordinates coordinates = this.networkCoordinates;
+        if (coordinates != null) {
+            coordinates.close();
+        }
+    }
+
+    private ConsulServiceWatcher getServiceWatcher() {
+        ConsulServiceWatcher watcher = this.serviceWatcher;
+        if (watcher == null) {
+            synchronized (this) { // double check
+                watcher = this.serviceWatcher;
+                if (watcher == null) {
+                    ConsulConfiguration.ConsulDiscoveryConfiguration discovery = consulConfiguration.getDiscovery();
+                    ConsulConfiguration.ConsulDiscoveryConfiguration.WatchConfiguration watch = discovery.getWatch();
+                    String wait = BlockingQueries.resolveWait(watch.getWait(), consulConfiguration.getReadTimeout().orElse(null));
+                    watcher = new ConsulServiceWatcher(
+                        (serviceId, index) -> watchHealthyServices(
+                            serviceId,
+                            discovery.isPassing(),
+                            discovery.getTags().get(serviceId),
+                            discovery.getDatacenters().get(serviceId),
+                            index,
+                            index != null ? wait : null,
+                            discovery.getNear().orElse(null)),
+                        this::toServiceInstances,
+                        watch.getRetryDelay(),
+                        watch.getIdleTimeout()
+                    );
+                    this.serviceWatcher = watcher;
+                }
+            }
+        }
+        return watcher;
+    }
+
+    private Publisher<List<ServiceInstance>> lookupInstances(String serviceId) {
+        ConsulConfiguration.ConsulDiscoveryConfiguration discovery = consulConfiguration.getDiscovery();
+        boolean passing = discovery.isPassing();
+        String datacenter = discovery.getDatacenters().get(serviceId);
+        String tag = discovery.getTags().get(serviceId);
+
+        ConsistencyMode mode = discovery.getConsistencyMode(serviceId);
+        String near = discovery.getNear().orElse(null);
+
+        // concurrent lookups of the same service share a single request
+        return instanceLookups.execute(serviceId, () -> {
+            Publisher<List<ServiceInstance>> instances;
+            if (mode == ConsistencyMode.DEFAULT && near == null) {
+                Publisher<List<ConsulHealthEntry>> healthyServicesPublisher = findHealthyServices(serviceId, passing, tag, datacenter);
+                instances = Publishers.map(healthyServicesPublisher, healthEntries -> ServiceInstanceSnapshot.of(toServiceInstances(serviceId, healthEntries)));
+            } else {
+                Publisher<HttpResponse<List<ConsulHealthEntry>>> responsePublisher = queryHealthyServices(
+                    serviceId,
+                    passing,
+                    tag,
+                    datacenter,
+                    mode.stale(),
+                    mode.consistent(),
+                    mode.cached(),
+                    mode.cacheControl(discovery.getCacheMaxAge().orElse(null)),
+                    near
+                );
+                instances = Publishers.map(responsePublisher, response -> {
+                    ConsulResponseMetadata responseMetadata = mode != ConsistencyMode.DEFAULT ? ConsulResponseMetadata.of(response.getHeaders()) : null;
+                    List<ConsulHealthEntry> healthEntries = response.getBody().orElse(Collections.emptyList());
+                    return ServiceInstanceSnapshot.of(toServiceInstances(serviceId, healthEntries, responseMetadata));
+                });
+            }
+            if (discovery.getCoordinates().isEnabled()) {
+                // read the coordinates before the first lookup, so that its instances are sorted too
+                return getNetworkCoordinates().getEstimates().then(Mono.from(instances));
+            }
+            return instances;
+        });
+    }
+
+    private ServiceInstanceCache getInstanceCache() {
+        ServiceInstanceCache cache = this.instanceCache;
+        if (cache == null) {
+            synchronized (this) { // double check
+                cache = this.instanceCache;
+                if (cache == null) {
+                    cache = new ServiceInstanceCache(consulConfiguration.getDiscovery().getCache(), this::lookupInstances);
+                    instanceCaches.register(getDescription(), cache);
+                    this.instanceCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    private ConsulDnsDiscoveryClient getDnsClient() {
+        ConsulDnsDiscoveryClient client = this.dnsClient;
+        if (client == null) {
+            synchronized (this) { // double check
+                client = this.dnsClient;
+                if (client == null) {
+                    client = new ConsulDnsDiscoveryClient(consulConfiguration);
+                    instanceCaches.register(getDescription(), client.getCache());
+                    this.dnsClient = client;
                 }
-                return serviceInstances;
-            });
+            }
+        }
+        return client;
+    }
+
+    private List<ServiceInstance> toServiceInstances(String serviceId, List<ConsulHealthEntry> healthEntries) {
+        return toServiceInstances(serviceId, healthEntries, null);
+    }
+
+    private ConsulNetworkCoordinates getNetworkCoordinates() {
+        ConsulNetworkCoordinates coordinates = this.networkCoordinates;
+        if (coordinates == null) {
+            synchronized (this) { // double check
+                coordinates = this.networkCoordinates;
+                if (coordinates == null) {
+                    coordinates = new ConsulNetworkCoordinates(this, consulConfiguration.getDiscovery().getCoordinates().getRefreshInterval());
+                    this.networkCoordinates = coordinates;
+                }
+            }
+        }
+        return coordinates;
+    }
+
+    private List<ServiceInstance> toServiceInstances(String serviceId, List<ConsulHealthEntry> healthEntries, @Nullable ConsulResponseMetadata responseMetadata) {
+        ConsulConfiguration.ConsulDiscoveryConfiguration discovery = consulConfiguration.getDiscovery();
+        Optional<String> scheme = Optional.ofNullable(discovery.getSchemes().get(serviceId));
+        ConsulNetworkCoordinates.Estimates estimates = discovery.getCoordinates().isEnabled() ? getNetworkCoordinates().getEstimatesIfPresent() : null;
+        List<ConsulServiceInstance> serviceInstances = new ArrayList<>(healthEntries.size());
+        for (ConsulHealthEntry healthEntry : healthEntries) {
+            Duration rtt = estimates != null && healthEntry.node() != null ? estimates.rttTo(healthEntry.node().node()) : null;
+            serviceInstances.add(new ConsulServiceInstance(healthEntry, scheme.orElse("http"), responseMetadata, rtt));
+        }
+        if (estimates != null) {
+            // nearest first, the instances without an estimate last
+            serviceInstances.sort(Comparator.comparing((ConsulServiceInstance instance) -> instance.getRtt().orElse(null), Comparator.nullsLast(Comparator.<Duration>naturalOrder())));
         }
+        return Collections.unmodifiableList(serviceInstances);
     }
 }
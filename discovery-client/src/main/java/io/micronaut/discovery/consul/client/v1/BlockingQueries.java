@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.client.v1;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+
+import java.time.Duration;
+
+/**
+ * Utility methods for Consul <a href="https://developer.hashicorp.com/consul/api-docs/features/blocking">blocking
+ * queries</a>.
+ *
+ * @since 4.6.0
+ */
+@Internal
+public final class BlockingQueries {
+
+    private BlockingQueries() {
+    }
+
+    /**
+     * Resolves the {@code wait} parameter of a blocking query. Consul adds up to {@code wait / 16} of jitter, so the
+     * wait is capped at three quarters of the read timeout.
+     *
+     * @param wait        The configured wait
+     * @param readTimeout The read timeout of the client, if any
+     * @return The wait parameter, in seconds
+     */
+    @NonNull
+    public static String resolveWait(@NonNull Duration wait, @Nullable Duration readTimeout) {
+        if (readTimeout != null && wait.compareTo(readTimeout.multipliedBy(3).dividedBy(4)) > 0) {
+            // leave room for the jitter Consul adds to the wait time
+            wait = readTimeout.multipliedBy(3).dividedBy(4);
+        }
+        return Math.max(1, wait.toSeconds()) + "s";
+    }
+
+    /**
+     * @param headers The headers of a response
+     * @return The {@value ConsulClient#HEADER_CONSUL_INDEX} of the response, or 0 if it has none
+     */
+    public static long parseIndex(@NonNull HttpHeaders headers) {
+        String value = headers.get(ConsulClient.HEADER_CONSUL_INDEX);
+        if (value != null) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                // ignore
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.client.v1;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+/**
+ * The <a href="https://developer.hashicorp.com/consul/api-docs/features/consistency">consistency mode</a> of a
+ * Consul read.
+ *
+ * @since 4.6.0
+ */
+public enum ConsistencyMode {
+
+    /**
+     * Reads are forwarded to the leader, which may return stale values during a leader election.
+     */
+    DEFAULT,
+
+    /**
+     * Reads are answered by any server, without going through the leader. The staleness of the result is reported
+     * in the {@code X-Consul-LastContact} header.
+     */
+    STALE,
+
+    /**
+     * Reads are forwarded to the leader, which confirms it is still the leader before answering.
+     */
+    CONSISTENT,
+
+    /**
+     * Reads are answered from the cache of the local agent, see
+     * <a href="https://developer.hashicorp.com/consul/api-docs/features/caching">agent caching</a>. Whether the cache
+     * was hit is reported in the {@code X-Cache} header. Endpoints that do not support agent caching, such as the
+     * key/value store, are read in {@link #STALE} mode instead.
+     */
+    CACHED;
+
+    /**
+     * @return The value of the {@code stale} query parameter, {@code null} if it is not set
+     */
+    @Nullable
+    public Boolean stale() {
+        return this == STALE ? Boolean.TRUE : null;
+    }
+
+    /**
+     * @return The value of the {@code consistent} query parameter, {@code null} if it is not set
+     */
+    @Nullable
+    public Boolean consistent() {
+        return this == CONSISTENT ? Boolean.TRUE : null;
+    }
+
+    /**
+     * @return The value of the {@code cached} query parameter, {@code null} if it is not set
+     */
+    @Nullable
+    public Boolean cached() {
+        return this == CACHED ? Boolean.TRUE : null;
+    }
+
+    /**
+     * @param maxAge The maximum age of a cached result, {@code null} to use the agent default
+     * @return The value of the {@code Cache-Control} header, {@code null} if it is not set
+     */
+    @Nullable
+    public String cacheControl(@Nullable Duration maxAge) {
+        return this == CACHED && maxAge != null ? "max-age=" + maxAge.toSeconds() : null;
+    }
+
+    /**
+     * @return The mode to read endpoints that do not support agent caching with
+     */
+    public ConsistencyMode withoutCaching() {
+        return this == CACHED ? STALE : this;
+    }
+}
@@ -35,6 +35,34 @@ public interface ConsulClient extends ConsulOperations, DiscoveryClient {
      */
     String SERVICE_ID = "consul";
 
+    /**
+     * The header holding the index of a blocking query response.
+     *
+     * @since 4.6.0
+     */
+    String HEADER_CONSUL_INDEX = "X-Consul-Index";
+
+    /**
+     * The header holding the time in milliseconds since the server answering a query last contacted the leader.
+     *
+     * @since 4.6.0
+     */
+    String HEADER_CONSUL_LAST_CONTACT = "X-Consul-LastContact";
+
+    /**
+     * The header holding whether the server answering a query knows the leader.
+     *
+     * @since 4.6.0
+     */
+    String HEADER_CONSUL_KNOWN_LEADER = "X-Consul-KnownLeader";
+
+    /**
+     * The header holding whether a query was answered from the agent cache, {@code HIT} or {@code MISS}.
+     *
+     * @since 4.6.0
+     */
+    String HEADER_CACHE = "X-Cache";
+
     @Override
     default Publisher<List<String>> getServiceIds() {
         return Publishers.map(getServiceNames(), services -> new ArrayList<>(services.keySet()));
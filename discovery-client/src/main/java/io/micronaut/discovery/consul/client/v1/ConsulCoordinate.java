@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.client.v1;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The <a href="https://developer.hashicorp.com/consul/docs/architecture/coordinates">network coordinate</a> of a
+ * node, from which the round trip time between two nodes is estimated.
+ *
+ * @param vec        The Euclidean part of the coordinate
+ * @param error      The confidence in the coordinate
+ * @param adjustment The adjustment added to the estimated round trip times, in seconds
+ * @param height     The distance to the network core, in seconds
+ * @since 4.6.0
+ */
+@Serdeable
+public record ConsulCoordinate(@Nullable @JsonProperty("Vec") List<Double> vec,
+                               @JsonProperty("Error") double error,
+                               @JsonProperty("Adjustment") double adjustment,
+                               @JsonProperty("Height") double height) {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    /**
+     * Estimates the round trip time to the given coordinate, as the Consul
+     * <a href="https://developer.hashicorp.com/consul/docs/architecture/coordinates#working-with-coordinates">documentation</a>
+     * describes.
+     *
+     * @param other The other coordinate
+     * @return The estimated round trip time
+     */
+    @NonNull
+    public Duration rttTo(@NonNull ConsulCoordinate other) {
+        double sumsq = 0;
+        int dimensions = Math.min(size(vec), size(other.vec));
+        for (int i = 0; i < dimensions; i++) {
+            double diff = vec.get(i) - other.vec.get(i);
+            sumsq += diff * diff;
+        }
+        double rtt = Math.sqrt(sumsq) + height + other.height;
+        double adjusted = rtt + adjustment + other.adjustment;
+        if (adjusted > 0) {
+            rtt = adjusted;
+        }
+        return Duration.ofNanos(Math.round(rtt * NANOS_PER_SECOND));
+    }
+
+    private static int size(@Nullable List<Double> vec) {
+        return vec != null ? vec.size() : 0;
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.client.v1;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.client.ServiceInstanceCache;
+import io.micronaut.discovery.client.ServiceInstanceCacheConfiguration;
+import io.micronaut.discovery.client.ServiceInstanceMetadata;
+import io.micronaut.discovery.client.SingleFlight;
+import io.micronaut.discovery.consul.ConsulConfiguration;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.naming.NameNotFoundException;
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.directory.Attribute;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.InitialDirContext;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Hashtable;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A {@link DiscoveryClient} that resolves the instances of each service with SRV lookups of
+ * {@code [tag.]<service>.service[.datacenter].<domain>} against the Consul
+ * <a href="https://developer.hashicorp.com/consul/docs/services/discovery/dns-overview">DNS interface</a>, which the
+ * agent answers from its local state, instead of querying {@code /health/service}.
+ *
+ * <p>Consul only answers with the instances that are not failing their health checks, and the answers carry no
+ * service metadata: the instances only have an address, a port and the SRV weight, exposed as the
+ * {@value ServiceInstanceMetadata#WEIGHT} metadata entry. The resolved instances are cached for the
+ * configured time to live, served for up to the max staleness while they are resolved again in the background, and
+ * served however stale they are when the DNS interface fails.</p>
+ *
+ * <p>DNS cannot enumerate the services, so {@link #getServiceIds()} is always empty.</p>
+ *
+ * @since 4.6.0
+ */
+public class ConsulDnsDiscoveryClient implements DiscoveryClient {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConsulDnsDiscoveryClient.class);
+
+    private static final String SRV_RECORD_TYPE = "SRV";
+    private static final String A_RECORD_TYPE = "A";
+    private static final String AAAA_RECORD_TYPE = "AAAA";
+    private static final String ADDR_LABEL = ".addr.";
+
+    private final ConsulConfiguration.ConsulDiscoveryConfiguration discovery;
+    private final String domain;
+    private final DnsLookup lookup;
+    private final SingleFlight<String, List<ServiceInstance>> lookups = new SingleFlight<>();
+    private final ServiceInstanceCache cache;
+
+    /**
+     * @param consulConfiguration The Consul configuration
+     */
+    public ConsulDnsDiscoveryClient(@NonNull ConsulConfiguration consulConfiguration) {
+        this(consulConfiguration, jndiLookup(
+            consulConfiguration.getDiscovery().getDns().getHost().orElse(consulConfiguration.getHost()),
+            consulConfiguration.getDiscovery().getDns().getPort(),
+            consulConfiguration.getDiscovery().getDns().getTimeout()
+        ));
+    }
+
+    /**
+     * @param consulConfiguration The Consul configuration
+     * @param lookup              Answers the DNS queries
+     */
+    ConsulDnsDiscoveryClient(ConsulConfiguration consulConfiguration, DnsLookup lookup) {
+        this.discovery = consulConfiguration.getDiscovery();
+        this.domain = discovery.getDns().getDomain();
+        this.lookup = lookup;
+        ServiceInstanceCacheConfiguration cacheConfiguration = new ServiceInstanceCacheConfiguration();
+        cacheConfiguration.setTtl(discovery.getDns().getTtl());
+        cacheConfiguration.setMaxStaleness(discovery.getDns().getMaxStaleness());
+        this.cache = new ServiceInstanceCache(cacheConfiguration, this::resolveInstances);
+    }
+
+    @Override
+    public String getDescription() {
+        return ConsulClient.SERVICE_ID + "-dns";
+    }
+
+    @Override
+    public Publisher<List<ServiceInstance>> getInstances(String serviceId) {
+        return cache.getInstances(NameUtils.hyphenate(serviceId));
+    }
+
+    @Override
+    public Publisher<List<String>> getServiceIds() {
+        return Publishers.just(Collections.emptyList());
+    }
+
+    /**
+     * @return The number of lookups served with expired instances
+     */
+    public long getStaleServedCount() {
+        return cache.getStaleServedCount();
+    }
+
+    /**
+     * @param serviceId The service ID
+     * @return How long ago the resolved instances of the service expired, {@link Duration#ZERO} if they did not, or
+     * empty if the service was not resolved
+     */
+    public Optional<Duration> getStaleness(String serviceId) {
+        return cache.getStaleness(NameUtils.hyphenate(serviceId));
+    }
+
+    /**
+     * @return The cache of the resolved instances
+     */
+    ServiceInstanceCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public void close() {
+        // a directory context is only held for the duration of a query
+        cache.close();
+    }
+
+    /**
+     * @param serviceId The service ID
+     * @return The SRV name of the service
+     */
+    String srvName(String serviceId) {
+        StringBuilder name = new StringBuilder();
+        String tag = discovery.getTags().get(serviceId);
+        if (tag != null) {
+            name.append(tag).append('.');
+        }
+        name.append(serviceId).append(".service.");
+        String datacenter = discovery.getDatacenters().get(serviceId);
+        if (datacenter != null) {
+            name.append(datacenter).append('.');
+        }
+        return name.append(domain).toString();
+    }
+
+    private Publisher<List<ServiceInstance>> resolveInstances(String serviceId) {
+        // concurrent misses of the same service share a single query
+        return lookups.execute(serviceId, () -> Mono.fromCallable(() -> resolve(serviceId))
+            .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    private List<ServiceInstance> resolve(String serviceId) throws NamingException, URISyntaxException {
+        String name = srvName(serviceId);
+        List<String> records;
+        try {
+            records = lookup.lookup(name, SRV_RECORD_TYPE);
+        } catch (NameNotFoundException e) {
+            // no instance is registered, or none is healthy
+            return Collections.emptyList();
+        }
+        String scheme = discovery.getSchemes().getOrDefault(serviceId, "http");
+        List<SrvRecord> srvRecords = new ArrayList<>(records.size());
+        for (String record : records) {
+            SrvRecord srvRecord = SrvRecord.parse(record);
+            if (srvRecord != null) {
+                srvRecords.add(srvRecord);
+            } else if (LOG.isDebugEnabled()) {
+                LOG.debug("Ignoring malformed SRV record [{}] of [{}]", record, name);
+            }
+        }
+        // the lowest priority is preferred, Consul currently answers with a single priority
+        srvRecords.sort(Comparator.comparingInt(SrvRecord::priority));
+        List<ServiceInstance> instances = new ArrayList<>(srvRecords.size());
+        for (SrvRecord srvRecord : srvRecords) {
+            URI uri = new URI(scheme, null, address(srvRecord.target()), srvRecord.port(), null, null, null);
+            instances.add(ServiceInstance.builder(serviceId, uri)
+                .instanceId(srvRecord.target() + ":" + srvRecord.port())
+                .metadata(Map.of(ServiceInstanceMetadata.WEIGHT, String.valueOf(srvRecord.weight())))
+                .build());
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Resolved {} instances of service [{}] from [{}]", instances.size(), serviceId, name);
+        }
+        return instances;
+    }
+
+    /**
+     * Resolves the address of an SRV target. Consul names the targets of the services registered with an address
+     * {@code <hex address>.addr.<datacenter>.<domain>}, which are decoded without another query. The other
+     * targets, node names, are resolved with an A then an AAAA query, and kept as is if neither answers.
+     *
+     * @param target The SRV target
+     * @return The address of the target
+     * @throws NamingException if a query fails
+     */
+    private String address(String target) throws NamingException {
+        int addr = target.indexOf(ADDR_LABEL);
+        if (addr > 0) {
+            String hex = target.substring(0, addr);
+            if (hex.length() == 8 || hex.length() == 32) {
+                try {
+                    return InetAddress.getByAddress(HexFormat.of().parseHex(hex)).getHostAddress();
+                } catch (IllegalArgumentException | UnknownHostException e) {
+                    // not an encoded address
+                }
+            }
+        }
+        for (String type : new String[]{A_RECORD_TYPE, AAAA_RECORD_TYPE}) {
+            try {
+                List<String> addresses = lookup.lookup(target, type);
+                if (!addresses.isEmpty()) {
+                    return addresses.get(0);
+                }
+            } catch (NameNotFoundException e) {
+                // try the next type
+            }
+        }
+        return target;
+    }
+
+    private static DnsLookup jndiLookup(String host, int port, Duration timeout) {
+        Hashtable<String, String> env = new Hashtable<>();
+        env.put(DirContext.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.dns.DnsContextFactory");
+        env.put(DirContext.PROVIDER_URL, "dns://" + host + ":" + port);
+        env.put("com.sun.jndi.dns.timeout.initial", String.valueOf(Math.max(1, timeout.toMillis())));
+        env.put("com.sun.jndi.dns.timeout.retries", "1");
+        return (name, type) -> {
+            // a DirContext is not thread safe
+            DirContext dirContext = new InitialDirContext(env);
+            try {
+                Attribute attribute = dirContext.getAttributes(name, new String[]{type}).get(type);
+                List<String> records = new ArrayList<>();
+                if (attribute != null) {
+                    NamingEnumeration<?> values = attribute.getAll();
+                    while (values.hasMore()) {
+                        records.add(values.next().toString());
+                    }
+                }
+                return records;
+            } finally {
+                dirContext.close();
+            }
+        };
+    }
+
+    /**
+     * Answers DNS queries.
+     */
+    @FunctionalInterface
+    interface DnsLookup {
+
+        /**
+         * @param name The DNS name
+         * @param type The record type
+         * @return The records of the given type, in their presentation format
+         * @throws NameNotFoundException if the name does not exist
+         * @throws NamingException if the query fails
+         */
+        List<String> lookup(String name, String type) throws NamingException;
+    }
+
+    /**
+     * An SRV record.
+     *
+     * @param priority The priority, lowest first
+     * @param weight   The relative weight among the records of the same priority
+     * @param port     The port
+     * @param target   The target, without the trailing dot
+     */
+    private record SrvRecord(int priority, int weight, int port, String target) {
+
+        /**
+         * @param record The record, in its {@code priority weight port target} presentation format
+         * @return The record, or {@code null} if it is malformed
+         */
+        static SrvRecord parse(String record) {
+            String[] tokens = record.trim().split("\\s+");
+            if (tokens.length != 4) {
+                return null;
+            }
+            try {
+                String target = tokens[3].endsWith(".") ? tokens[3].substring(0, tokens[3].length() - 1) : tokens[3];
+                return new SrvRecord(Integer.parseInt(tokens[0]), Integer.parseInt(tokens[1]), Integer.parseInt(tokens[2]), target);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
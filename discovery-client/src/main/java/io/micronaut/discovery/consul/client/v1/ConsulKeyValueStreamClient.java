@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.client.v1;
+
+import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.discovery.consul.ConsulConfiguration;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.client.annotation.Client;
+import org.reactivestreams.Publisher;
+
+/**
+ * Reads keys from the Consul key/value store as a stream of raw response chunks, so that large responses can be
+ * parsed incrementally instead of being materialized as a list of {@link KeyValue}.
+ *
+ * @since 4.6.0
+ */
+@Client(id = ConsulClient.SERVICE_ID, path = "/v1", configuration = ConsulConfiguration.class)
+@Requires(beans = ConsulConfiguration.class)
+@BootstrapContextCompatible
+public interface ConsulKeyValueStreamClient {
+
+    /**
+     * Recursively reads the keys under the given key. See https://www.consul.io/api/kv.html.
+     *
+     * <p>The chunks are the raw JSON array of key/value entries, with base64 encoded values. Each chunk must be
+     * released by the subscriber once consumed.</p>
+     *
+     * @param key        The key
+     * @param datacenter The data center
+     * @return A {@link Publisher} that emits the response body in chunks
+     */
+    @Get(uri = "/kv/{+key}?recurse=true{&dc}")
+    Publisher<ByteBuffer<?>> readValuesStream(String key, @Nullable @QueryValue("dc") String datacenter);
+
+    /**
+     * Recursively reads the keys under the given key with the given
+     * <a href="https://developer.hashicorp.com/consul/api-docs/features/consistency">consistency mode</a>.
+     *
+     * @param key        The key
+     * @param datacenter The data center
+     * @param stale      Whether any server can answer, see {@link ConsistencyMode#stale()}
+     * @param consistent Whether the leader must confirm its leadership, see {@link ConsistencyMode#consistent()}
+     * @return A {@link Publisher} that emits the response body in chunks
+     * @since 4.6.0
+     */
+    @Get(uri = "/kv/{+key}?recurse=true{&dc}{&stale}{&consistent}")
+    Publisher<ByteBuffer<?>> readValuesStream(
+        String key,
+        @Nullable @QueryValue("dc") String datacenter,
+        @Nullable Boolean stale,
+        @Nullable Boolean consistent);
+}
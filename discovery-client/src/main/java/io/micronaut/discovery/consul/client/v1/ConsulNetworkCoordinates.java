@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.client.v1;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates the round trip time from the local agent to the other nodes of its datacenter, using the
+ * <a href="https://developer.hashicorp.com/consul/docs/architecture/coordinates">network coordinates</a> of the nodes.
+ *
+ * <p>The coordinates are read from {@code /coordinate/nodes} at most once per refresh interval. When they cannot be
+ * read, no round trip time is estimated until the next successful read.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class ConsulNetworkCoordinates {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConsulNetworkCoordinates.class);
+    private static final String NODE_NAME = "NodeName";
+
+    private final Mono<Estimates> estimates;
+    private volatile Estimates current;
+    private volatile Disposable pending;
+    private volatile boolean closed;
+
+    /**
+     * @param consulOperations The Consul operations
+     * @param refreshInterval  The interval at which the coordinates are read again
+     */
+    ConsulNetworkCoordinates(ConsulOperations consulOperations, Duration refreshInterval) {
+        this.estimates = Mono.defer(() -> Mono.zip(
+                Mono.from(consulOperations.getSelf()).map(ConsulNetworkCoordinates::nodeName),
+                Mono.from(consulOperations.getNodeCoordinates(null))
+            ))
+            .map(tuple -> Estimates.of(tuple.getT1(), tuple.getT2()))
+            .doOnNext(estimates -> this.current = estimates)
+            .onErrorResume(throwable -> {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Error reading the network coordinates from Consul: {}", throwable.getMessage());
+                }
+                return Mono.empty();
+            })
+            .cache(value -> refreshInterval, throwable -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    /**
+     * @return A {@link Mono} that emits the current estimates, reading the coordinates if they are due for a refresh,
+     * or completes empty if they cannot be read
+     */
+    Mono<Estimates> getEstimates() {
+        return estimates;
+    }
+
+    /**
+     * Returns the estimates without waiting, and reads the coordinates in the background if they are due for a
+     * refresh.
+     *
+     * @return The last estimates, {@code null} if the coordinates were never read
+     */
+    @Nullable
+    Estimates getEstimatesIfPresent() {
+        if (!closed) {
+            pending = estimates.subscribe();
+        }
+        return current;
+    }
+
+    /**
+     * Stops reading the coordinates in the background.
+     */
+    void close() {
+        closed = true;
+        Disposable pending = this.pending;
+        if (pending != null) {
+            pending.dispose();
+        }
+    }
+
+    private static String nodeName(LocalAgentConfiguration self) {
+        Map<String, String> configuration = self.getConfiguration();
+        String nodeName = configuration != null ? configuration.get(NODE_NAME) : null;
+        if (nodeName == null && self.getMember() != null) {
+            nodeName = self.getMember().getName();
+        }
+        return nodeName != null ? nodeName : "";
+    }
+
+    /**
+     * The coordinates of the local agent and of the other nodes.
+     *
+     * @param self  The coordinate of the local agent, {@code null} if it is unknown
+     * @param nodes The coordinate of each node
+     */
+    record Estimates(@Nullable ConsulCoordinate self, Map<String, ConsulCoordinate> nodes) {
+
+        /**
+         * @param nodeName    The node name of the local agent
+         * @param coordinates The coordinates of the nodes
+         * @return The estimates
+         */
+        static Estimates of(String nodeName, List<ConsulNodeCoordinate> coordinates) {
+            Map<String, ConsulCoordinate> nodes = new HashMap<>(coordinates.size());
+            for (ConsulNodeCoordinate coordinate : coordinates) {
+                if (coordinate.node() != null && coordinate.coord() != null) {
+                    nodes.putIfAbsent(coordinate.node(), coordinate.coord());
+                }
+            }
+            return new Estimates(nodes.get(nodeName), nodes);
+        }
+
+        /**
+         * @param node The node name
+         * @return The estimated round trip time from the local agent to the node, {@code null} if it is unknown
+         */
+        @Nullable
+        Duration rttTo(@Nullable String node) {
+            ConsulCoordinate coordinate = node != null ? nodes.get(node) : null;
+            if (self == null || coordinate == null) {
+                return null;
+            }
+            return self.rttTo(coordinate);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package io.micronaut.discovery.consul.client.v1;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micronaut.core.annotation.Creator;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.serde.annotation.Serdeable;
 
@@ -32,6 +33,7 @@ import java.util.Map;
  * @param id Unique ID of the service
  * @param meta Arbitrary KV metadata linked to the service instance.
  * @param checks Specify a list of checks
+ * @param weights The weights of the service, since 4.6.0
  *
  * @author Sergio del Amo
  * @since 4.1.0
@@ -63,6 +65,38 @@ public record ConsulNewServiceEntry(
 
     @Nullable
     @JsonProperty("Checks")
-    List<ConsulCheck> checks
+    List<ConsulCheck> checks,
+
+    @Nullable
+    @JsonProperty("Weights")
+    ConsulWeights weights
     ) {
+
+    /**
+     * Canonical constructor.
+     */
+    @Creator
+    public ConsulNewServiceEntry {
+    }
+
+    /**
+     * Constructs an entry without weights.
+     *
+     * @param name The logical name of hte service
+     * @param address The address of the service
+     * @param port The port of the service
+     * @param tags A list of tags to assign to the service
+     * @param id Unique ID of the service
+     * @param meta Arbitrary KV metadata linked to the service instance.
+     * @param checks Specify a list of checks
+     */
+    public ConsulNewServiceEntry(String name,
+                                 @Nullable String address,
+                                 @Nullable Integer port,
+                                 @Nullable List<String> tags,
+                                 @Nullable String id,
+                                 @Nullable Map<String, String> meta,
+                                 @Nullable List<ConsulCheck> checks) {
+        this(name, address, port, tags, id, meta, checks, null);
+    }
 }
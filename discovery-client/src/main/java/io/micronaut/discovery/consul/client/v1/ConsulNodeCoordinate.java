@@ -0,0 +1,35 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.client.v1;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+/**
+ * An entry of the <a href="https://developer.hashicorp.com/consul/api-docs/coordinate#read-lan-coordinates-for-all-nodes">LAN coordinates</a>
+ * of the nodes.
+ *
+ * @param node    The node name
+ * @param segment The network segment
+ * @param coord   The network coordinate of the node
+ * @since 4.6.0
+ */
+@Serdeable
+public record ConsulNodeCoordinate(@JsonProperty("Node") String node,
+                                   @Nullable @JsonProperty("Segment") String segment,
+                                   @Nullable @JsonProperty("Coord") ConsulCoordinate coord) {
+}
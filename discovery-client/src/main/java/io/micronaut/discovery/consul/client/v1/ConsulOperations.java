@@ -16,6 +16,8 @@
 package io.micronaut.discovery.consul.client.v1;
 
 import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Body;
@@ -25,7 +27,9 @@ import io.micronaut.http.annotation.QueryValue;
 import io.micronaut.retry.annotation.Retryable;
 import jakarta.validation.constraints.NotNull;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -76,6 +80,51 @@ public interface ConsulOperations {
         @Nullable Boolean raw,
         @Nullable String seperator);
 
+    /**
+     * Performs a <a href="https://developer.hashicorp.com/consul/api-docs/features/blocking">blocking query</a> for
+     * the keys under the given key. The response is held until a key changes or the wait time elapses.
+     *
+     * <p>The default implementation does not block and returns the keys without an index, in which case callers
+     * fall back to polling.</p>
+     *
+     * @param key        The key
+     * @param datacenter The data center
+     * @param index      The {@code X-Consul-Index} of the previous response, or {@code null} to return immediately
+     * @param wait       The maximum time to block, for example {@code 5m}
+     * @return A {@link Publisher} that emits the response, carrying the index for the next query in the
+     * {@code X-Consul-Index} header
+     * @since 4.6.0
+     */
+    default Publisher<HttpResponse<List<KeyValue>>> watchValues(
+        String key,
+        @Nullable String datacenter,
+        @Nullable Long index,
+        @Nullable String wait) {
+        return Publishers.map(readValues(key, datacenter, null, null), HttpResponse::ok);
+    }
+
+    /**
+     * Reads the keys under the given key with the given
+     * <a href="https://developer.hashicorp.com/consul/api-docs/features/consistency">consistency mode</a>.
+     *
+     * <p>The default implementation ignores the consistency mode and returns the keys without headers.</p>
+     *
+     * @param key        The key
+     * @param datacenter The data center
+     * @param stale      Whether any server can answer, see {@link ConsistencyMode#stale()}
+     * @param consistent Whether the leader must confirm its leadership, see {@link ConsistencyMode#consistent()}
+     * @return A {@link Publisher} that emits the response, carrying the {@code X-Consul-LastContact} and
+     * {@code X-Consul-KnownLeader} headers
+     * @since 4.6.0
+     */
+    default Publisher<HttpResponse<List<KeyValue>>> queryValues(
+        String key,
+        @Nullable String datacenter,
+        @Nullable Boolean stale,
+        @Nullable Boolean consistent) {
+        return Publishers.map(readValues(key, datacenter, null, null), HttpResponse::ok);
+    }
+
     /**
      * Pass the TTL check. See https://www.consul.io/api/agent/check.html.
      *
@@ -218,6 +267,19 @@ public interface ConsulOperations {
     @Get(uri = "/agent/services", single = true)
     Publisher<Map<String, ConsulServiceEntry>> findServices();
 
+    /**
+     * Finds a service registered with the local agent, without listing all the registered services.
+     *
+     * <p>The default implementation looks the service up in {@link #findServices()}.</p>
+     *
+     * @param serviceId The service ID
+     * @return A {@link Publisher} that emits the service, or completes empty if it is not registered
+     * @since 4.6.0
+     */
+    default Publisher<ConsulServiceEntry> findService(@NotNull String serviceId) {
+        return Mono.from(findServices()).mapNotNull(services -> services.get(serviceId));
+    }
+
     /**
      * Returns the members the agent sees in the cluster gossip pool.
      *
@@ -267,6 +329,53 @@ public interface ConsulOperations {
         @Nullable String tag,
         @Nullable String dc);
 
+    /**
+     * Finds the instances of the given service with the given
+     * <a href="https://developer.hashicorp.com/consul/api-docs/features/consistency">consistency mode</a>.
+     *
+     * <p>The default implementation ignores the consistency mode and returns the instances without headers.</p>
+     *
+     * @param service      The service
+     * @param passing      The passing parameter
+     * @param tag          The tag
+     * @param dc           The dc
+     * @param stale        Whether any server can answer, see {@link ConsistencyMode#stale()}
+     * @param consistent   Whether the leader must confirm its leadership, see {@link ConsistencyMode#consistent()}
+     * @param cached       Whether the agent cache can answer, see {@link ConsistencyMode#cached()}
+     * @param cacheControl The {@code Cache-Control} header, see {@link ConsistencyMode#cacheControl(java.time.Duration)}
+     * @param near         The node to sort the instances by estimated round trip time from, {@code _agent} for the
+     *                     local agent
+     * @return A {@link Publisher} that emits the response, carrying the {@code X-Consul-LastContact},
+     * {@code X-Consul-KnownLeader} and {@code X-Cache} headers
+     * @since 4.6.0
+     */
+    default Publisher<HttpResponse<List<ConsulHealthEntry>>> queryHealthyServices(
+        @NotNull String service,
+        @Nullable Boolean passing,
+        @Nullable String tag,
+        @Nullable String dc,
+        @Nullable Boolean stale,
+        @Nullable Boolean consistent,
+        @Nullable Boolean cached,
+        @Nullable String cacheControl,
+        @Nullable String near) {
+        return Publishers.map(findHealthyServices(service, passing, tag, dc), HttpResponse::ok);
+    }
+
+    /**
+     * Reads the <a href="https://developer.hashicorp.com/consul/api-docs/coordinate#read-lan-coordinates-for-all-nodes">LAN
+     * network coordinates</a> of the nodes.
+     *
+     * <p>The default implementation returns no coordinates.</p>
+     *
+     * @param dc The dc, {@code null} for the datacenter of the local agent
+     * @return A {@link Publisher} that emits the coordinates of the nodes
+     * @since 4.6.0
+     */
+    default Publisher<List<ConsulNodeCoordinate>> getNodeCoordinates(@Nullable String dc) {
+        return Publishers.just(Collections.emptyList());
+    }
+
     /**
      * Gets all of the registered nodes.
      *
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.client.v1;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+
+import java.time.Duration;
+
+/**
+ * The consistency related headers of a Consul response.
+ *
+ * @param lastContact How long ago the server answering the query last contacted the leader, for stale reads
+ * @param knownLeader Whether the server answering the query knows the leader
+ * @param cacheHit    Whether the query was answered from the agent cache, {@code null} if the cache was not used
+ * @param cacheAge    The age of the cached result, for cache hits
+ * @since 4.6.0
+ */
+public record ConsulResponseMetadata(@Nullable Duration lastContact,
+                                     @Nullable Boolean knownLeader,
+                                     @Nullable Boolean cacheHit,
+                                     @Nullable Duration cacheAge) {
+
+    private static final String CACHE_HIT = "HIT";
+
+    /**
+     * @param headers The response headers
+     * @return The metadata of the response
+     */
+    @NonNull
+    public static ConsulResponseMetadata of(@NonNull HttpHeaders headers) {
+        String lastContact = headers.get(ConsulClient.HEADER_CONSUL_LAST_CONTACT);
+        String knownLeader = headers.get(ConsulClient.HEADER_CONSUL_KNOWN_LEADER);
+        String cache = headers.get(ConsulClient.HEADER_CACHE);
+        String age = headers.get(HttpHeaders.AGE);
+        return new ConsulResponseMetadata(
+            parseLong(lastContact) != null ? Duration.ofMillis(parseLong(lastContact)) : null,
+            knownLeader != null ? Boolean.valueOf(knownLeader) : null,
+            cache != null ? CACHE_HIT.equalsIgnoreCase(cache) : null,
+            parseLong(age) != null ? Duration.ofSeconds(parseLong(age)) : null
+        );
+    }
+
+    @Nullable
+    private static Long parseLong(@Nullable String value) {
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                // ignore
+            }
+        }
+        return null;
+    }
+}
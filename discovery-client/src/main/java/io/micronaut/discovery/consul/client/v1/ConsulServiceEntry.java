@@ -16,6 +16,7 @@
 package io.micronaut.discovery.consul.client.v1;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micronaut.core.annotation.Creator;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.serde.annotation.Serdeable;
 
@@ -33,6 +34,7 @@ import java.util.Map;
  * @param tags A list of tags to assign to the service
  * @param id Unique ID of the service
  * @param meta Arbitrary KV metadata linked to the service instance.
+ * @param weights The weights of the service, since 4.6.0
  */
 @Serdeable
 public record ConsulServiceEntry(
@@ -56,5 +58,35 @@ public record ConsulServiceEntry(
 
     @Nullable
     @JsonProperty("Meta")
-    Map<String, String> meta) {
+    Map<String, String> meta,
+
+    @Nullable
+    @JsonProperty("Weights")
+    ConsulWeights weights) {
+
+    /**
+     * Canonical constructor.
+     */
+    @Creator
+    public ConsulServiceEntry {
+    }
+
+    /**
+     * Constructs an entry without weights.
+     *
+     * @param service The service
+     * @param address The address of the service
+     * @param port The port of the service
+     * @param tags A list of tags to assign to the service
+     * @param id Unique ID of the service
+     * @param meta Arbitrary KV metadata linked to the service instance.
+     */
+    public ConsulServiceEntry(String service,
+                              @Nullable String address,
+                              @Nullable Integer port,
+                              @Nullable List<String> tags,
+                              @Nullable String id,
+                              @Nullable Map<String, String> meta) {
+        this(service, address, port, tags, id, meta, null);
+    }
 }
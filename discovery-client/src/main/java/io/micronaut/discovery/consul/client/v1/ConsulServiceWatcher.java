@@ -0,0 +1,218 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.client.v1;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.client.ServiceInstanceSnapshot;
+import io.micronaut.http.HttpResponse;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Keeps a local copy of the instances of each requested service current using Consul
+ * <a href="https://developer.hashicorp.com/consul/api-docs/features/blocking">blocking queries</a>, so that
+ * lookups are answered from memory and Consul only sees one long poll per watched service. The instances are held as
+ * a {@link ServiceInstanceSnapshot} that is only rebuilt when Consul reports a change.
+ *
+ * <p>A watch whose service was not looked up for the idle timeout is stopped when its next query is due, so that
+ * services resolved once do not keep a long poll open forever.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class ConsulServiceWatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConsulServiceWatcher.class);
+
+    private final Map<String, ServiceWatch> watches = new ConcurrentHashMap<>();
+    private final WatchQuery query;
+    private final BiFunction<String, List<ConsulHealthEntry>, List<ServiceInstance>> instanceFactory;
+    private final Duration retryDelay;
+    private final long idleTimeoutNanos;
+    private volatile boolean closed;
+
+    /**
+     * @param query           The blocking query to issue
+     * @param instanceFactory Converts the health entries of a service to service instances
+     * @param retryDelay      The delay before retrying a failed query
+     * @param idleTimeout     The duration after which a watch that is not read is stopped
+     */
+    ConsulServiceWatcher(WatchQuery query,
+                         BiFunction<String, List<ConsulHealthEntry>, List<ServiceInstance>> instanceFactory,
+                         Duration retryDelay,
+                         Duration idleTimeout) {
+        this.query = query;
+        this.instanceFactory = instanceFactory;
+        this.retryDelay = retryDelay;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    /**
+     * Returns the instances of the given service, starting a watch if the service is not yet watched.
+     *
+     * @param serviceId The service ID
+     * @return A publisher that emits the current instances
+     */
+    Publisher<List<ServiceInstance>> getInstances(@NonNull String serviceId) {
+        ServiceWatch watch = watches.get(serviceId);
+        if (watch == null) {
+            ServiceWatch newWatch = new ServiceWatch(serviceId);
+            watch = watches.putIfAbsent(serviceId, newWatch);
+            if (watch == null) {
+                watch = newWatch;
+                poll(watch);
+            }
+        }
+        watch.lastRead = System.nanoTime();
+        ServiceInstanceSnapshot instances = watch.instances;
+        if (instances != null) {
+            return instances.asPublisher();
+        }
+        return watch.initial.asMono();
+    }
+
+    /**
+     * @return The number of services currently watched
+     */
+    int getWatchCount() {
+        return watches.size();
+    }
+
+    /**
+     * Stops all watches.
+     */
+    void close() {
+        closed = true;
+        for (ServiceWatch watch : watches.values()) {
+            Disposable pending = watch.pending;
+            if (pending != null) {
+                pending.dispose();
+            }
+        }
+        watches.clear();
+    }
+
+    private void poll(ServiceWatch watch) {
+        if (closed) {
+            return;
+        }
+        if (watch.instances != null && System.nanoTime() - watch.lastRead >= idleTimeoutNanos) {
+            // the next lookup starts a new watch
+            watches.remove(watch.serviceId, watch);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Stopped idle watch of service [{}]", watch.serviceId);
+            }
+            return;
+        }
+        Long index = watch.index > 0 ? watch.index : null;
+        watch.pending = Mono.from(query.query(watch.serviceId, index))
+            .subscribe(
+                response -> onResponse(watch, response),
+                throwable -> onError(watch, throwable)
+            );
+    }
+
+    private void onResponse(ServiceWatch watch, HttpResponse<List<ConsulHealthEntry>> response) {
+        long newIndex = BlockingQueries.parseIndex(response.getHeaders());
+        long previousIndex = watch.index;
+        if (watch.instances == null || newIndex <= 0 || newIndex != previousIndex) {
+            List<ConsulHealthEntry> healthEntries = response.getBody().orElse(Collections.emptyList());
+            ServiceInstanceSnapshot instances = ServiceInstanceSnapshot.of(instanceFactory.apply(watch.serviceId, healthEntries));
+            watch.instances = instances;
+            watch.initial.tryEmitValue(instances);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Updated instances of watched service [{}] at index {}: {}", watch.serviceId, newIndex, instances.size());
+            }
+        }
+        if (newIndex <= 0) {
+            // no blocking support, fall back to polling
+            watch.index = 0;
+            schedule(watch);
+        } else {
+            // the index can go backwards, for example after a leader change, in which case the watch is reset
+            watch.index = newIndex < previousIndex ? 0 : newIndex;
+            poll(watch);
+        }
+    }
+
+    private void onError(ServiceWatch watch, Throwable throwable) {
+        if (closed) {
+            return;
+        }
+        if (watch.instances == null) {
+            // nothing to serve yet, report the error and let the next lookup start over
+            watches.remove(watch.serviceId, watch);
+            watch.initial.tryEmitError(throwable);
+        } else {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Error watching instances of service [{}], serving last known instances: {}", watch.serviceId, throwable.getMessage());
+            }
+            watch.index = 0;
+            schedule(watch);
+        }
+    }
+
+    private void schedule(ServiceWatch watch) {
+        if (!closed) {
+            watch.pending = Mono.delay(retryDelay).subscribe(tick -> poll(watch));
+        }
+    }
+
+    /**
+     * Issues the blocking query for a service.
+     */
+    @FunctionalInterface
+    interface WatchQuery {
+
+        /**
+         * @param serviceId The service ID
+         * @param index     The index of the previous response, or {@code null} for the first query
+         * @return A publisher that emits the response
+         */
+        Publisher<HttpResponse<List<ConsulHealthEntry>>> query(@NonNull String serviceId, @Nullable Long index);
+    }
+
+    /**
+     * The state of a single watched service.
+     */
+    private static final class ServiceWatch {
+        private final String serviceId;
+        private final Sinks.One<List<ServiceInstance>> initial = Sinks.one();
+        private volatile ServiceInstanceSnapshot instances;
+        private volatile long index;
+        private volatile Disposable pending;
+        private volatile long lastRead;
+
+        private ServiceWatch(String serviceId) {
+            this.serviceId = serviceId;
+            this.lastRead = System.nanoTime();
+        }
+    }
+}
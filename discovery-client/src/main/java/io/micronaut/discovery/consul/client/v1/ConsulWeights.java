@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.client.v1;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micronaut.serde.annotation.Serdeable;
+
+/**
+ * The <a href="https://developer.hashicorp.com/consul/api-docs/agent/service#weights">weights</a> of a service
+ * instance in DNS SRV responses and weighted load balancing, depending on its health.
+ *
+ * @param passing The weight of the instance when its checks are passing
+ * @param warning The weight of the instance when one of its checks is in the warning state
+ * @since 4.6.0
+ */
+@Serdeable
+public record ConsulWeights(@JsonProperty("Passing") int passing,
+                            @JsonProperty("Warning") int warning) {
+}
@@ -25,13 +25,18 @@ import io.micronaut.context.env.PropertySourceLoader;
 import io.micronaut.context.env.yaml.YamlPropertySourceLoader;
 import io.micronaut.context.exceptions.ConfigurationException;
 import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.core.io.buffer.ReferenceCounted;
 import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.discovery.client.ClientUtil;
 import io.micronaut.discovery.config.ConfigDiscoveryConfiguration;
 import io.micronaut.discovery.config.ConfigurationClient;
 import io.micronaut.discovery.consul.ConsulConfiguration;
+import io.micronaut.discovery.consul.client.v1.ConsistencyMode;
 import io.micronaut.discovery.consul.client.v1.ConsulClient;
+import io.micronaut.discovery.consul.client.v1.ConsulKeyValueStreamClient;
+import io.micronaut.discovery.consul.client.v1.ConsulResponseMetadata;
 import io.micronaut.discovery.consul.client.v1.KeyValue;
 import io.micronaut.discovery.consul.condition.RequiresConsul;
 import io.micronaut.http.HttpStatus;
@@ -42,16 +47,21 @@ import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -77,10 +87,18 @@ public class ConsulConfigurationClient implements ConfigurationClient {
      */
     private static final String MATCHING_APPLICATION = "^(application|%s)(\\[[a-zA-Z0-9_-]+])?$";
 
+    private static final int DEFAULT_STREAM_RETRY_COUNT = 3;
+    private static final int DEFAULT_STREAM_RETRY_DELAY_SECONDS = 1;
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConsulConfigurationClient.class);
+
     private final ConsulClient consulClient;
     private final ConsulConfiguration consulConfiguration;
     private final Map<String, PropertySourceLoader> loaderByFormatMap = new ConcurrentHashMap<>();
     private ExecutorService executionService;
+    private ConsulKeyValueStreamClient keyValueStreamClient;
+    private int streamRetryCount = DEFAULT_STREAM_RETRY_COUNT;
+    private Duration streamRetryDelay = Duration.ofSeconds(DEFAULT_STREAM_RETRY_DELAY_SECONDS);
 
     /**
      * @param consulClient        The consul client
@@ -98,6 +116,10 @@ public class ConsulConfigurationClient implements ConfigurationClient {
                     loaderByFormatMap.put(extension, loader);
                 }
             }
+            // same settings as the retries of ConsulOperations#readValues
+            String prefix = ConsulConfiguration.ConsulConfigDiscoveryConfiguration.PREFIX;
+            this.streamRetryCount = environment.getProperty(prefix + ".retry-count", Integer.class).orElse(DEFAULT_STREAM_RETRY_COUNT);
+            this.streamRetryDelay = environment.getProperty(prefix + ".retry-delay", Duration.class).orElse(streamRetryDelay);
         }
     }
 
@@ -106,27 +128,72 @@ public class ConsulConfigurationClient implements ConfigurationClient {
         return consulClient.getDescription();
     }
 
-    @SuppressWarnings("MagicNumber")
     @Override
     public Publisher<PropertySource> getPropertySources(Environment environment) {
         if (!consulConfiguration.getConfiguration().isEnabled()) {
             return Flux.empty();
         }
 
-        List<String> activeNames = new ArrayList<>(environment.getActiveNames());
+        String dc = consulConfiguration.getConfiguration().getDatacenter().orElse(null);
+
+        Scheduler scheduler = null;
+        if (executionService != null) {
+            scheduler = Schedulers.fromExecutor(executionService);
+        }
+
+        Supplier<KeyValueReader> readerFactory = () -> newReader(environment);
+
+        List<Flux<PropertySource>> propertySourceFlowables = new ArrayList<>();
+        for (String key : getConfigurationKeys()) {
+            propertySourceFlowables.add(readPropertySources(key, dc, readerFactory, scheduler));
+        }
+        return Flux.merge(propertySourceFlowables);
+    }
+
+    /**
+     * @return The keys under which the configuration of this application is stored, the common configuration first
+     * @since 4.6.0
+     */
+    List<String> getConfigurationKeys() {
+        String path = resolvePath();
         Optional<String> serviceId = consulConfiguration.getServiceId();
-        ConsulConfiguration.ConsulConfigDiscoveryConfiguration configDiscoveryConfiguration = consulConfiguration.getConfiguration();
+        if (serviceId.isPresent()) {
+            return List.of(path + Environment.DEFAULT_NAME, path + serviceId.get());
+        }
+        return List.of(path + Environment.DEFAULT_NAME);
+    }
+
+    /**
+     * Resolves the property sources of key values read by other means than this client, for example by a blocking
+     * query.
+     *
+     * @param environment The environment
+     * @param keyValues   The key values of one of the {@link #getConfigurationKeys() configuration keys}
+     * @return The property sources
+     * @since 4.6.0
+     */
+    List<PropertySource> getPropertySources(Environment environment, List<KeyValue> keyValues) {
+        KeyValueReader reader = newReader(environment);
+        readKeyValues(reader, keyValues);
+        return reader.getPropertySources();
+    }
 
-        ConfigDiscoveryConfiguration.Format format = configDiscoveryConfiguration.getFormat();
-        String path = configDiscoveryConfiguration.getPath().orElse(ConfigDiscoveryConfiguration.DEFAULT_PATH);
+    private String resolvePath() {
+        String path = consulConfiguration.getConfiguration().getPath().orElse(ConfigDiscoveryConfiguration.DEFAULT_PATH);
         if (!path.endsWith("/")) {
             path += "/";
         }
+        return path;
+    }
+
+    private KeyValueReader newReader(Environment environment) {
+        List<String> activeNames = new ArrayList<>(environment.getActiveNames());
+        Optional<String> serviceId = consulConfiguration.getServiceId();
+        ConfigDiscoveryConfiguration.Format format = consulConfiguration.getConfiguration().getFormat();
 
-        String pathPrefix = path;
-        String commonConfigPath = path + Environment.DEFAULT_NAME;
-        final boolean hasApplicationSpecificConfig = serviceId.isPresent();
-        String applicationSpecificPath = hasApplicationSpecificConfig ? path + serviceId.get() : null;
+        String pathPrefix = resolvePath();
+        String commonConfigPath = pathPrefix + Environment.DEFAULT_NAME;
+        String applicationSpecificPath = serviceId.map(id -> pathPrefix + id).orElse(null);
 
         final Optional<Pattern> patternApplication = serviceId
             .map(args -> String.format(MATCHING_APPLICATION, args))
@@ -136,157 +203,119 @@ public class ConsulConfigurationClient implements ConfigurationClient {
             .map(Matcher::matches)
             .orElse(Boolean.TRUE);
 
-        String dc = configDiscoveryConfiguration.getDatacenter().orElse(null);
+        return new KeyValueReader(
+            format,
+            activeNames,
+            serviceId.orElse(null),
+            pathPrefix,
+            commonConfigPath,
+            applicationSpecificPath,
+            isMatchingApplication
+        );
+    }
 
-        Scheduler scheduler = null;
-        if (executionService != null) {
-            scheduler = Schedulers.fromExecutor(executionService);
+    private static void readKeyValues(KeyValueReader reader, List<KeyValue> keyValues) {
+        Base64.Decoder base64Decoder = Base64.getDecoder();
+        for (KeyValue keyValue : keyValues) {
+            String key = keyValue.getKey();
+            String value = keyValue.getValue();
+            boolean isFolder = key.endsWith("/") && value == null;
+            if (!isFolder && value != null && reader.accepts(key)) {
+                reader.read(key, () -> base64Decoder.decode(value));
+            }
         }
-        List<Flux<List<KeyValue>>> keyValueFlowables = new ArrayList<>();
+    }
 
-        Function<Throwable, Publisher<? extends List<KeyValue>>> errorHandler = throwable -> {
-            if (throwable instanceof HttpClientResponseException hcre && hcre.getStatus() == HttpStatus.NOT_FOUND) {
+    private Flux<PropertySource> readPropertySources(String path,
+                                                     @Nullable String dc,
+                                                     Supplier<KeyValueReader> readerFactory,
+                                                     @Nullable Scheduler scheduler) {
+        Flux<PropertySource> propertySources;
+        // the key/value store does not support agent caching
+        ConsistencyMode mode = consulConfiguration.getConfiguration().getConsistencyMode().withoutCaching();
+        if (consulConfiguration.getConfiguration().isStreaming() && keyValueStreamClient != null) {
+            propertySources = Flux.<PropertySource>defer(() -> {
+                KeyValueReader reader = readerFactory.get();
+                KeyValueStreamParser parser = new KeyValueStreamParser(reader::accepts, reader::read);
+                Publisher<ByteBuffer<?>> chunks = mode == ConsistencyMode.DEFAULT
+                    ? keyValueStreamClient.readValuesStream(path, dc)
+                    : keyValueStreamClient.readValuesStream(path, dc, mode.stale(), mode.consistent());
+                return Flux.from(chunks)
+                    .concatMap(chunk -> {
+                        try {
+                            // the parser consumes the chunk before it is released
+                            parser.feed(chunk.asNioBuffer());
+                        } catch (IOException e) {
+                            return Flux.<Void>error(e);
+                        } finally {
+                            if (chunk instanceof ReferenceCounted referenceCounted) {
+                                referenceCounted.release();
+                            }
+                        }
+                        return Flux.<Void>empty();
+                    })
+                    .thenMany(Flux.<PropertySource>defer(() -> {
+                        try {
+                            parser.complete();
+                        } catch (IOException e) {
+                            return Flux.error(e);
+                        }
+                        return Flux.fromIterable(reader.getPropertySources());
+                    }));
+            }).retryWhen(Retry.fixedDelay(streamRetryCount, streamRetryDelay)
+                .filter(throwable -> !isNotFound(throwable) && !(throwable instanceof ConfigurationException))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+        } else {
+            propertySources = queryKeyValues(path, dc, mode)
+                .flatMap(keyValues -> Flux.<PropertySource>create(emitter -> {
+                    if (CollectionUtils.isEmpty(keyValues)) {
+                        emitter.complete();
+                    } else {
+                        KeyValueReader reader = readerFactory.get();
+                        try {
+                            readKeyValues(reader, keyValues);
+                        } catch (ConfigurationException e) {
+                            emitter.error(e);
+                            return;
+                        }
+                        for (PropertySource propertySource : reader.getPropertySources()) {
+                            emitter.next(propertySource);
+                        }
+                        emitter.complete();
+                    }
+                }, FluxSink.OverflowStrategy.ERROR));
+        }
+        propertySources = propertySources.onErrorResume(throwable -> {
+            if (isNotFound(throwable)) {
                 return Flux.empty();
             }
+            if (throwable instanceof ConfigurationException) {
+                return Flux.error(throwable);
+            }
             return Flux.error(new ConfigurationException("Error reading distributed configuration from Consul: " + throwable.getMessage(), throwable));
-        };
-
-        Flux<List<KeyValue>> applicationConfig = Flux.from(
-                consulClient.readValues(commonConfigPath, dc, null, null))
-                .onErrorResume(errorHandler);
+        });
         if (scheduler != null) {
-            applicationConfig = applicationConfig.subscribeOn(scheduler);
-        }
-        keyValueFlowables.add(applicationConfig);
-
-        if (hasApplicationSpecificConfig) {
-            Flux<List<KeyValue>> appSpecificConfig = Flux.from(
-                    consulClient.readValues(applicationSpecificPath, dc, null, null))
-                    .onErrorResume(errorHandler);
-            if (scheduler != null) {
-                appSpecificConfig = appSpecificConfig.subscribeOn(scheduler);
-            }
-            keyValueFlowables.add(appSpecificConfig);
+            propertySources = propertySources.subscribeOn(scheduler);
         }
+        return propertySources;
+    }
 
-        int basePriority = EnvironmentPropertySource.POSITION + 100;
-        int envBasePriority = basePriority + 50;
-
-        return Flux.merge(keyValueFlowables).flatMap(keyValues -> Flux.create(emitter -> {
-            if (CollectionUtils.isEmpty(keyValues)) {
-                emitter.complete();
-            } else {
-                Map<String, LocalSource> propertySources = new HashMap<>();
-                Base64.Decoder base64Decoder = Base64.getDecoder();
-
-                for (KeyValue keyValue : keyValues) {
-                    String key = keyValue.getKey();
-                    String value = keyValue.getValue();
-                    boolean isFolder = key.endsWith("/") && value == null;
-                    boolean isCommonConfigKey = key.startsWith(commonConfigPath);
-                    boolean isApplicationSpecificConfigKey = hasApplicationSpecificConfig && key.startsWith(applicationSpecificPath);
-                    boolean validKey = isCommonConfigKey || isApplicationSpecificConfigKey;
-                    if (!isFolder && validKey) {
-
-                        switch (format) {
-                            case FILE:
-                                String fileName = key.substring(pathPrefix.length());
-                                int i = fileName.lastIndexOf('.');
-                                if (i > -1) {
-                                    String ext = fileName.substring(i + 1);
-                                    fileName = fileName.substring(0, i);
-                                    PropertySourceLoader propertySourceLoader = resolveLoader(ext);
-                                    if (propertySourceLoader != null) {
-                                        String propertySourceName = resolvePropertySourceName(Environment.DEFAULT_NAME, fileName, activeNames);
-                                        if (hasApplicationSpecificConfig && propertySourceName == null) {
-                                            propertySourceName = resolvePropertySourceName(serviceId.get(), fileName, activeNames);
-                                        }
-                                        if (propertySourceName != null && isMatchingApplication.test(propertySourceName)) {
-                                            String finalName = propertySourceName;
-                                            byte[] decoded = base64Decoder.decode(value);
-                                            Map<String, Object> properties = propertySourceLoader.read(propertySourceName, decoded);
-                                            String envName = ClientUtil.resolveEnvironment(finalName, activeNames);
-                                            LocalSource localSource = propertySources.computeIfAbsent(propertySourceName, s -> new LocalSource(isApplicationSpecificConfigKey, envName, finalName));
-                                            localSource.putAll(properties);
-                                        }
-                                    }
-                                }
-                                break;
-
-                            case NATIVE:
-                                String property = null;
-                                Set<String> propertySourceNames = null;
-                                if (isCommonConfigKey) {
-                                    property = resolvePropertyName(commonConfigPath, key);
-                                    propertySourceNames = resolvePropertySourceNames(pathPrefix, key, activeNames);
-
-                                } else if (isApplicationSpecificConfigKey) {
-                                    property = resolvePropertyName(applicationSpecificPath, key);
-                                    propertySourceNames = resolvePropertySourceNames(pathPrefix, key, activeNames);
-                                }
-                                if (property != null && propertySourceNames != null) {
-                                    for (String propertySourceName : propertySourceNames) {
-                                        if (isMatchingApplication.test(propertySourceName)) {
-                                            String envName = ClientUtil.resolveEnvironment(propertySourceName, activeNames);
-                                            LocalSource localSource = propertySources.computeIfAbsent(propertySourceName, s -> new LocalSource(isApplicationSpecificConfigKey, envName, propertySourceName));
-                                            byte[] decoded = base64Decoder.decode(value);
-                                            localSource.put(property, new String(decoded));
-                                        }
-                                    }
-                                }
-                                break;
-
-                            case JSON, YAML, PROPERTIES:
-                                String fullName = key.substring(pathPrefix.length());
-                                if (!fullName.contains("/")) {
-                                    propertySourceNames = ClientUtil.calcPropertySourceNames(fullName, activeNames, ",");
-                                    String formatName = format.name().toLowerCase(Locale.ENGLISH);
-                                    PropertySourceLoader propertySourceLoader = resolveLoader(formatName);
-
-                                    if (propertySourceLoader == null) {
-                                        emitter.error(new ConfigurationException("No PropertySourceLoader found for format [" + format + "]. Ensure ConfigurationClient is running within Micronaut container."));
-                                        return;
-                                    } else {
-                                        if (propertySourceLoader.isEnabled()) {
-                                            byte[] decoded = base64Decoder.decode(value);
-                                            Map<String, Object> properties = propertySourceLoader.read(fullName, decoded);
-                                            for (String propertySourceName : propertySourceNames) {
-                                                if (isMatchingApplication.test(propertySourceName)) {
-                                                    String envName = ClientUtil.resolveEnvironment(propertySourceName, activeNames);
-                                                    LocalSource localSource = propertySources.computeIfAbsent(propertySourceName, s -> new LocalSource(isApplicationSpecificConfigKey, envName, propertySourceName));
-                                                    localSource.putAll(properties);
-                                                }
-                                            }
-                                        }
-                                    }
-                                }
-                                break;
-                            default:
-                                // no-op
-                        }
-                    }
+    private Flux<List<KeyValue>> queryKeyValues(String path, @Nullable String dc, ConsistencyMode mode) {
+        if (mode == ConsistencyMode.DEFAULT) {
+            return Flux.from(consulClient.readValues(path, dc, null, null));
+        }
+        return Flux.from(consulClient.queryValues(path, dc, mode.stale(), mode.consistent()))
+            .map(response -> {
+                if (LOG.isDebugEnabled()) {
+                    ConsulResponseMetadata responseMetadata = ConsulResponseMetadata.of(response.getHeaders());
+                    LOG.debug("Read configuration from Consul path [{}] in {} mode, last contact with the leader: {}", path, mode, responseMetadata.lastContact());
                 }
+                return response.getBody().orElse(Collections.emptyList());
+            });
+    }
 
-                for (LocalSource localSource: propertySources.values()) {
-                    int priority;
-                    if (localSource.appSpecific) {
-                        if (localSource.environment != null) {
-                            priority = envBasePriority + ((activeNames.indexOf(localSource.environment) + 1) * 2);
-                        } else {
-                            priority = envBasePriority + 1;
-                        }
-                    } else {
-                        if (localSource.environment != null) {
-                            priority = basePriority + ((activeNames.indexOf(localSource.environment) + 1) * 2);
-                        } else {
-                            priority = basePriority + 1;
-                        }
-                    }
-                    emitter.next(PropertySource.of(ConsulClient.SERVICE_ID + '-' + localSource.name, localSource.values, priority));
-                }
-                emitter.complete();
-            }
-        }, FluxSink.OverflowStrategy.ERROR));
+    private static boolean isNotFound(Throwable throwable) {
+        return throwable instanceof HttpClientResponseException hcre && hcre.getStatus() == HttpStatus.NOT_FOUND;
     }
 
     private String resolvePropertySourceName(String rootName, String fileName, List<String> activeNames) {
@@ -328,6 +357,15 @@ public class ConsulConfigurationClient implements ConfigurationClient {
         }
     }
 
+    /**
+     * @param keyValueStreamClient The client used to stream the key/value store
+     * @since 4.6.0
+     */
+    @Inject
+    void setKeyValueStreamClient(@Nullable ConsulKeyValueStreamClient keyValueStreamClient) {
+        this.keyValueStreamClient = keyValueStreamClient;
+    }
+
     private Set<String> resolvePropertySourceNames(String finalPath, String key, List<String> activeNames) {
         Set<String> propertySourceNames = null;
         String prefix = key.substring(finalPath.length());
@@ -355,6 +393,161 @@ public class ConsulConfigurationClient implements ConfigurationClient {
         return null;
     }
 
+    /**
+     * Collects the property sources of the keys read from Consul.
+     */
+    private final class KeyValueReader {
+
+        private final ConfigDiscoveryConfiguration.Format format;
+        private final List<String> activeNames;
+        private final String serviceId;
+        private final String pathPrefix;
+        private final String commonConfigPath;
+        private final String applicationSpecificPath;
+        private final Predicate<String> isMatchingApplication;
+        private final Map<String, LocalSource> propertySources = new HashMap<>();
+
+        KeyValueReader(ConfigDiscoveryConfiguration.Format format,
+                       List<String> activeNames,
+                       @Nullable String serviceId,
+                       String pathPrefix,
+                       String commonConfigPath,
+                       @Nullable String applicationSpecificPath,
+                       Predicate<String> isMatchingApplication) {
+            this.format = format;
+            this.activeNames = activeNames;
+            this.serviceId = serviceId;
+            this.pathPrefix = pathPrefix;
+            this.commonConfigPath = commonConfigPath;
+            this.applicationSpecificPath = applicationSpecificPath;
+            this.isMatchingApplication = isMatchingApplication;
+        }
+
+        /**
+         * @param key The key
+         * @return Whether the key belongs to the configuration of this application
+         */
+        boolean accepts(String key) {
+            return key.startsWith(commonConfigPath) || (applicationSpecificPath != null && key.startsWith(applicationSpecificPath));
+        }
+
+        /**
+         * Reads an accepted key. The value is only decoded if the key maps to a property source.
+         *
+         * @param key   The key
+         * @param value Supplies the decoded value
+         */
+        void read(String key, Supplier<byte[]> value) {
+            boolean isCommonConfigKey = key.startsWith(commonConfigPath);
+            boolean isApplicationSpecificConfigKey = applicationSpecificPath != null && key.startsWith(applicationSpecificPath);
+            switch (format) {
+                case FILE:
+                    String fileName = key.substring(pathPrefix.length());
+                    int i = fileName.lastIndexOf('.');
+                    if (i > -1) {
+                        String ext = fileName.substring(i + 1);
+                        fileName = fileName.substring(0, i);
+                        PropertySourceLoader propertySourceLoader = resolveLoader(ext);
+                        if (propertySourceLoader != null) {
+                            String propertySourceName = resolvePropertySourceName(Environment.DEFAULT_NAME, fileName, activeNames);
+                            if (serviceId != null && propertySourceName == null) {
+                                propertySourceName = resolvePropertySourceName(serviceId, fileName, activeNames);
+                            }
+                            if (propertySourceName != null && isMatchingApplication.test(propertySourceName)) {
+                                String finalName = propertySourceName;
+                                Map<String, Object> properties = propertySourceLoader.read(propertySourceName, value.get());
+                                String envName = ClientUtil.resolveEnvironment(finalName, activeNames);
+                                LocalSource localSource = propertySources.computeIfAbsent(propertySourceName, s -> new LocalSource(isApplicationSpecificConfigKey, envName, finalName));
+                                localSource.putAll(properties);
+                            }
+                        }
+                    }
+                    break;
+
+                case NATIVE:
+                    String property = null;
+                    Set<String> propertySourceNames = null;
+                    if (isCommonConfigKey) {
+                        property = resolvePropertyName(commonConfigPath, key);
+                        propertySourceNames = resolvePropertySourceNames(pathPrefix, key, activeNames);
+
+                    } else if (isApplicationSpecificConfigKey) {
+                        property = resolvePropertyName(applicationSpecificPath, key);
+                        propertySourceNames = resolvePropertySourceNames(pathPrefix, key, activeNames);
+                    }
+                    if (property != null && propertySourceNames != null) {
+                        String decoded = null;
+                        for (String propertySourceName : propertySourceNames) {
+                            if (isMatchingApplication.test(propertySourceName)) {
+                                String envName = ClientUtil.resolveEnvironment(propertySourceName, activeNames);
+                                LocalSource localSource = propertySources.computeIfAbsent(propertySourceName, s -> new LocalSource(isApplicationSpecificConfigKey, envName, propertySourceName));
+                                if (decoded == null) {
+                                    decoded = new String(value.get());
+                                }
+                                localSource.put(property, decoded);
+                            }
+                        }
+                    }
+                    break;
+
+                case JSON, YAML, PROPERTIES:
+                    String fullName = key.substring(pathPrefix.length());
+                    if (!fullName.contains("/")) {
+                        propertySourceNames = ClientUtil.calcPropertySourceNames(fullName, activeNames, ",");
+                        String formatName = format.name().toLowerCase(Locale.ENGLISH);
+                        PropertySourceLoader propertySourceLoader = resolveLoader(formatName);
+
+                        if (propertySourceLoader == null) {
+                            throw new ConfigurationException("No PropertySourceLoader found for format [" + format + "]. Ensure ConfigurationClient is running within Micronaut container.");
+                        } else {
+                            if (propertySourceLoader.isEnabled()) {
+                                Map<String, Object> properties = propertySourceLoader.read(fullName, value.get());
+                                for (String propertySourceName : propertySourceNames) {
+                                    if (isMatchingApplication.test(propertySourceName)) {
+                                        String envName = ClientUtil.resolveEnvironment(propertySourceName, activeNames);
+                                        LocalSource localSource = propertySources.computeIfAbsent(propertySourceName, s -> new LocalSource(isApplicationSpecificConfigKey, envName, propertySourceName));
+                                        localSource.putAll(properties);
+                                    }
+                                }
+                            }
+                        }
+                    }
+                    break;
+                default:
+                    // no-op
+            }
+        }
+
+        /**
+         * @return The property sources of the keys read so far
+         */
+        @SuppressWarnings("MagicNumber")
+        List<PropertySource> getPropertySources() {
+            int basePriority = EnvironmentPropertySource.POSITION + 100;
+            int envBasePriority = basePriority + 50;
+
+            List<PropertySource> result = new ArrayList<>(propertySources.size());
+            for (LocalSource localSource: propertySources.values()) {
+                int priority;
+                if (localSource.appSpecific) {
+                    if (localSource.environment != null) {
+                        priority = envBasePriority + ((activeNames.indexOf(localSource.environment) + 1) * 2);
+                    } else {
+                        priority = envBasePriority + 1;
+                    }
+                } else {
+                    if (localSource.environment != null) {
+                        priority = basePriority + ((activeNames.indexOf(localSource.environment) + 1) * 2);
+                    } else {
+                        priority = basePriority + 1;
+                    }
+                }
+                result.add(PropertySource.of(ConsulClient.SERVICE_ID + '-' + localSource.name, localSource.values, priority));
+            }
+            return result;
+        }
+    }
+
     /**
      * A local property source.
      */
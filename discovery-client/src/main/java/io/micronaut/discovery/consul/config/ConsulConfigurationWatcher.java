@@ -0,0 +1,256 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.config;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.env.Environment;
+import io.micronaut.context.env.PropertySource;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.discovery.client.config.PropertySourceDiff;
+import io.micronaut.discovery.consul.ConsulConfiguration;
+import io.micronaut.discovery.consul.client.v1.BlockingQueries;
+import io.micronaut.discovery.consul.client.v1.ConsulClient;
+import io.micronaut.discovery.consul.client.v1.KeyValue;
+import io.micronaut.discovery.consul.condition.RequiresConsul;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.runtime.context.scope.refresh.RefreshEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Refreshes the configuration read by the {@link ConsulConfigurationClient} as soon as it changes in Consul.
+ *
+ * <p>A <a href="https://developer.hashicorp.com/consul/api-docs/features/blocking">blocking query</a> is kept open
+ * on each of the {@link ConsulConfigurationClient#getConfigurationKeys() configuration keys}. When the
+ * {@code X-Consul-Index} of a key advances, only the property sources of that key are recomputed and a
+ * {@link RefreshEvent} carrying the changed properties is published. The first response is compared with the
+ * property sources read at startup, so that a change made in between is not missed.</p>
+ *
+ * @since 4.6.0
+ */
+@Singleton
+@RequiresConsul
+@Requires(beans = ConsulConfigurationClient.class)
+@Requires(property = ConsulConfiguration.ConsulConfigDiscoveryConfiguration.PREFIX + ".watch.enabled", value = StringUtils.TRUE, defaultValue = StringUtils.FALSE)
+public class ConsulConfigurationWatcher implements ApplicationEventListener<StartupEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConsulConfigurationWatcher.class);
+
+    private final ConsulClient consulClient;
+    private final ConsulConfigurationClient configurationClient;
+    private final ConsulConfiguration consulConfiguration;
+    private final Environment environment;
+    private final ApplicationEventPublisher<RefreshEvent> eventPublisher;
+    private final List<KeyWatch> watches;
+    private volatile boolean closed;
+
+    /**
+     * @param consulClient        The Consul client
+     * @param configurationClient The configuration client
+     * @param consulConfiguration The Consul configuration
+     * @param environment         The environment
+     * @param eventPublisher      The publisher of refresh events
+     */
+    public ConsulConfigurationWatcher(ConsulClient consulClient,
+                                      ConsulConfigurationClient configurationClient,
+                                      ConsulConfiguration consulConfiguration,
+                                      Environment environment,
+                                      ApplicationEventPublisher<RefreshEvent> eventPublisher) {
+        this.consulClient = consulClient;
+        this.configurationClient = configurationClient;
+        this.consulConfiguration = consulConfiguration;
+        this.environment = environment;
+        this.eventPublisher = eventPublisher;
+        this.watches = configurationClient.getConfigurationKeys().stream().map(KeyWatch::new).toList();
+    }
+
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        if (consulConfiguration.getConfiguration().isEnabled()) {
+            for (KeyWatch watch : watches) {
+                poll(watch);
+            }
+        }
+    }
+
+    /**
+     * Stops watching the configuration.
+     */
+    @PreDestroy
+    void close() {
+        closed = true;
+        for (KeyWatch watch : watches) {
+            Disposable pending = watch.pending;
+            if (pending != null) {
+                pending.dispose();
+            }
+        }
+    }
+
+    private void poll(KeyWatch watch) {
+        if (closed) {
+            return;
+        }
+        Long index = watch.index > 0 ? watch.index : null;
+        String dc = consulConfiguration.getConfiguration().getDatacenter().orElse(null);
+        watch.pending = Mono.from(consulClient.watchValues(watch.key, dc, index, index != null ? resolveWait() : null))
+            .subscribe(
+                response -> onResponse(watch, response.getBody().orElse(Collections.emptyList()), BlockingQueries.parseIndex(response.getHeaders())),
+                throwable -> {
+                    if (throwable instanceof HttpClientResponseException hcre && hcre.getStatus() == HttpStatus.NOT_FOUND) {
+                        // no key under the watched key, which is a valid state
+                        onResponse(watch, Collections.emptyList(), BlockingQueries.parseIndex(hcre.getResponse().getHeaders()));
+                    } else {
+                        onError(watch, throwable);
+                    }
+                }
+            );
+    }
+
+    private void onResponse(KeyWatch watch, List<KeyValue> keyValues, long newIndex) {
+        long previousIndex = watch.index;
+        if (watch.sources == null || newIndex <= 0 || newIndex != previousIndex) {
+            try {
+                List<PropertySource> previous = watch.sources;
+                if (previous == null) {
+                    // the first response is compared with the configuration read at startup, which may be older
+                    previous = currentPropertySources(watch);
+                }
+                PropertySourceDiff diff = PropertySourceDiff.compare(previous, configurationClient.getPropertySources(environment, keyValues));
+                watch.sources = diff.getPropertySources();
+                refresh(diff);
+            } catch (RuntimeException e) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Error reading the configuration under [{}] from Consul, keeping the current configuration: {}", watch.key, e.getMessage());
+                }
+            }
+        }
+        if (newIndex <= 0) {
+            // no blocking support, fall back to polling
+            watch.index = 0;
+            schedule(watch);
+        } else {
+            // the index can go backwards, for example after a leader change, in which case the watch is reset
+            watch.index = newIndex < previousIndex ? 0 : newIndex;
+            poll(watch);
+        }
+    }
+
+    private void onError(KeyWatch watch, Throwable throwable) {
+        if (closed) {
+            return;
+        }
+        if (LOG.isWarnEnabled()) {
+            LOG.warn("Error watching the configuration under [{}] in Consul: {}", watch.key, throwable.getMessage());
+        }
+        watch.index = 0;
+        schedule(watch);
+    }
+
+    private void schedule(KeyWatch watch) {
+        if (!closed) {
+            watch.pending = Mono.delay(consulConfiguration.getConfiguration().getWatch().getRetryDelay()).subscribe(tick -> poll(watch));
+        }
+    }
+
+    private void refresh(PropertySourceDiff diff) {
+        if (diff.getChanges().isEmpty()) {
+            return;
+        }
+        if (diff.hasRemovals() || isShadowed(diff)) {
+            // properties can only be removed from the environment, or restored from a lower priority source, by a
+            // full refresh
+            Map<String, Object> changes = environment.refreshAndDiff();
+            if (!changes.isEmpty()) {
+                eventPublisher.publishEvent(new RefreshEvent(changes));
+            }
+        } else {
+            for (PropertySource propertySource : diff.getChangedPropertySources()) {
+                environment.addPropertySource(propertySource);
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Refreshing changed configuration properties from Consul: {}", diff.getChangedKeys());
+            }
+            eventPublisher.publishEvent(new RefreshEvent(diff.getChanges()));
+        }
+    }
+
+    /**
+     * Adding a property source overrides the current values of its properties, so the incremental refresh only
+     * applies when no property source with a higher priority defines one of the changed properties.
+     */
+    private boolean isShadowed(PropertySourceDiff diff) {
+        for (PropertySource changed : diff.getChangedPropertySources()) {
+            for (PropertySource propertySource : environment.getPropertySources()) {
+                if (propertySource.getOrder() > changed.getOrder() && !propertySource.getName().equals(changed.getName())) {
+                    for (String key : diff.getChangedKeys()) {
+                        if (propertySource.get(key) != null) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private String resolveWait() {
+        return BlockingQueries.resolveWait(consulConfiguration.getConfiguration().getWatch().getWait(), consulConfiguration.getReadTimeout().orElse(null));
+    }
+
+    /**
+     * The property sources of a key that were added to the environment when the configuration was read at startup,
+     * named after the last segment of the key.
+     */
+    private List<PropertySource> currentPropertySources(KeyWatch watch) {
+        String name = ConsulClient.SERVICE_ID + '-' + watch.key.substring(watch.key.lastIndexOf('/') + 1);
+        List<PropertySource> current = new ArrayList<>();
+        for (PropertySource propertySource : environment.getPropertySources()) {
+            String sourceName = propertySource.getName();
+            if (sourceName.equals(name) || sourceName.startsWith(name + '[')) {
+                current.add(propertySource);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * The state of a single watched key.
+     */
+    private static final class KeyWatch {
+        private final String key;
+        private volatile List<PropertySource> sources;
+        private volatile long index;
+        private volatile Disposable pending;
+
+        private KeyWatch(String key) {
+            this.key = key;
+        }
+    }
+}
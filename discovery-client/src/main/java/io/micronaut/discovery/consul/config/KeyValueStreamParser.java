@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import io.micronaut.core.annotation.Internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Incrementally parses the JSON array returned by a recursive read of the Consul key/value store.
+ *
+ * <p>The response is fed chunk by chunk as it arrives, from a {@link ByteBuffer} view of each chunk rather than a copy
+ * of it. Folders and keys that are not accepted are skipped without decoding their value, and accepted values are
+ * decoded from base64 straight out of the parser buffer, without going through an intermediate {@link String}.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class KeyValueStreamParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String FIELD_KEY = "Key";
+    private static final String FIELD_VALUE = "Value";
+    private static final int ENTRY_DEPTH = 2;
+
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+    private final Predicate<String> acceptKey;
+    private final BiConsumer<String, Supplier<byte[]>> consumer;
+
+    private int depth;
+    private String field;
+    private String key;
+    private String pendingValue;
+
+    /**
+     * @param acceptKey Whether the value of a key should be decoded
+     * @param consumer  Receives the accepted keys along with a supplier of their decoded value, only valid during
+     *                  the call
+     */
+    KeyValueStreamParser(Predicate<String> acceptKey, BiConsumer<String, Supplier<byte[]>> consumer) {
+        this.acceptKey = acceptKey;
+        this.consumer = consumer;
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Feeds the next chunk of the response. The chunk is fully consumed before this method returns, so its buffer
+     * can be released afterwards.
+     *
+     * @param chunk The chunk
+     * @throws IOException If the chunk is not valid JSON
+     */
+    void feed(ByteBuffer chunk) throws IOException {
+        feeder.feedInput(chunk);
+        drain();
+    }
+
+    /**
+     * Signals the end of the response.
+     *
+     * @throws IOException If the response is incomplete
+     */
+    void complete() throws IOException {
+        feeder.endOfInput();
+        drain();
+        parser.close();
+        if (depth != 0) {
+            throw new IOException("Unexpected end of Consul key/value response");
+        }
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    depth++;
+                    if (depth == ENTRY_DEPTH) {
+                        key = null;
+                        pendingValue = null;
+                    }
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    if (depth == ENTRY_DEPTH) {
+                        endEntry();
+                    }
+                    depth--;
+                }
+                case FIELD_NAME -> field = depth == ENTRY_DEPTH ? parser.currentName() : null;
+                case VALUE_STRING -> {
+                    if (depth == ENTRY_DEPTH) {
+                        onString();
+                    }
+                }
+                default -> {
+                    // numbers, booleans and null values (folders) are not needed
+                }
+            }
+        }
+    }
+
+    private void onString() throws IOException {
+        if (FIELD_KEY.equals(field)) {
+            key = parser.getText();
+        } else if (FIELD_VALUE.equals(field)) {
+            if (key == null) {
+                // the key comes after the value, keep the value until the end of the entry
+                pendingValue = parser.getText();
+            } else if (acceptKey.test(key)) {
+                consumer.accept(key, this::binaryValue);
+            }
+        }
+    }
+
+    private void endEntry() {
+        if (key != null && pendingValue != null && acceptKey.test(key)) {
+            String value = pendingValue;
+            consumer.accept(key, () -> Base64.getDecoder().decode(value));
+        }
+        key = null;
+        pendingValue = null;
+    }
+
+    private byte[] binaryValue() {
+        try {
+            return parser.getBinaryValue();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
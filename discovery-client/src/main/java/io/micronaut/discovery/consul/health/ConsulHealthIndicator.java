@@ -16,12 +16,16 @@
 package io.micronaut.discovery.consul.health;
 
 import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.StringUtils;
+import io.micronaut.discovery.client.HealthResultCache;
 import io.micronaut.discovery.consul.ConsulConfiguration;
 import io.micronaut.discovery.consul.client.v1.ConsulClient;
 import io.micronaut.health.HealthStatus;
 import io.micronaut.management.health.indicator.HealthIndicator;
 import io.micronaut.management.health.indicator.HealthResult;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
@@ -31,6 +35,10 @@ import java.util.Collections;
 /**
  * A {@link HealthIndicator} for Consul.
  *
+ * <p>When {@code consul.client.health-indicator.enabled} is set, the result is cached and refreshed in the background,
+ * so that health probes, including the HTTP check Consul itself runs against the health endpoint, never query the
+ * Consul leader status.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -41,16 +49,49 @@ import java.util.Collections;
 public class ConsulHealthIndicator implements HealthIndicator {
 
     private final ConsulClient client;
+    @Nullable
+    private final HealthResultCache cache;
 
     /**
      * @param client The Consul client
      */
     public ConsulHealthIndicator(ConsulClient client) {
+        this(client, null);
+    }
+
+    /**
+     * @param client        The Consul client
+     * @param configuration The Consul configuration
+     */
+    @Inject
+    public ConsulHealthIndicator(ConsulClient client, @Nullable ConsulConfiguration configuration) {
         this.client = client;
+        if (configuration != null && configuration.getHealthIndicator().isEnabled()) {
+            this.cache = new HealthResultCache(ConsulClient.SERVICE_ID, configuration.getHealthIndicator(), this::fetchResult);
+        } else {
+            this.cache = null;
+        }
     }
 
     @Override
     public Publisher<HealthResult> getResult() {
+        if (cache != null) {
+            return cache.getResult();
+        }
+        return fetchResult();
+    }
+
+    /**
+     * Stops refreshing the cached result.
+     */
+    @PreDestroy
+    public void close() {
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    private Publisher<HealthResult> fetchResult() {
         Flux<String> statusFlowable = Flux.from(client.status());
 
         return statusFlowable.map(s -> {
@@ -63,6 +63,7 @@ public class ConsulAutoRegistration extends DiscoveryServiceAutoRegistration {
     private final ConsulConfiguration consulConfiguration;
     private final ServiceInstanceIdGenerator idGenerator;
     private final Environment environment;
+    private final ConsulRegistrationRecovery registrationRecovery;
 
     /**
      * @param environment            The environment
@@ -84,6 +85,7 @@ public class ConsulAutoRegistration extends DiscoveryServiceAutoRegistration {
         this.heartbeatConfiguration = heartbeatConfiguration;
         this.consulConfiguration = consulConfiguration;
         this.idGenerator = idGenerator;
+        this.registrationRecovery = new ConsulRegistrationRecovery(consulClient, registered::get);
     }
 
     @Override
@@ -91,7 +93,8 @@ public class ConsulAutoRegistration extends DiscoveryServiceAutoRegistration {
         ConsulConfiguration.ConsulRegistrationConfiguration registration = consulConfiguration.getRegistration();
         if (registration != null && !registration.getCheck().isHttp() && registration.getCheck().isEnabled() && registered.get()) {
 
-            String checkId = "service:" + idGenerator.generateId(environment, instance);
+            String serviceId = idGenerator.generateId(environment, instance);
+            String checkId = "service:" + serviceId;
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Reporting status for Check ID [{}]: {}", checkId, status);
             }
@@ -100,21 +103,14 @@ public class ConsulAutoRegistration extends DiscoveryServiceAutoRegistration {
                 // send a request to /agent/check/pass/:check_id
                 Mono<HttpStatus> passPublisher = Mono.from(consulClient.pass(checkId));
                 passPublisher.subscribe(httpStatus -> {
+                    registrationRecovery.passed(serviceId);
                     if (LOG.isDebugEnabled()) {
                         LOG.debug("Successfully reported passing state to Consul");
                     }
                 }, throwable -> {
 
                         // check if the service is still registered with Consul
-                        Mono.from(consulClient.getServiceIds()).subscribe(serviceIds -> {
-                            String serviceId = idGenerator.generateId(environment, instance);
-                            if (!serviceIds.contains(serviceId)) {
-                                if (LOG.isInfoEnabled()) {
-                                    LOG.info("Instance [{}] no longer registered with Consul. Attempting re-registration.", instance.getId());
-                                }
-                                register(instance);
-                            }
-                        });
+                        registrationRecovery.failed(serviceId, () -> register(instance));
 
                         if (LOG.isErrorEnabled()) {
                             LOG.error(getErrorMessage(throwable, "Error reporting passing state to Consul: "), throwable);
@@ -165,7 +161,8 @@ public class ConsulAutoRegistration extends DiscoveryServiceAutoRegistration {
                     tags(instance, registration),
                     serviceId,
                     meta,
-                    createChecks(instance, registration, address));
+                    createChecks(instance, registration, address),
+                    registration.getWeights().toWeights());
                 Publisher<HttpStatus> registerFlowable = consulClient.register(serviceEntry);
                 performRegistration("Consul", registration, instance, registerFlowable);
             }
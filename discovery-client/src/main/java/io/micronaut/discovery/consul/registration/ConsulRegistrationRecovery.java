@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.registration;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.discovery.consul.client.v1.ConsulClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Restores the registration of the locally registered services after their passing TTL check updates fail.
+ *
+ * <p>The registration of a service is verified with a lookup of that service only. Recovery follows a small state
+ * machine per service: a failed passing update moves a healthy service to {@link RecoveryState#VERIFYING}, during
+ * which further failures do not trigger another lookup. Once the lookup completes, and the service is registered
+ * again if it was missing, the service is {@link RecoveryState#BACKING_OFF}: failures are ignored until the backoff
+ * delay elapses, and the delay doubles on each round, up to {@link #MAX_BACKOFF}. The next successful passing update
+ * makes the service healthy again.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class ConsulRegistrationRecovery {
+
+    static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+    static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConsulRegistrationRecovery.class);
+
+    private final ConsulClient consulClient;
+    private final BooleanSupplier registered;
+    private final Map<String, Recovery> recoveries = new ConcurrentHashMap<>();
+
+    /**
+     * @param consulClient The Consul client
+     * @param registered   Whether the services are currently registered
+     */
+    ConsulRegistrationRecovery(ConsulClient consulClient, BooleanSupplier registered) {
+        this.consulClient = consulClient;
+        this.registered = registered;
+    }
+
+    /**
+     * Records that a passing update of the service succeeded.
+     *
+     * @param serviceId The service ID
+     */
+    void passed(String serviceId) {
+        recoveries.remove(serviceId);
+    }
+
+    /**
+     * Verifies the registration of the service after a passing update failed, unless a verification is already in
+     * progress or the recovery is backing off.
+     *
+     * @param serviceId The service ID
+     * @param register  Registers the service again if it is no longer registered
+     */
+    void failed(String serviceId, Runnable register) {
+        Recovery recovery = recoveries.computeIfAbsent(serviceId, id -> new Recovery());
+        synchronized (recovery) {
+            if (recovery.state == RecoveryState.VERIFYING
+                || recovery.state == RecoveryState.BACKING_OFF && System.nanoTime() - recovery.backingOffSince < recovery.backoff.toNanos()) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Not verifying the registration of service [{}] with Consul: {}", serviceId, recovery.state);
+                }
+                return;
+            }
+            if (recovery.state == RecoveryState.BACKING_OFF) {
+                // the service is still failing after a round of recovery
+                Duration doubled = recovery.backoff.multipliedBy(2);
+                recovery.backoff = doubled.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : doubled;
+            }
+            recovery.state = RecoveryState.VERIFYING;
+        }
+        Mono.from(consulClient.findService(serviceId))
+            .hasElement()
+            .subscribe(found -> {
+                if (!found && registered.getAsBoolean()) {
+                    if (LOG.isInfoEnabled()) {
+                        LOG.info("Service [{}] no longer registered with Consul. Attempting re-registration.", serviceId);
+                    }
+                    register.run();
+                }
+                backOff(recovery);
+            }, throwable -> {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Error looking up the registration of service [{}] in Consul: {}", serviceId, throwable.getMessage());
+                }
+                backOff(recovery);
+            });
+    }
+
+    /**
+     * @param serviceId The service ID
+     * @return The registration recovery state of the service
+     */
+    RecoveryState getRecoveryState(String serviceId) {
+        Recovery recovery = recoveries.get(serviceId);
+        if (recovery == null) {
+            return RecoveryState.HEALTHY;
+        }
+        synchronized (recovery) {
+            return recovery.state;
+        }
+    }
+
+    private static void backOff(Recovery recovery) {
+        synchronized (recovery) {
+            recovery.state = RecoveryState.BACKING_OFF;
+            recovery.backingOffSince = System.nanoTime();
+        }
+    }
+
+    /**
+     * The registration recovery state of a service.
+     */
+    enum RecoveryState {
+        /**
+         * The passing updates succeed.
+         */
+        HEALTHY,
+        /**
+         * The registration of the service is being looked up.
+         */
+        VERIFYING,
+        /**
+         * The registration was verified, or restored, and failures are ignored until the backoff delay elapses.
+         */
+        BACKING_OFF
+    }
+
+    /**
+     * The registration recovery of a service, guarded by its own monitor.
+     */
+    private static final class Recovery {
+        private RecoveryState state = RecoveryState.HEALTHY;
+        private Duration backoff = INITIAL_BACKOFF;
+        private long backingOffSince;
+    }
+}
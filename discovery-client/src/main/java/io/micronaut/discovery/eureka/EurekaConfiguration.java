@@ -15,6 +15,7 @@
  */
 package io.micronaut.discovery.eureka;
 
+import io.micronaut.context.annotation.BootstrapContextCompatible;
 import io.micronaut.context.annotation.ConfigurationBuilder;
 import io.micronaut.context.annotation.ConfigurationProperties;
 import io.micronaut.context.annotation.Property;
@@ -23,8 +24,11 @@ import io.micronaut.context.env.Environment;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.StringUtils;
+import io.micronaut.core.util.Toggleable;
 import io.micronaut.discovery.DiscoveryConfiguration;
 import io.micronaut.discovery.client.DiscoveryClientConfiguration;
+import io.micronaut.discovery.client.HealthResultCacheConfiguration;
+import io.micronaut.discovery.client.ServiceInstanceCacheConfiguration;
 import io.micronaut.discovery.eureka.client.v2.DataCenterInfo;
 import io.micronaut.discovery.eureka.client.v2.EurekaClient;
 import io.micronaut.discovery.eureka.client.v2.InstanceInfo;
@@ -36,6 +40,7 @@ import jakarta.inject.Inject;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.time.Duration;
 
 /**
  * Configuration options for the Eureka client.
@@ -77,6 +82,7 @@ public class EurekaConfiguration extends DiscoveryClientConfiguration {
     private final ConnectionPoolConfiguration eurekaConnectionPoolConfiguration;
     private EurekaDiscoveryConfiguration discovery = new EurekaDiscoveryConfiguration();
     private EurekaRegistrationConfiguration registration;
+    private EurekaHealthIndicatorConfiguration healthIndicator = new EurekaHealthIndicatorConfiguration();
 
     /**
      * @param eurekaConnectionPoolConfiguration The connection pool configuration
@@ -120,6 +126,24 @@ public class EurekaConfiguration extends DiscoveryClientConfiguration {
         return registration;
     }
 
+    /**
+     * @return The configuration of the Eureka health indicator
+     * @see io.micronaut.discovery.eureka.health.EurekaHealthIndicator
+     */
+    public EurekaHealthIndicatorConfiguration getHealthIndicator() {
+        return healthIndicator;
+    }
+
+    /**
+     * @param healthIndicator The configuration of the Eureka health indicator
+     */
+    @Inject
+    public void setHealthIndicator(EurekaHealthIndicatorConfiguration healthIndicator) {
+        if (healthIndicator != null) {
+            this.healthIndicator = healthIndicator;
+        }
+    }
+
     /**
      * @return Whether should log Amazon Metadata errors
      */
@@ -140,6 +164,46 @@ public class EurekaConfiguration extends DiscoveryClientConfiguration {
         return this.eurekaConnectionPoolConfiguration;
     }
 
+    /**
+     * Configuration of the Eureka health indicator: whether it only pings Eureka instead of fetching the whole
+     * registry, and whether it serves a cached result refreshed in the background.
+     */
+    @ConfigurationProperties("health-indicator")
+    public static class EurekaHealthIndicatorConfiguration extends HealthResultCacheConfiguration {
+
+        /**
+         * The default ping value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_PING = false;
+
+        private boolean ping = DEFAULT_PING;
+
+        /**
+         * @return Whether the health indicator pings Eureka with the registry delta instead of fetching the whole
+         * registry, listing the available services only from the registry mirror
+         */
+        public boolean isPing() {
+            return ping;
+        }
+
+        /**
+         * Default value ({@value #DEFAULT_PING}).
+         * @param ping Whether the health indicator pings Eureka with the registry delta instead of fetching the whole
+         *             registry
+         */
+        public void setPing(boolean ping) {
+            this.ping = ping;
+        }
+
+        @Override
+        public String toString() {
+            return "EurekaHealthIndicatorConfiguration{" +
+                "ping=" + ping +
+                "} " + super.toString();
+        }
+    }
+
     /**
      * The default connection pool configuration.
      */
@@ -155,6 +219,8 @@ public class EurekaConfiguration extends DiscoveryClientConfiguration {
     public static class EurekaDiscoveryConfiguration extends DiscoveryConfiguration {
 
         private boolean useSecurePort;
+        private RegistryConfiguration registry = new RegistryConfiguration();
+        private CacheConfiguration cache = new CacheConfiguration();
 
         /**
          * @return Whether the secure port is used for communication.
@@ -171,6 +237,102 @@ public class EurekaConfiguration extends DiscoveryClientConfiguration {
         public void setUseSecurePort(boolean useSecurePort) {
             this.useSecurePort = useSecurePort;
         }
+
+        /**
+         * @return The configuration of the local registry mirror
+         */
+        public RegistryConfiguration getRegistry() {
+            return registry;
+        }
+
+        /**
+         * @param registry The configuration of the local registry mirror
+         */
+        public void setRegistry(RegistryConfiguration registry) {
+            if (registry != null) {
+                this.registry = registry;
+            }
+        }
+
+        /**
+         * @return The settings for caching the instances of each service
+         */
+        public CacheConfiguration getCache() {
+            return cache;
+        }
+
+        /**
+         * @param cache The settings for caching the instances of each service
+         */
+        public void setCache(CacheConfiguration cache) {
+            if (cache != null) {
+                this.cache = cache;
+            }
+        }
+
+        /**
+         * Configuration for a local mirror of the Eureka registry, kept current by fetching
+         * <a href="https://github.com/Netflix/eureka/wiki/Eureka-REST-operations">registry deltas</a>.
+         */
+        @ConfigurationProperties("registry")
+        public static class RegistryConfiguration implements Toggleable {
+
+            /**
+             * The default enable value.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final boolean DEFAULT_ENABLED = false;
+
+            /**
+             * The default fetch interval seconds.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final int DEFAULT_FETCH_INTERVAL_SECONDS = 30;
+
+            private boolean enabled = DEFAULT_ENABLED;
+            private Duration fetchInterval = Duration.ofSeconds(DEFAULT_FETCH_INTERVAL_SECONDS);
+
+            /**
+             * @return Whether lookups are served from a local mirror of the registry
+             */
+            @Override
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_ENABLED}).
+             * @param enabled Whether lookups are served from a local mirror of the registry
+             */
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            /**
+             * @return The interval between two fetches of the registry delta
+             */
+            public Duration getFetchInterval() {
+                return fetchInterval;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_FETCH_INTERVAL_SECONDS} seconds).
+             * @param fetchInterval The interval between two fetches of the registry delta
+             */
+            public void setFetchInterval(Duration fetchInterval) {
+                if (fetchInterval != null) {
+                    this.fetchInterval = fetchInterval;
+                }
+            }
+        }
+
+        /**
+         * Configuration for caching the instances of each service, with stale while revalidate and stale if error.
+         */
+        @ConfigurationProperties("cache")
+        @BootstrapContextCompatible
+        public static class CacheConfiguration extends ServiceInstanceCacheConfiguration {
+        }
     }
 
     /**
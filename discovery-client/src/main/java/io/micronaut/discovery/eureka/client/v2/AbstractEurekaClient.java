@@ -24,9 +24,14 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRootName;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.core.naming.NameUtils;
 import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.client.ServiceInstanceCache;
+import io.micronaut.discovery.client.ServiceInstanceCaches;
+import io.micronaut.discovery.client.ServiceInstanceSnapshot;
+import io.micronaut.discovery.client.SingleFlight;
 import io.micronaut.discovery.eureka.EurekaConfiguration;
 import io.micronaut.discovery.eureka.EurekaServiceInstance;
 import io.micronaut.discovery.eureka.condition.RequiresEureka;
@@ -38,6 +43,8 @@ import io.micronaut.http.client.exceptions.HttpClientException;
 import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.jackson.annotation.JacksonFeatures;
 import io.micronaut.validation.Validated;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 
@@ -66,6 +73,10 @@ abstract class AbstractEurekaClient implements EurekaClient {
     static final String EXPR_EUREKA_REGISTRATION_RETRY_COUNT = "${" + EurekaConfiguration.EurekaRegistrationConfiguration.PREFIX + ".retry-count:10}";
 
     private final EurekaConfiguration.EurekaDiscoveryConfiguration discoveryConfiguration;
+    private final SingleFlight<String, List<ServiceInstance>> instanceLookups = new SingleFlight<>();
+    private volatile EurekaRegistryMirror registryMirror;
+    private volatile ServiceInstanceCache instanceCache;
+    private ServiceInstanceCaches instanceCaches = new ServiceInstanceCaches();
 
     /**
      * Default constructor.
@@ -76,6 +87,16 @@ abstract class AbstractEurekaClient implements EurekaClient {
         this.discoveryConfiguration = discoveryConfiguration;
     }
 
+    /**
+     * @param instanceCaches The caches of the discovery clients, which the cache of this client is registered with
+     */
+    @Inject
+    public void setInstanceCaches(ServiceInstanceCaches instanceCaches) {
+        if (instanceCaches != null) {
+            this.instanceCaches = instanceCaches;
+        }
+    }
+
     @Override
     public @NonNull String getDescription() {
         return EurekaClient.SERVICE_ID;
@@ -84,32 +105,22 @@ abstract class AbstractEurekaClient implements EurekaClient {
     @Override
     public Publisher<List<ServiceInstance>> getInstances(String serviceId) {
         serviceId = NameUtils.hyphenate(serviceId);
-        Flux<List<ServiceInstance>> flowable = Flux.from(getApplicationInfo(serviceId)).map(applicationInfo -> Optional.ofNullable(applicationInfo.getInstances())
-            .stream()
-            .flatMap(Collection::stream)
-            .map(ii -> {
-                if (!discoveryConfiguration.isUseSecurePort()) {
-                    ii.setSecurePort(-1);
-                }
-                return (ServiceInstance) new EurekaServiceInstance(ii);
-            })
-            .toList());
-
-        return flowable.onErrorResume(throwable -> {
-            // Translate 404 into empty list
-            if (throwable instanceof HttpClientResponseException hcre && hcre.getStatus() == HttpStatus.NOT_FOUND) {
-                return Flux.just(Collections.emptyList());
-            }
-            if (throwable instanceof Exception) {
-                return Flux.error(throwable);
-            } else {
-                return Flux.error(new HttpClientException("Internal Client Error: " + throwable.getMessage(), throwable));
-            }
-        });
+        EurekaRegistryMirror mirror = getRegistryMirror();
+        if (mirror != null && mirror.isLoaded()) {
+            return mirror.getInstances(serviceId);
+        }
+        if (discoveryConfiguration.getCache().isEnabled()) {
+            return getInstanceCache().getInstances(serviceId);
+        }
+        return lookupInstances(serviceId);
     }
 
     @Override
     public Publisher<List<ApplicationInfo>> getApplicationInfos() {
+        EurekaRegistryMirror mirror = getRegistryMirror();
+        if (mirror != null && mirror.isLoaded()) {
+            return Publishers.just(mirror.getApplicationInfos());
+        }
         return Publishers.map(getApplicationInfosInternal(), applicationInfos -> applicationInfos.applications);
     }
 
@@ -120,6 +131,10 @@ abstract class AbstractEurekaClient implements EurekaClient {
 
     @Override
     public Publisher<List<String>> getServiceIds() {
+        EurekaRegistryMirror mirror = getRegistryMirror();
+        if (mirror != null && mirror.isLoaded()) {
+            return Publishers.just(mirror.getServiceIds());
+        }
         return Publishers.map(getApplicationInfosInternal(), applicationInfos ->
             applicationInfos
                 .applications
@@ -129,6 +144,16 @@ abstract class AbstractEurekaClient implements EurekaClient {
         );
     }
 
+    /**
+     * Fetches the registry delta, which only lists the instances that changed recently.
+     *
+     * @return A {@link Publisher} that emits {@link HttpStatus#OK} once Eureka responded
+     */
+    @Override
+    public Publisher<HttpStatus> ping() {
+        return Publishers.map(getApplicationInfosDeltaInternal(), applicationInfos -> HttpStatus.OK);
+    }
+
     /**
      * @return A {@link Publisher} with applications info.
      */
@@ -146,19 +171,128 @@ abstract class AbstractEurekaClient implements EurekaClient {
     @Produces(single = true)
     public abstract Publisher<ApplicationInfos> getApplicationVipsInternal(String vipAddress);
 
+    /**
+     * @return A {@link Publisher} with the applications whose instances changed recently, each instance carrying
+     * its {@link InstanceInfo#getActionType() action type}
+     * @since 4.6.0
+     */
+    @SuppressWarnings("WeakerAccess")
+    @Get("/apps/delta")
+    @Produces(single = true)
+    public abstract Publisher<ApplicationInfos> getApplicationInfosDeltaInternal();
+
+    /**
+     * Stops mirroring the registry and closes the instance cache.
+     */
+    @PreDestroy
+    void stopMirroring() {
+        EurekaRegistryMirror mirror = this.registryMirror;
+        if (mirror != null) {
+            mirror.close();
+        }
+        ServiceInstanceCache cache = this.instanceCache;
+        if (cache != null) {
+            instanceCaches.unregister(getDescription(), cache);
+            cache.close();
+        }
+    }
+
+    @Nullable
+    private EurekaRegistryMirror getRegistryMirror() {
+        EurekaConfiguration.EurekaDiscoveryConfiguration.RegistryConfiguration registry = discoveryConfiguration.getRegistry();
+        if (!registry.isEnabled()) {
+            return null;
+        }
+        EurekaRegistryMirror mirror = this.registryMirror;
+        if (mirror == null) {
+            synchronized (this) { // double check
+                mirror = this.registryMirror;
+                if (mirror == null) {
+                    mirror = new EurekaRegistryMirror(
+                        this::getApplicationInfosInternal,
+                        this::getApplicationInfosDeltaInternal,
+                        this::toServiceInstance,
+                        registry.getFetchInterval()
+                    );
+                    this.registryMirror = mirror;
+                }
+            }
+        }
+        mirror.start();
+        return mirror;
+    }
+
+    private Publisher<List<ServiceInstance>> lookupInstances(String serviceId) {
+        // concurrent lookups of the same service share a single request
+        return instanceLookups.execute(serviceId, () -> fetchInstances(serviceId));
+    }
+
+    private ServiceInstanceCache getInstanceCache() {
+        ServiceInstanceCache cache = this.instanceCache;
+        if (cache == null) {
+            synchronized (this) { // double check
+                cache = this.instanceCache;
+                if (cache == null) {
+                    cache = new ServiceInstanceCache(discoveryConfiguration.getCache(), this::lookupInstances);
+                    instanceCaches.register(getDescription(), cache);
+                    this.instanceCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    private Publisher<List<ServiceInstance>> fetchInstances(String serviceId) {
+        Flux<List<ServiceInstance>> flowable = Flux.from(getApplicationInfo(serviceId)).map(applicationInfo -> ServiceInstanceSnapshot.of(Optional.ofNullable(applicationInfo.getInstances())
+            .stream()
+            .flatMap(Collection::stream)
+            .map(this::toServiceInstance)
+            .toList()));
+
+        return flowable.onErrorResume(throwable -> {
+            // Translate 404 into empty list
+            if (throwable instanceof HttpClientResponseException hcre && hcre.getStatus() == HttpStatus.NOT_FOUND) {
+                return Flux.just(Collections.emptyList());
+            }
+            if (throwable instanceof Exception) {
+                return Flux.error(throwable);
+            } else {
+                return Flux.error(new HttpClientException("Internal Client Error: " + throwable.getMessage(), throwable));
+            }
+        });
+    }
+
+    private ServiceInstance toServiceInstance(InstanceInfo instanceInfo) {
+        if (!discoveryConfiguration.isUseSecurePort()) {
+            instanceInfo.setSecurePort(-1);
+        }
+        return new EurekaServiceInstance(instanceInfo);
+    }
+
     /**
      * Class for the applications info.
      */
     @JsonRootName("applications")
     static class ApplicationInfos {
         private List<ApplicationInfo> applications;
+        private String appsHashCode;
+
+        /**
+         * @param applications The list of applications info
+         */
+        public ApplicationInfos(List<ApplicationInfo> applications) {
+            this(applications, null);
+        }
 
         /**
          * @param applications The list of applications info
+         * @param appsHashCode The hash code of the registry
          */
         @JsonCreator
-        public ApplicationInfos(@JsonProperty("application") List<ApplicationInfo> applications) {
+        public ApplicationInfos(@JsonProperty("application") List<ApplicationInfo> applications,
+                                @JsonProperty("apps__hashcode") @Nullable String appsHashCode) {
             this.applications = applications != null ? applications : Collections.emptyList();
+            this.appsHashCode = appsHashCode;
         }
 
         /**
@@ -168,5 +302,14 @@ abstract class AbstractEurekaClient implements EurekaClient {
         public List<ApplicationInfo> getApplications() {
             return applications;
         }
+
+        /**
+         * @return The hash code of the registry, the number of instances per status
+         */
+        @JsonProperty("apps__hashcode")
+        @Nullable
+        public String getAppsHashCode() {
+            return appsHashCode;
+        }
     }
 }
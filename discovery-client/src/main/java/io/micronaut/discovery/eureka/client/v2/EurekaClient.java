@@ -15,7 +15,10 @@
  */
 package io.micronaut.discovery.eureka.client.v2;
 
+import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.http.HttpStatus;
+import org.reactivestreams.Publisher;
 
 /**
  * Default EurekaClient interface that implements both {@link EurekaOperations} and {@link DiscoveryClient}.
@@ -29,4 +32,14 @@ public interface EurekaClient extends EurekaOperations, DiscoveryClient {
      * The default ID of the Eureka service.
      */
     String SERVICE_ID = "eureka";
+
+    /**
+     * Checks that Eureka responds, with a request much cheaper than fetching the whole registry.
+     *
+     * @return A {@link Publisher} that emits {@link HttpStatus#OK} once Eureka responded
+     * @since 4.6.0
+     */
+    default Publisher<HttpStatus> ping() {
+        return Publishers.map(getServiceIds(), serviceIds -> HttpStatus.OK);
+    }
 }
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.eureka.client.v2;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.client.ServiceInstanceSnapshot;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A local mirror of the Eureka registry. The whole registry is fetched once, after which only the
+ * {@code /apps/delta} changes are fetched and applied. The {@code apps__hashcode} of each delta is compared with
+ * the hash code of the mirror and the whole registry is fetched again when they differ.
+ *
+ * <p>The mirror is replaced as a whole on every change, so that reads never block and never see a partially
+ * applied delta.</p>
+ *
+ * @since 4.6.0
+ */
+@Internal
+final class EurekaRegistryMirror {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EurekaRegistryMirror.class);
+
+    private final Supplier<Publisher<AbstractEurekaClient.ApplicationInfos>> fullFetch;
+    private final Supplier<Publisher<AbstractEurekaClient.ApplicationInfos>> deltaFetch;
+    private final Function<InstanceInfo, ServiceInstance> instanceFactory;
+    private final Duration fetchInterval;
+    private volatile Registry registry;
+    private volatile Disposable pending;
+    private volatile boolean started;
+    private volatile boolean closed;
+
+    /**
+     * @param fullFetch       Fetches the whole registry
+     * @param deltaFetch      Fetches the registry changes
+     * @param instanceFactory Converts an instance info to a service instance
+     * @param fetchInterval   The interval between two fetches
+     */
+    EurekaRegistryMirror(Supplier<Publisher<AbstractEurekaClient.ApplicationInfos>> fullFetch,
+                         Supplier<Publisher<AbstractEurekaClient.ApplicationInfos>> deltaFetch,
+                         Function<InstanceInfo, ServiceInstance> instanceFactory,
+                         Duration fetchInterval) {
+        this.fullFetch = fullFetch;
+        this.deltaFetch = deltaFetch;
+        this.instanceFactory = instanceFactory;
+        this.fetchInterval = fetchInterval;
+    }
+
+    /**
+     * Starts mirroring the registry, if not already started.
+     */
+    void start() {
+        if (!started) {
+            synchronized (this) {
+                if (!started) {
+                    started = true;
+                    fetch(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Whether the registry has been fetched at least once
+     */
+    boolean isLoaded() {
+        return registry != null;
+    }
+
+    /**
+     * @param serviceId The service ID
+     * @return The instances of the service, empty if unknown
+     */
+    @NonNull
+    Publisher<List<ServiceInstance>> getInstances(@NonNull String serviceId) {
+        Registry registry = this.registry;
+        if (registry != null) {
+            Application application = registry.applications.get(serviceId.toUpperCase(Locale.ENGLISH));
+            if (application != null) {
+                return application.snapshot.asPublisher();
+            }
+        }
+        return ServiceInstanceSnapshot.empty().asPublisher();
+    }
+
+    /**
+     * @return The mirrored applications
+     */
+    @NonNull
+    List<ApplicationInfo> getApplicationInfos() {
+        Registry registry = this.registry;
+        return registry != null ? registry.applicationInfos : Collections.emptyList();
+    }
+
+    /**
+     * @return The names of the mirrored applications
+     */
+    @NonNull
+    List<String> getServiceIds() {
+        Registry registry = this.registry;
+        return registry != null ? registry.serviceIds : Collections.emptyList();
+    }
+
+    /**
+     * Stops mirroring the registry.
+     */
+    void close() {
+        closed = true;
+        Disposable pending = this.pending;
+        if (pending != null) {
+            pending.dispose();
+        }
+    }
+
+    private void fetch(boolean full) {
+        if (closed) {
+            return;
+        }
+        Supplier<Publisher<AbstractEurekaClient.ApplicationInfos>> query = full ? fullFetch : deltaFetch;
+        pending = Mono.from(query.get()).subscribe(
+            applicationInfos -> {
+                boolean refetch = full ? onFull(applicationInfos) : onDelta(applicationInfos);
+                if (refetch) {
+                    fetch(true);
+                } else {
+                    schedule();
+                }
+            },
+            throwable -> {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Error fetching the {} from Eureka: {}", full ? "registry" : "registry delta", throwable.getMessage());
+                }
+                schedule();
+            }
+        );
+    }
+
+    private void schedule() {
+        if (!closed) {
+            pending = Mono.delay(fetchInterval).subscribe(tick -> fetch(registry == null));
+        }
+    }
+
+    private boolean onFull(AbstractEurekaClient.ApplicationInfos applicationInfos) {
+        Map<String, Map<String, InstanceInfo>> instances = new LinkedHashMap<>();
+        for (ApplicationInfo applicationInfo : applicationInfos.getApplications()) {
+            Map<String, InstanceInfo> appInstances = instances.computeIfAbsent(applicationInfo.getName(), name -> new LinkedHashMap<>());
+            if (applicationInfo.getInstances() != null) {
+                for (InstanceInfo instanceInfo : applicationInfo.getInstances()) {
+                    appInstances.put(instanceInfo.getId(), instanceInfo);
+                }
+            }
+        }
+        Map<String, Application> applications = new HashMap<>();
+        instances.forEach((name, appInstances) -> applications.put(name.toUpperCase(Locale.ENGLISH), newApplication(name, appInstances)));
+        this.registry = new Registry(applications);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Fetched the Eureka registry: {} applications", applications.size());
+        }
+        return false;
+    }
+
+    private boolean onDelta(AbstractEurekaClient.ApplicationInfos delta) {
+        Registry current = this.registry;
+        Map<String, Application> applications = new HashMap<>(current.applications);
+        for (ApplicationInfo applicationInfo : delta.getApplications()) {
+            if (CollectionUtils.isEmpty(applicationInfo.getInstances())) {
+                continue;
+            }
+            String key = applicationInfo.getName().toUpperCase(Locale.ENGLISH);
+            Application application = applications.get(key);
+            Map<String, InstanceInfo> appInstances = application != null ? new LinkedHashMap<>(application.instances) : new LinkedHashMap<>();
+            for (InstanceInfo instanceInfo : applicationInfo.getInstances()) {
+                InstanceInfo.ActionType actionType = instanceInfo.getActionType();
+                if (actionType == InstanceInfo.ActionType.DELETED) {
+                    appInstances.remove(instanceInfo.getId());
+                } else {
+                    // ADDED and MODIFIED both carry the full instance
+                    appInstances.put(instanceInfo.getId(), instanceInfo);
+                }
+            }
+            if (appInstances.isEmpty()) {
+                applications.remove(key);
+            } else {
+                applications.put(key, newApplication(application != null ? application.name : applicationInfo.getName(), appInstances));
+            }
+        }
+        Registry updated = new Registry(applications);
+        String expected = delta.getAppsHashCode();
+        if (expected != null && !expected.equals(updated.hashCode)) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Eureka registry hash code mismatch after applying delta [{}] vs [{}], fetching the whole registry", updated.hashCode, expected);
+            }
+            return true;
+        }
+        this.registry = updated;
+        return false;
+    }
+
+    private Application newApplication(String name, Map<String, InstanceInfo> instances) {
+        List<ServiceInstance> serviceInstances = new ArrayList<>(instances.size());
+        for (InstanceInfo instanceInfo : instances.values()) {
+            serviceInstances.add(instanceFactory.apply(instanceInfo));
+        }
+        return new Application(name, instances, ServiceInstanceSnapshot.of(serviceInstances));
+    }
+
+    /**
+     * Computes the hash code Eureka uses to reconcile registries: the number of instances per status, ordered by
+     * status, for example {@code DOWN_2_UP_8_}.
+     *
+     * @param applications The applications
+     * @return The hash code
+     */
+    static String reconcileHashCode(@Nullable Iterable<Map<String, InstanceInfo>> applications) {
+        Map<String, Integer> counts = new TreeMap<>();
+        if (applications != null) {
+            for (Map<String, InstanceInfo> instances : applications) {
+                for (InstanceInfo instanceInfo : instances.values()) {
+                    counts.merge(instanceInfo.getStatus().name(), 1, Integer::sum);
+                }
+            }
+        }
+        StringBuilder hashCode = new StringBuilder();
+        counts.forEach((status, count) -> hashCode.append(status).append('_').append(count).append('_'));
+        return hashCode.toString();
+    }
+
+    /**
+     * The instances of one application.
+     *
+     * @param name      The application name as reported by Eureka
+     * @param instances The instances by ID
+     * @param snapshot  The service instances
+     */
+    private record Application(String name, Map<String, InstanceInfo> instances, ServiceInstanceSnapshot snapshot) {
+    }
+
+    /**
+     * An immutable view of the whole registry.
+     */
+    private static final class Registry {
+        private final Map<String, Application> applications;
+        private final List<ApplicationInfo> applicationInfos;
+        private final List<String> serviceIds;
+        private final String hashCode;
+
+        private Registry(Map<String, Application> applications) {
+            this.applications = applications;
+            List<ApplicationInfo> applicationInfos = new ArrayList<>(applications.size());
+            List<String> serviceIds = new ArrayList<>(applications.size());
+            List<Map<String, InstanceInfo>> instances = new ArrayList<>(applications.size());
+            for (Application application : applications.values()) {
+                applicationInfos.add(new ApplicationInfo(application.name, List.copyOf(application.instances.values())));
+                serviceIds.add(application.name);
+                instances.add(application.instances);
+            }
+            this.applicationInfos = Collections.unmodifiableList(applicationInfos);
+            this.serviceIds = Collections.unmodifiableList(serviceIds);
+            this.hashCode = reconcileHashCode(instances);
+        }
+    }
+}
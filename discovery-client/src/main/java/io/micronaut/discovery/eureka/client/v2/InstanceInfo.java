@@ -17,8 +17,10 @@ package io.micronaut.discovery.eureka.client.v2;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRootName;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.serde.annotation.Serdeable;
 import jakarta.validation.constraints.Min;
@@ -79,6 +81,7 @@ public class InstanceInfo implements ConfigurableInstanceInfo {
     private DataCenterInfo dataCenterInfo = () -> DataCenterInfo.Name.MyOwn;
     private LeaseInfo leaseInfo;
     private Map<String, String> metadata = new ConcurrentHashMap<>();
+    private ActionType actionType;
 
     /**
      * Based on https://github.com/Netflix/eureka/blob/master/eureka-client/src/main/java/com/netflix/appinfo/InstanceInfo.java.
@@ -351,6 +354,18 @@ public class InstanceInfo implements ConfigurableInstanceInfo {
         return status;
     }
 
+    /**
+     * The action that produced this instance in a registry delta, {@code null} outside of a delta.
+     *
+     * @return The action type
+     * @since 4.6.0
+     */
+    @Nullable
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public ActionType getActionType() {
+        return actionType;
+    }
+
     /**
      * The {@link DataCenterInfo} instance.
      */
@@ -515,6 +530,14 @@ public class InstanceInfo implements ConfigurableInstanceInfo {
         }
     }
 
+    /**
+     * @param actionType The action that produced this instance in a registry delta
+     * @since 4.6.0
+     */
+    public void setActionType(@Nullable ActionType actionType) {
+        this.actionType = actionType;
+    }
+
     @Override
     public void setAppGroupName(String appGroupName) {
         if (StringUtils.isNotEmpty(appGroupName)) {
@@ -575,6 +598,15 @@ public class InstanceInfo implements ConfigurableInstanceInfo {
         UP, DOWN, STARTING, OUT_OF_SERVICE, UNKNOWN
     }
 
+    /**
+     * The change an instance went through in a registry delta.
+     *
+     * @since 4.6.0
+     */
+    public enum ActionType {
+        ADDED, MODIFIED, DELETED
+    }
+
     /**
      * {@link InstanceInfo} JSON and XML format for port information does not follow the usual conventions, which
      * makes its mapping complicated. This class represents the wire format for port information.
@@ -16,13 +16,19 @@
 package io.micronaut.discovery.eureka.health;
 
 import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.discovery.client.HealthResultCache;
+import io.micronaut.discovery.eureka.EurekaConfiguration;
 import io.micronaut.discovery.eureka.client.v2.EurekaClient;
 import io.micronaut.health.HealthStatus;
 import io.micronaut.management.health.indicator.HealthIndicator;
 import io.micronaut.management.health.indicator.HealthResult;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.Collections;
 import java.util.List;
@@ -30,6 +36,11 @@ import java.util.List;
 /**
  * A {@link HealthIndicator} for Eureka.
  *
+ * <p>By default the whole registry is fetched to list the available services. When
+ * {@code eureka.client.health-indicator.ping} is set, Eureka is only pinged with the registry delta, and the available
+ * services are listed from the registry mirror, if enabled. When {@code eureka.client.health-indicator.enabled} is
+ * set, the result is cached and refreshed in the background.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -38,16 +49,56 @@ import java.util.List;
 @Requires(beans = EurekaClient.class)
 public class EurekaHealthIndicator implements HealthIndicator {
     private final EurekaClient eurekaClient;
+    private final boolean ping;
+    private final boolean mirrored;
+    @Nullable
+    private final HealthResultCache cache;
 
     /**
      * @param eurekaClient The Eureka client
      */
     public EurekaHealthIndicator(EurekaClient eurekaClient) {
+        this(eurekaClient, null);
+    }
+
+    /**
+     * @param eurekaClient  The Eureka client
+     * @param configuration The Eureka configuration
+     */
+    @Inject
+    public EurekaHealthIndicator(EurekaClient eurekaClient, @Nullable EurekaConfiguration configuration) {
         this.eurekaClient = eurekaClient;
+        this.ping = configuration != null && configuration.getHealthIndicator().isPing();
+        this.mirrored = configuration != null && configuration.getDiscovery().getRegistry().isEnabled();
+        if (configuration != null && configuration.getHealthIndicator().isEnabled()) {
+            this.cache = new HealthResultCache(EurekaClient.SERVICE_ID, configuration.getHealthIndicator(), this::fetchResult);
+        } else {
+            this.cache = null;
+        }
     }
 
     @Override
     public Publisher<HealthResult> getResult() {
+        if (cache != null) {
+            return cache.getResult();
+        }
+        return fetchResult();
+    }
+
+    /**
+     * Stops refreshing the cached result.
+     */
+    @PreDestroy
+    public void close() {
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    private Publisher<HealthResult> fetchResult() {
+        if (ping) {
+            return pingResult();
+        }
         Flux<List<String>> serviceIds = Flux.from(eurekaClient.getServiceIds());
         return serviceIds.map(ids -> {
             HealthResult.Builder builder = HealthResult.builder(EurekaClient.SERVICE_ID, HealthStatus.UP);
@@ -58,4 +109,18 @@ public class EurekaHealthIndicator implements HealthIndicator {
             return Flux.just(builder.build());
         });
     }
+
+    private Publisher<HealthResult> pingResult() {
+        Mono<HealthResult> result = Mono.from(eurekaClient.ping()).then(mirrored
+            // served from the registry mirror once loaded
+            ? Mono.from(eurekaClient.getServiceIds()).map(ids -> HealthResult.builder(EurekaClient.SERVICE_ID, HealthStatus.UP)
+                .details(Collections.singletonMap("available-services", ids))
+                .build())
+            : Mono.fromSupplier(() -> HealthResult.builder(EurekaClient.SERVICE_ID, HealthStatus.UP).build()));
+        return result.onErrorResume(throwable -> {
+            HealthResult.Builder builder = HealthResult.builder(EurekaClient.SERVICE_ID, HealthStatus.DOWN);
+            builder.exception(throwable);
+            return Mono.just(builder.build());
+        });
+    }
 }
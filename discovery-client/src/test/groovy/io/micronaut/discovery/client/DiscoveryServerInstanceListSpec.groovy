@@ -0,0 +1,128 @@
+package io.micronaut.discovery.client
+
+import io.micronaut.discovery.DiscoveryConfiguration
+import io.micronaut.discovery.registration.RegistrationConfiguration
+import io.micronaut.runtime.ApplicationConfiguration
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.runtime.server.event.ServerStartupEvent
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.util.concurrent.PollingConditions
+
+import javax.naming.NamingException
+import java.nio.file.Path
+import java.time.Duration
+
+class DiscoveryServerInstanceListSpec extends Specification {
+
+    @TempDir
+    Path dir
+
+    void "test the discovery servers resolved from DNS are memoized"() {
+        given:
+        int lookups = 0
+        def list = instanceList(configuration(), { name -> lookups++; records(name) })
+
+        when:
+        def first = list.instances
+        def second = list.instances
+
+        then:
+        first*.URI*.toString() == ['http://eureka1.example.com:8761/']
+        second.is(first)
+        lookups == 2
+    }
+
+    void "test the discovery servers follow the DNS records once they expire"() {
+        given:
+        def configuration = configuration()
+        configuration.dnsTtl = Duration.ofMillis(50)
+        String server = 'eureka1.example.com'
+        def list = instanceList(configuration, { name ->
+            name == 'txt.zone1.example.com' ? [server] as Set : records(name)
+        })
+        PollingConditions conditions = new PollingConditions(timeout: 5)
+
+        expect:
+        list.instances*.URI*.toString() == ['http://eureka1.example.com:8761/']
+
+        when: "the records change"
+        server = 'eureka2.example.com'
+
+        then: "the memoized servers are refreshed after the TTL"
+        conditions.eventually {
+            assert list.instances*.URI*.toString() == ['http://eureka2.example.com:8761/']
+        }
+    }
+
+    void "test the last known discovery servers are read from the fallback file when DNS fails"() {
+        given:
+        def configuration = configuration()
+        configuration.dnsFallbackFile = dir.resolve('servers.txt').toString()
+        instanceList(configuration, { name -> records(name) }).instances
+        def list = instanceList(configuration, { name -> throw new NamingException('DNS is down') })
+
+        when:
+        def instances = list.instances
+
+        then:
+        instances*.URI*.toString() == ['http://eureka1.example.com:8761/']
+        list.dnsFallbackCount == 1
+    }
+
+    void "test the DNS failure is propagated without last known discovery servers"() {
+        given:
+        def list = instanceList(configuration(), { name -> throw new NamingException('DNS is down') })
+
+        when:
+        list.instances
+
+        then:
+        thrown(RuntimeException)
+        list.dnsFallbackCount == 0
+    }
+
+    private static Set<String> records(String name) {
+        switch (name) {
+            case 'txt.default.example.com': return ['zone1.example.com'] as Set
+            case 'txt.zone1.example.com': return ['eureka1.example.com'] as Set
+            default: throw new NamingException("Unknown name $name")
+        }
+    }
+
+    private DiscoveryServerInstanceList instanceList(DiscoveryClientConfiguration configuration, DnsRecordCache.TxtRecordLookup lookup) {
+        def list = new DiscoveryServerInstanceList(configuration, new ApplicationConfiguration().instance, lookup) {
+            @Override
+            String getID() {
+                'eureka'
+            }
+        }
+        EmbeddedServer server = Stub()
+        server.host >> 'localhost'
+        list.onApplicationEvent(new ServerStartupEvent(server))
+        list
+    }
+
+    private static DiscoveryClientConfiguration configuration() {
+        def configuration = new DiscoveryClientConfiguration() {
+            @Override
+            protected String getServiceID() {
+                'eureka'
+            }
+
+            @Override
+            DiscoveryConfiguration getDiscovery() {
+                null
+            }
+
+            @Override
+            RegistrationConfiguration getRegistration() {
+                null
+            }
+        }
+        configuration.host = 'example.com'
+        configuration.port = 8761
+        configuration.shouldUseDns = true
+        configuration
+    }
+}
@@ -0,0 +1,82 @@
+package io.micronaut.discovery.client
+
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.naming.NamingException
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+class DnsRecordCacheSpec extends Specification {
+
+    void "test the records are resolved once until they expire"() {
+        given:
+        def lookups = new AtomicInteger()
+        def cache = new DnsRecordCache({ name -> lookups.incrementAndGet(); ['us-east-1a.example.com'] as Set }, Duration.ofMinutes(1))
+
+        when:
+        def records = (1..3).collect { cache.getCNamesFromTxtRecord('txt.us-east-1.example.com') }
+
+        then:
+        lookups.get() == 1
+        records.every { it == ['us-east-1a.example.com'] as Set }
+        cache.version == 1
+    }
+
+    void "test expired records are served while they are resolved again in the background"() {
+        given:
+        def lookups = new AtomicInteger()
+        def cache = new DnsRecordCache({ name ->
+            lookups.incrementAndGet() == 1 ? ['a.example.com'] as Set : ['a.example.com', 'b.example.com'] as Set
+        }, Duration.ofMillis(50))
+        def conditions = new PollingConditions(timeout: 5)
+        cache.getCNamesFromTxtRecord('txt.example.com')
+        def version = cache.version
+
+        when:
+        Thread.sleep(100)
+
+        then:
+        cache.getCNamesFromTxtRecord('txt.example.com') == ['a.example.com'] as Set
+        conditions.eventually {
+            assert cache.getCNamesFromTxtRecord('txt.example.com') == ['a.example.com', 'b.example.com'] as Set
+            assert cache.version == version + 1
+        }
+    }
+
+    void "test the records are kept when they cannot be resolved again"() {
+        given:
+        def lookups = new AtomicInteger()
+        def cache = new DnsRecordCache({ name ->
+            if (lookups.incrementAndGet() > 1) {
+                throw new NamingException('DNS is down')
+            }
+            ['a.example.com'] as Set
+        }, Duration.ofMillis(50))
+        def conditions = new PollingConditions(timeout: 5)
+        cache.getCNamesFromTxtRecord('txt.example.com')
+        def version = cache.version
+
+        when:
+        Thread.sleep(100)
+        cache.getCNamesFromTxtRecord('txt.example.com')
+
+        then:
+        conditions.eventually {
+            assert lookups.get() == 2
+        }
+        cache.getCNamesFromTxtRecord('txt.example.com') == ['a.example.com'] as Set
+        cache.version == version
+    }
+
+    void "test the first lookup fails when the name cannot be resolved"() {
+        given:
+        def cache = new DnsRecordCache({ name -> throw new NamingException('DNS is down') }, Duration.ofMinutes(1))
+
+        when:
+        cache.getCNamesFromTxtRecord('txt.example.com')
+
+        then:
+        thrown(NamingException)
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client
+
+import io.micronaut.discovery.ServiceInstance
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+
+class ServiceInstanceCacheSpec extends Specification {
+
+    void "test fresh instances are served from the cache"() {
+        given:
+        AtomicInteger loads = new AtomicInteger()
+        ServiceInstanceCache cache = new ServiceInstanceCache(configuration(Duration.ofMinutes(1), Duration.ofMinutes(1)), { String id ->
+            loads.incrementAndGet()
+            Mono.just([ServiceInstance.of(id, 'localhost', 8080)])
+        })
+
+        when:
+        List<ServiceInstance> first = Mono.from(cache.getInstances('foo')).block()
+        List<ServiceInstance> second = Mono.from(cache.getInstances('foo')).block()
+
+        then:
+        first.is(second)
+        loads.get() == 1
+        cache.getStaleness('foo').get() == Duration.ZERO
+        !cache.getStaleness('bar').present
+    }
+
+    void "test expired instances are served while they are refreshed in the background"() {
+        given:
+        AtomicInteger loads = new AtomicInteger()
+        ServiceInstanceCache cache = new ServiceInstanceCache(configuration(Duration.ofMillis(50), Duration.ofMinutes(1)), { String id ->
+            int port = 8080 + loads.incrementAndGet()
+            Mono.just([ServiceInstance.of(id, 'localhost', port)]).delayElement(Duration.ofMillis(100))
+        })
+        Mono.from(cache.getInstances('foo')).block()
+        sleep(100)
+
+        when:
+        List<ServiceInstance> stale = Mono.from(cache.getInstances('foo')).block(Duration.ofMillis(50))
+
+        then:
+        stale[0].port == 8081
+        cache.staleServedCount == 1
+        new PollingConditions(timeout: 5).eventually {
+            assert Mono.from(cache.getInstances('foo')).block()[0].port == 8082
+        }
+        loads.get() == 2
+    }
+
+    void "test the last instances are served when the discovery server fails"() {
+        given:
+        AtomicInteger loads = new AtomicInteger()
+        ServiceInstanceCache cache = new ServiceInstanceCache(configuration(Duration.ZERO, Duration.ofMillis(300)), { String id ->
+            loads.incrementAndGet() == 1 ? Mono.just([ServiceInstance.of(id, 'localhost', 8080)]) : Mono.error(new IllegalStateException('Bad'))
+        })
+        Mono.from(cache.getInstances('foo')).block()
+        sleep(10)
+
+        expect: 'the stale instances are served'
+        Mono.from(cache.getInstances('foo')).block()[0].port == 8080
+
+        when: 'the instances are staler than the max staleness'
+        sleep(400)
+        List<ServiceInstance> instances = Mono.from(cache.getInstances('foo')).block()
+
+        then: 'they are still served while the discovery server fails'
+        instances[0].port == 8080
+        cache.getStaleness('foo').get() >= Duration.ofMillis(400)
+    }
+
+    void "test the discovery server is not queried again until the backoff delay elapsed"() {
+        given:
+        AtomicInteger loads = new AtomicInteger()
+        ServiceInstanceCache cache = new ServiceInstanceCache(configuration(Duration.ZERO, Duration.ofMinutes(1)), { String id ->
+            loads.incrementAndGet() == 1 ? Mono.just([ServiceInstance.of(id, 'localhost', 8080)]) : Mono.error(new IllegalStateException('Bad'))
+        })
+        Mono.from(cache.getInstances('foo')).block()
+        sleep(10)
+
+        when: 'the background refresh fails'
+        Mono.from(cache.getInstances('foo')).block()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert loads.get() == 2
+        }
+
+        when: 'the instances are looked up again during the backoff delay'
+        10.times { Mono.from(cache.getInstances('foo')).block() }
+
+        then: 'the stale instances are served without querying the discovery server'
+        loads.get() == 2
+        cache.staleServedCount == 11
+
+        when:
+        sleep(ServiceInstanceCache.INITIAL_BACKOFF.toMillis() + 100)
+        Mono.from(cache.getInstances('foo')).block()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert loads.get() == 3
+        }
+    }
+
+    void "test the staleness of the caches of a discovery client is available from the registered caches"() {
+        given:
+        ServiceInstanceCaches caches = new ServiceInstanceCaches()
+        ServiceInstanceCache cache = new ServiceInstanceCache(configuration(Duration.ofMinutes(1), Duration.ofMinutes(1)), { String id ->
+            Mono.just([ServiceInstance.of(id, 'localhost', 8080)])
+        })
+        caches.register('consul', cache)
+
+        when:
+        Mono.from(cache.getInstances('foo-bar')).block()
+
+        then:
+        caches.getStaleness('consul', 'fooBar').get() == Duration.ZERO
+        !caches.getStaleness('eureka', 'fooBar').present
+        caches.getStaleServedCount('consul') == 0
+
+        when:
+        caches.unregister('consul', cache)
+
+        then:
+        !caches.getStaleness('consul', 'fooBar').present
+    }
+
+    void "test closing the cache stops the background refreshes"() {
+        given:
+        AtomicInteger loads = new AtomicInteger()
+        AtomicBoolean cancelled = new AtomicBoolean()
+        ServiceInstanceCache cache = new ServiceInstanceCache(configuration(Duration.ZERO, Duration.ofMinutes(1)), { String id ->
+            loads.incrementAndGet() == 1 ? Mono.just([ServiceInstance.of(id, 'localhost', 8080)]) : Mono.<List<ServiceInstance>>never().doOnCancel { cancelled.set(true) }
+        })
+        Mono.from(cache.getInstances('foo')).block()
+        sleep(10)
+
+        when: "the expired instances are refreshed in the background"
+        Mono.from(cache.getInstances('foo')).block()
+        cache.close()
+
+        then:
+        loads.get() == 2
+        cancelled.get()
+        !cache.getStaleness('foo').present
+    }
+
+    private static ServiceInstanceCacheConfiguration configuration(Duration ttl, Duration maxStaleness) {
+        ServiceInstanceCacheConfiguration configuration = new ServiceInstanceCacheConfiguration()
+        configuration.enabled = true
+        configuration.ttl = ttl
+        configuration.maxStaleness = maxStaleness
+        configuration
+    }
+}
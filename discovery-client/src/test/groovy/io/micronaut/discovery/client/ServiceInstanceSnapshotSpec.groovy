@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client
+
+import io.micronaut.discovery.ServiceInstance
+import reactor.core.publisher.Flux
+import spock.lang.Specification
+
+class ServiceInstanceSnapshotSpec extends Specification {
+
+    void "test a snapshot is immutable and reuses its publisher"() {
+        given:
+        List<ServiceInstance> instances = [
+                ServiceInstance.builder('foo', URI.create('http://foo1:8080')).build(),
+                ServiceInstance.builder('foo', URI.create('http://foo2:8080')).build()
+        ]
+
+        when:
+        ServiceInstanceSnapshot snapshot = ServiceInstanceSnapshot.of(instances)
+        instances.clear()
+
+        then:
+        snapshot.size() == 2
+        snapshot[0].URI == URI.create('http://foo1:8080')
+        snapshot.asPublisher().is(snapshot.asPublisher())
+        Flux.from(snapshot.asPublisher()).blockFirst().is(snapshot)
+        ServiceInstanceSnapshot.of(snapshot).is(snapshot)
+        ServiceInstanceSnapshot.of([]).is(ServiceInstanceSnapshot.empty())
+
+        when:
+        snapshot.add(ServiceInstance.builder('foo', URI.create('http://foo3:8080')).build())
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+}
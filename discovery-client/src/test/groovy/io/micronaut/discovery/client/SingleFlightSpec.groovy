@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client
+
+import reactor.core.publisher.Mono
+import reactor.core.publisher.Sinks
+import spock.lang.Specification
+
+import java.util.concurrent.atomic.AtomicInteger
+
+class SingleFlightSpec extends Specification {
+
+    void "test concurrent subscribers share a single call"() {
+        given:
+        SingleFlight<String, String> singleFlight = new SingleFlight<>()
+        AtomicInteger calls = new AtomicInteger()
+        Sinks.One<String> response = Sinks.one()
+        List<String> results = Collections.synchronizedList([])
+
+        when:
+        3.times {
+            Mono.from(singleFlight.execute('foo', { calls.incrementAndGet(); response.asMono() })).subscribe { results << it }
+        }
+
+        then:
+        calls.get() == 1
+        singleFlight.size() == 1
+        results.isEmpty()
+
+        when:
+        response.tryEmitValue('bar')
+
+        then:
+        results == ['bar', 'bar', 'bar']
+        singleFlight.size() == 0
+
+        when: 'a call is made once the previous one completed'
+        String result = Mono.from(singleFlight.execute('foo', { calls.incrementAndGet(); Mono.just('baz') })).block()
+
+        then:
+        result == 'baz'
+        calls.get() == 2
+    }
+
+    void "test calls for different keys are not shared"() {
+        given:
+        SingleFlight<String, String> singleFlight = new SingleFlight<>()
+
+        expect:
+        Mono.from(singleFlight.execute('foo', { Mono.just('foo') })).block() == 'foo'
+        Mono.from(singleFlight.execute('bar', { Mono.just('bar') })).block() == 'bar'
+    }
+
+    void "test errors are not kept once the call completed"() {
+        given:
+        SingleFlight<String, String> singleFlight = new SingleFlight<>()
+
+        when:
+        Mono.from(singleFlight.execute('foo', { Mono.error(new IllegalStateException('Bad')) })).block()
+
+        then:
+        thrown(IllegalStateException)
+        singleFlight.size() == 0
+        Mono.from(singleFlight.execute('foo', { Mono.just('foo') })).block() == 'foo'
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.config
+
+import io.micronaut.context.env.Environment
+import io.micronaut.context.env.PropertySource
+import io.micronaut.context.exceptions.ConfigurationException
+import io.micronaut.discovery.config.ConfigurationClient
+import org.reactivestreams.Publisher
+import reactor.core.publisher.Flux
+import spock.lang.Specification
+
+import java.time.Duration
+
+class DistributedPropertySourceLocatorSpec extends Specification {
+
+    void "test configuration clients are read concurrently and in order"() {
+        given:
+        ConfigurationClient slow = new DelayedClient('slow', Duration.ofMillis(500))
+        ConfigurationClient fast = new DelayedClient('fast', Duration.ZERO)
+        ConfigurationClient composite = new DelayedClient('composite', Duration.ZERO)
+        DistributedPropertySourceLocator locator = new DistributedPropertySourceLocator(
+                composite, Duration.ofSeconds(10), [composite, slow, fast, new DelayedClient('other', Duration.ofMillis(500))], true, null, null)
+
+        when:
+        long start = System.currentTimeMillis()
+        List<PropertySource> propertySources = locator.findPropertySources(Mock(Environment)).toList()
+
+        then:
+        propertySources*.name == ['slow', 'fast', 'other']
+        System.currentTimeMillis() - start < 1000
+    }
+
+    void "test a configuration client exceeding its deadline fails the read"() {
+        given:
+        ConfigurationClient composite = new DelayedClient('composite', Duration.ZERO)
+        DistributedPropertySourceLocator locator = new DistributedPropertySourceLocator(
+                composite, Duration.ofSeconds(10), [new DelayedClient('fast', Duration.ZERO), new DelayedClient('slow', Duration.ofSeconds(5))], true, Duration.ofMillis(200), null)
+
+        when:
+        locator.findPropertySources(Mock(Environment))
+
+        then:
+        ConfigurationException e = thrown()
+        e.message.startsWith('Read timeout occurred reading distributed configuration from client: slow')
+    }
+
+    static class DelayedClient implements ConfigurationClient {
+        final String name
+        final Duration delay
+
+        DelayedClient(String name, Duration delay) {
+            this.name = name
+            this.delay = delay
+        }
+
+        @Override
+        Publisher<PropertySource> getPropertySources(Environment environment) {
+            Flux<PropertySource> source = Flux.just(PropertySource.of(name, [(name): 'value']))
+            return delay.isZero() ? source : source.delaySubscription(delay)
+        }
+
+        @Override
+        String getDescription() {
+            name
+        }
+    }
+}
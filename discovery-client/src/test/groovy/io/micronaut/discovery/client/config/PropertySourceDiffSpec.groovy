@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.config
+
+import io.micronaut.context.env.PropertySource
+import spock.lang.Specification
+
+class PropertySourceDiffSpec extends Specification {
+
+    void "test unchanged property sources are reused"() {
+        given:
+        PropertySource unchanged = PropertySource.of('consul-application', [a: '1', b: '2'], 101)
+        PropertySource changed = PropertySource.of('consul-app', [c: '3', d: '4'], 151)
+
+        when:
+        PropertySourceDiff diff = PropertySourceDiff.compare([unchanged, changed], [
+                PropertySource.of('consul-application', [a: '1', b: '2'], 101),
+                PropertySource.of('consul-app', [c: '30', d: '4', e: '5'], 151)
+        ])
+
+        then:
+        diff.propertySources[0].is(unchanged)
+        !diff.propertySources[1].is(changed)
+        diff.changedPropertySources*.name == ['consul-app']
+        diff.changes == [c: '3', e: null]
+        !diff.hasRemovals()
+        !diff.empty
+    }
+
+    void "test removed properties and property sources are reported"() {
+        when:
+        PropertySourceDiff diff = PropertySourceDiff.compare([
+                PropertySource.of('consul-application', [a: '1', b: '2'], 101),
+                PropertySource.of('consul-app', [c: '3'], 151)
+        ], [
+                PropertySource.of('consul-application', [a: '1'], 101)
+        ])
+
+        then:
+        diff.changedKeys == ['b', 'c'] as Set
+        diff.hasRemovals()
+        diff.changedPropertySources*.name == ['consul-application']
+    }
+
+    void "test nothing changed"() {
+        when:
+        PropertySourceDiff diff = PropertySourceDiff.compare([PropertySource.of('a', [a: '1'], 1)], [PropertySource.of('a', [a: '1'], 1)])
+
+        then:
+        diff.empty
+        diff.changedKeys.isEmpty()
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.config
+
+import io.micronaut.context.BeanContext
+import io.micronaut.context.env.Environment
+import io.micronaut.context.env.PropertySource
+import io.micronaut.context.event.ApplicationEventPublisher
+import io.micronaut.context.event.StartupEvent
+import io.micronaut.discovery.config.ConfigurationClient
+import io.micronaut.runtime.context.scope.refresh.RefreshEvent
+import org.reactivestreams.Publisher
+import reactor.core.publisher.Flux
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.util.concurrent.PollingConditions
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.PosixFilePermissions
+import java.time.Duration
+
+class PropertySourceSnapshotStoreSpec extends Specification {
+
+    @TempDir
+    Path dir
+
+    void "test property sources are written and read back"() {
+        given:
+        PropertySourceSnapshotStore store = new PropertySourceSnapshotStore(dir.toString())
+        Environment environment = Stub(Environment) {
+            getProperty('micronaut.application.name', String) >> Optional.of('foo')
+            getActiveNames() >> (['test', 'cloud'] as Set)
+        }
+
+        expect:
+        store.read(environment) == null
+
+        when:
+        store.write(environment, [
+                PropertySource.of('consul-application', [a: 'x' * 70000, b: true, c: 1, d: 2L, e: 1.5d, f: ['x', 2], g: [h: null]], 101),
+                PropertySource.of('vault-foo', [secret: 'value'], 150)
+        ])
+        List<PropertySource> propertySources = store.read(environment)
+
+        then:
+        store.resolveFile(environment).fileName.toString().startsWith('foo-')
+        propertySources*.name == ['consul-application', 'vault-foo']
+        propertySources*.order == [101, 150]
+        propertySources[0].get('a') == 'x' * 70000
+        propertySources[0].get('b') == true
+        propertySources[0].get('c') == 1
+        propertySources[0].get('d') == 2L
+        propertySources[0].get('e') == 1.5d
+        propertySources[0].get('f') == ['x', 2]
+        propertySources[0].get('g') == [h: null]
+        propertySources[1].get('secret') == 'value'
+    }
+
+    void "test a corrupted snapshot is ignored"() {
+        given:
+        PropertySourceSnapshotStore store = new PropertySourceSnapshotStore(dir.toString())
+        Environment environment = Stub(Environment) {
+            getProperty('micronaut.application.name', String) >> Optional.empty()
+            getActiveNames() >> ([] as Set)
+        }
+        Files.write(store.resolveFile(environment), [1, 2, 3] as byte[])
+
+        expect:
+        store.read(environment) == null
+    }
+
+    void "test the snapshot directory is created only accessible by its owner"() {
+        given:
+        Path directory = dir.resolve('nested').resolve('snapshots')
+        PropertySourceSnapshotStore store = new PropertySourceSnapshotStore(directory.toString())
+        Environment environment = Stub(Environment) {
+            getProperty('micronaut.application.name', String) >> Optional.of('foo')
+            getActiveNames() >> ([] as Set)
+        }
+
+        when:
+        store.write(environment, [PropertySource.of('remote', [a: 'value'], 100)])
+
+        then:
+        PosixFilePermissions.toString(Files.getPosixFilePermissions(directory)) == 'rwx------'
+        PosixFilePermissions.toString(Files.getPosixFilePermissions(store.resolveFile(environment))) == 'rw-------'
+        store.read(environment)[0].get('a') == 'value'
+    }
+
+    void "test a snapshot in a directory writable by other users is neither read nor written"() {
+        given:
+        PropertySourceSnapshotStore store = new PropertySourceSnapshotStore(dir.toString())
+        List<PropertySource> served = []
+        Environment environment = Stub(Environment) {
+            getProperty('micronaut.application.name', String) >> Optional.of('foo')
+            getActiveNames() >> ([] as Set)
+            getPropertySources() >> { served }
+        }
+        store.write(environment, [PropertySource.of('remote', [a: 'old'], 100)])
+
+        when:
+        Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString('rwxrwxrwx'))
+        store.write(environment, [PropertySource.of('remote', [a: 'new'], 100)])
+
+        then:
+        store.read(environment) == null
+
+        when:
+        Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString('rwx------'))
+
+        then:
+        store.read(environment)[0].get('a') == 'old'
+    }
+
+    void "test a snapshot with a corrupted length is ignored without allocating it"() {
+        given:
+        PropertySourceSnapshotStore store = new PropertySourceSnapshotStore(dir.toString())
+        Environment environment = Stub(Environment) {
+            getProperty('micronaut.application.name', String) >> Optional.empty()
+            getActiveNames() >> ([] as Set)
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream()
+        new DataOutputStream(bytes).with {
+            writeInt(0x4D43534E)
+            writeInt(1)
+            writeInt(1)
+            writeInt(Integer.MAX_VALUE)
+        }
+        Files.write(store.resolveFile(environment), bytes.toByteArray())
+
+        expect:
+        store.read(environment) == null
+    }
+
+    void "test the snapshot is served at startup and reconciled once the application has started"() {
+        given:
+        PropertySourceSnapshotStore store = new PropertySourceSnapshotStore(dir.toString())
+        List<PropertySource> served = []
+        Environment environment = Stub(Environment) {
+            getProperty('micronaut.application.name', String) >> Optional.of('foo')
+            getActiveNames() >> ([] as Set)
+            getPropertySources() >> { served }
+        }
+        store.write(environment, [PropertySource.of('remote', [a: 'old'], 100)])
+        ConfigurationClient client = new ConfigurationClient() {
+            @Override
+            Publisher<PropertySource> getPropertySources(Environment env) {
+                Flux.just(PropertySource.of('remote', [a: 'new'], 100)).delaySubscription(Duration.ofMillis(200))
+            }
+
+            @Override
+            String getDescription() {
+                'remote'
+            }
+        }
+        DistributedPropertySourceLocator locator = new DistributedPropertySourceLocator(client, Duration.ofSeconds(10), [client], false, null, store)
+        List<RefreshEvent> events = [].asSynchronized()
+        boolean refreshed = false
+        environment.refreshAndDiff() >> {
+            refreshed = true
+            // the refresh reads the configuration clients again through the locator
+            locator.findPropertySources(environment)
+            [a: 'old']
+        }
+        PropertySourceSnapshotReconciler reconciler = new PropertySourceSnapshotReconciler(locator, store, environment, { events << it } as ApplicationEventPublisher<RefreshEvent>)
+
+        when:
+        List<PropertySource> propertySources = locator.findPropertySources(environment).toList()
+        served.addAll(propertySources)
+
+        then: 'the snapshot is served without reading the client'
+        propertySources[0].get('a') == 'old'
+
+        when:
+        reconciler.onApplicationEvent(new StartupEvent(Stub(BeanContext)))
+
+        then: 'the environment is refreshed and the refreshable beans are notified'
+        new PollingConditions(timeout: 5).eventually {
+            assert refreshed
+            assert events*.source == [[a: 'old']]
+            assert store.read(environment)[0].get('a') == 'new'
+        }
+    }
+
+    void "test a snapshot matching the distributed configuration is not refreshed"() {
+        given:
+        PropertySourceSnapshotStore store = new PropertySourceSnapshotStore(dir.toString())
+        List<PropertySource> served = []
+        Environment environment = Mock(Environment) {
+            getProperty('micronaut.application.name', String) >> Optional.of('foo')
+            getActiveNames() >> ([] as Set)
+            getPropertySources() >> { served }
+        }
+        store.write(environment, [PropertySource.of('remote', [a: 'same'], 100)])
+        served.addAll(store.read(environment))
+        ConfigurationClient client = Stub(ConfigurationClient) {
+            getPropertySources(_) >> Flux.just(PropertySource.of('remote', [a: 'same'], 100))
+        }
+        DistributedPropertySourceLocator locator = new DistributedPropertySourceLocator(client, Duration.ofSeconds(10), [client], false, null, store)
+        ApplicationEventPublisher<RefreshEvent> publisher = Mock(ApplicationEventPublisher)
+        PropertySourceSnapshotReconciler reconciler = new PropertySourceSnapshotReconciler(locator, store, environment, publisher)
+
+        when:
+        reconciler.onApplicationEvent(new StartupEvent(Stub(BeanContext)))
+        Thread.sleep(500)
+
+        then:
+        0 * environment.refreshAndDiff()
+        0 * publisher.publishEvent(_)
+    }
+
+    void "test the configuration is not read again when it was read from the clients at startup"() {
+        given:
+        PropertySourceSnapshotStore store = new PropertySourceSnapshotStore(dir.toString())
+        List<PropertySource> added = []
+        Environment environment = Stub(Environment) {
+            getProperty('micronaut.application.name', String) >> Optional.of('foo')
+            getActiveNames() >> ([] as Set)
+            getPropertySources() >> { added }
+        }
+        int reads = 0
+        ConfigurationClient client = Stub(ConfigurationClient) {
+            getPropertySources(_) >> {
+                reads++
+                Flux.just(PropertySource.of('remote', [a: 'same'], 100))
+            }
+        }
+        DistributedPropertySourceLocator locator = new DistributedPropertySourceLocator(client, Duration.ofSeconds(10), [client], false, null, store)
+        PropertySourceSnapshotReconciler reconciler = new PropertySourceSnapshotReconciler(locator, store, environment, Mock(ApplicationEventPublisher))
+
+        when: 'the first run reads the client and writes the snapshot'
+        added.addAll(locator.findPropertySources(environment).toList())
+        reconciler.onApplicationEvent(new StartupEvent(Stub(BeanContext)))
+        Thread.sleep(200)
+
+        then:
+        store.read(environment) != null
+        store.getServedPropertySources(environment).isEmpty()
+        reads == 1
+    }
+}
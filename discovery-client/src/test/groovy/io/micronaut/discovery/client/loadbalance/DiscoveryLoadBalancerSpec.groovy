@@ -0,0 +1,146 @@
+package io.micronaut.discovery.client.loadbalance
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.discovery.DiscoveryClient
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.exceptions.NoAvailableServiceException
+import io.micronaut.health.HealthStatus
+import io.micronaut.http.client.loadbalance.DiscoveryClientLoadBalancerFactory
+import spock.lang.Specification
+
+class DiscoveryLoadBalancerSpec extends Specification {
+
+    void "test the load balancer factory is replaced when enabled"() {
+        given:
+        ApplicationContext context = ApplicationContext.run([
+            (LoadBalancerConfiguration.ENABLED)                   : true,
+            'micronaut.discovery-client.load-balancer.zone'       : 'us-east-1a'
+        ])
+
+        when:
+        def factory = context.getBean(DiscoveryClientLoadBalancerFactory)
+
+        then:
+        factory instanceof DiscoveryLoadBalancerFactory
+        factory.create('foo') instanceof DiscoveryLoadBalancer
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the default load balancer factory is kept when disabled"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+
+        expect:
+        !(context.getBean(DiscoveryClientLoadBalancerFactory) instanceof DiscoveryLoadBalancerFactory)
+
+        cleanup:
+        context.close()
+    }
+
+    void "test instances are selected in round robin order, leaving out the ones that are down"() {
+        given:
+        def balancer = new DiscoveryLoadBalancer('foo', Stub(DiscoveryClient), [], new RoundRobinSelector())
+        def instances = [instance('a', 'zone-a'), instance('b', 'zone-a', HealthStatus.DOWN), instance('c', 'zone-b')]
+
+        expect:
+        (0..3).collect { balancer.select(instances).id } == ['a', 'c', 'a', 'c']
+
+        when:
+        balancer.select([instance('a', 'zone-a', HealthStatus.DOWN)])
+
+        then:
+        thrown(NoAvailableServiceException)
+    }
+
+    void "test the instances of the local zone are preferred"() {
+        given:
+        def filter = new ZoneAffinityFilter('zone-a', new LoadBalancerConfiguration.ZoneAffinityConfiguration())
+        def local = [instance('a1', 'zone-a'), instance('a2', 'zone-a')]
+        def remote = [instance('b1', 'zone-b'), instance('b2', null)]
+
+        expect:
+        filter.filter(local + remote)*.id == ['a1', 'a2']
+    }
+
+    void "test traffic spills over to the other zones when the local zone runs short of healthy instances"() {
+        given:
+        def configuration = new LoadBalancerConfiguration.ZoneAffinityConfiguration(minHealthyRatio: 0.5, minHealthyInstances: 2)
+        def filter = new ZoneAffinityFilter('zone-a', configuration)
+        def remote = [instance('b1', 'zone-b')]
+
+        expect: "below the healthy ratio"
+        filter.filter([instance('a1', 'zone-a'), instance('a2', 'zone-a', HealthStatus.DOWN), instance('a3', 'zone-a', HealthStatus.DOWN), instance('a4', 'zone-a'), instance('a5', 'zone-a', HealthStatus.DOWN)] + remote).size() == 6
+
+        and: "below the healthy instances"
+        filter.filter([instance('a1', 'zone-a')] + remote).size() == 2
+
+        and: "without instances in the local zone"
+        filter.filter(remote).size() == 1
+
+        and: "with enough capacity"
+        filter.filter([instance('a1', 'zone-a'), instance('a2', 'zone-a'), instance('a3', 'zone-a', HealthStatus.DOWN)] + remote)*.id == ['a1', 'a2', 'a3']
+    }
+
+    void "test the down instances are left out before the instances are narrowed down"() {
+        given:
+        def balancer = new DiscoveryLoadBalancer('foo', Stub(DiscoveryClient), [new AvailableInstances(), { it.subList(0, 1) } as InstanceFilter], new RoundRobinSelector())
+
+        expect:
+        balancer.select([instance('a', 'zone-a', HealthStatus.DOWN), instance('b', 'zone-a')]).id == 'b'
+    }
+
+    void "test the down instances are left out once per instance list"() {
+        given:
+        def filter = new AvailableInstances()
+        def instances = [instance('a', 'zone-a'), instance('b', 'zone-a', HealthStatus.DOWN)]
+        def up = [instance('a', 'zone-a'), instance('b', 'zone-a')]
+
+        when:
+        def available = filter.filter(instances)
+
+        then:
+        available*.id == ['a']
+        filter.filter(instances).is(available)
+        filter.complete(available).is(instances)
+
+        and: "a list without down instances is kept"
+        filter.filter(up).is(up)
+    }
+
+    void "test the zone is split once per instance list, counting the down instances left out before"() {
+        given:
+        def configuration = new LoadBalancerConfiguration.ZoneAffinityConfiguration(minHealthyRatio: 0.5, minHealthyInstances: 1)
+        def available = new AvailableInstances()
+        def filter = new ZoneAffinityFilter('zone-a', configuration, available)
+        def remote = [instance('b1', 'zone-b')]
+        def degraded = [instance('a1', 'zone-a'), instance('a2', 'zone-a', HealthStatus.DOWN), instance('a3', 'zone-a', HealthStatus.DOWN)] + remote
+        def healthy = [instance('a1', 'zone-a'), instance('a2', 'zone-a'), instance('a3', 'zone-a', HealthStatus.DOWN)] + remote
+
+        when:
+        def candidates = available.filter(degraded)
+        def selected = filter.filter(candidates)
+
+        then: "below the healthy ratio of the complete list"
+        selected*.id == ['a1', 'b1']
+        filter.filter(candidates).is(selected)
+
+        when:
+        candidates = available.filter(healthy)
+        selected = filter.filter(candidates)
+
+        then:
+        selected*.id == ['a1', 'a2']
+        filter.filter(candidates).is(selected)
+    }
+
+    private static ServiceInstance instance(String id, String zone, HealthStatus status = HealthStatus.UP) {
+        def builder = ServiceInstance.builder(id, URI.create("http://${id}:8080"))
+            .status(status)
+        if (zone != null) {
+            builder.zone(zone)
+        }
+        builder.build()
+    }
+}
@@ -0,0 +1,163 @@
+package io.micronaut.discovery.client.loadbalance
+
+import io.micronaut.core.convert.value.ConvertibleValues
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.client.ServiceInstanceMetadata
+import io.micronaut.discovery.consul.ConsulServiceInstance
+import io.micronaut.discovery.consul.client.v1.ConsulCatalogEntry
+import io.micronaut.discovery.consul.client.v1.ConsulCheck
+import io.micronaut.discovery.consul.client.v1.ConsulCheckStatus
+import io.micronaut.discovery.consul.client.v1.ConsulHealthEntry
+import io.micronaut.discovery.consul.client.v1.ConsulServiceEntry
+import io.micronaut.discovery.consul.client.v1.ConsulWeights
+import spock.lang.Specification
+
+import java.util.concurrent.atomic.AtomicInteger
+
+class InstanceSelectorSpec extends Specification {
+
+    void "test smooth weighted round robin spreads the selections of heavy instances"() {
+        given:
+        def selector = new SmoothWeightedRoundRobinSelector(InstanceWeights::weight)
+        def instances = [instance('a', 5), instance('b', 1), instance('c', 1)]
+
+        expect:
+        (1..7).collect { selector.select(instances).id } == ['a', 'a', 'b', 'a', 'c', 'a', 'a']
+    }
+
+    void "test smooth weighted round robin selects uniformly without positive weights"() {
+        given:
+        def selector = new SmoothWeightedRoundRobinSelector(InstanceWeights::weight)
+        def instances = [instance('a', 0), instance('b', 0)]
+
+        expect:
+        (1..4).collect { selector.select(instances).id } == ['a', 'b', 'a', 'b']
+    }
+
+    void "test weighted random selects in proportion to the weights"() {
+        given:
+        def selector = new WeightedRandomSelector(InstanceWeights::weight)
+        def instances = [instance('a', 3), instance('b', 1), instance('c', 0)]
+
+        when:
+        def counts = (1..4000).collect { selector.select(instances).id }.countBy { it }
+
+        then:
+        counts['a'] > 2700
+        counts['b'] > 800
+        !counts.containsKey('c')
+    }
+
+    void "test the weight is read from the metadata"() {
+        expect:
+        InstanceWeights.weight(instance('a', 4)) == 4d
+        InstanceWeights.weight(ServiceInstance.of('b', URI.create('http://b:8080'))) == InstanceWeights.DEFAULT_WEIGHT
+        InstanceWeights.weight(ServiceInstance.builder('c', URI.create('http://c:8080')).metadata([weight: 'x']).build()) == InstanceWeights.DEFAULT_WEIGHT
+    }
+
+    void "test the weight of Consul instances depends on their checks"() {
+        given:
+        def node = new ConsulCatalogEntry("test-node", InetAddress.localHost, null, null, null, null)
+        def service = new ConsulServiceEntry("test-service", "127.0.0.1", 8080, null, "test-service-1", null, new ConsulWeights(10, 2))
+        def check = new ConsulCheck()
+        check.status = status.toString()
+
+        when:
+        def instance = new ConsulServiceInstance(new ConsulHealthEntry(node, service, [check]), "http")
+
+        then:
+        instance.weight.get() == weight
+        InstanceWeights.weight(instance) == weight
+
+        where:
+        status                    | weight
+        ConsulCheckStatus.PASSING | 10
+        ConsulCheckStatus.WARNING | 2
+    }
+
+    void "test the weight set in the meta of a Consul service takes precedence"() {
+        given:
+        def node = new ConsulCatalogEntry("test-node", InetAddress.localHost, null, null, null, null)
+        def service = new ConsulServiceEntry("test-service", "127.0.0.1", 8080, null, "test-service-1", [weight: '7'], new ConsulWeights(10, 2))
+
+        when:
+        def instance = new ConsulServiceInstance(new ConsulHealthEntry(node, service, []), "http")
+
+        then:
+        instance.weight.get() == 10
+        InstanceWeights.weight(instance) == 7
+    }
+
+    void "test the weights are parsed once per instance list"() {
+        given:
+        AtomicInteger reads = new AtomicInteger()
+        def a = instance('a', 3)
+        def counting = new ServiceInstance() {
+            String getId() { 'b' }
+            URI getURI() { URI.create('http://b:8080') }
+            ConvertibleValues<String> getMetadata() {
+                reads.incrementAndGet()
+                ConvertibleValues.of([(ServiceInstanceMetadata.WEIGHT): '1'])
+            }
+        }
+        def weights = new SnapshotWeights()
+        def instances = [a, counting]
+
+        when:
+        5.times {
+            weights.filter(instances)
+            weights.applyAsDouble(a)
+            weights.applyAsDouble(counting)
+        }
+
+        then:
+        reads.get() == 1
+        weights.applyAsDouble(a) == 3d
+
+        when: "a new instance list"
+        weights.filter([counting])
+
+        then:
+        reads.get() == 2
+    }
+
+    void "test power of two choices selects the less loaded instance"() {
+        given:
+        def registry = new InstanceStatsRegistry(new LoadBalancerConfiguration())
+        def selector = new PowerOfTwoChoicesSelector(registry, { 1d })
+        def busy = instance('busy', 1)
+        def idle = instance('idle', 1)
+        3.times { registry.get(busy.URI).start() }
+
+        expect: "without latency samples the instance with fewer requests in flight"
+        (1..10).every { selector.select([busy, idle]).id == 'idle' }
+
+        when: "the idle instance is much slower"
+        def start = registry.get(idle.URI).start()
+        Thread.sleep(50)
+        registry.get(idle.URI).end(start)
+        def busyStart = registry.get(busy.URI).start()
+        registry.get(busy.URI).end(busyStart)
+
+        then:
+        registry.get(busy.URI).inFlight == 3
+        registry.get(idle.URI).inFlight == 0
+        (1..10).every { selector.select([busy, idle]).id == 'busy' }
+    }
+
+    void "test the statistics of an instance are shared by its URIs"() {
+        given:
+        def registry = new InstanceStatsRegistry(new LoadBalancerConfiguration())
+
+        expect:
+        registry.get(URI.create('http://foo')).is(registry.get(URI.create('http://foo:80/bar?q=1')))
+        !registry.get(URI.create('http://foo')).is(registry.get(URI.create('https://foo')))
+        registry.get(URI.create('http://foo')).latencyEwma < 0
+    }
+
+    private static ServiceInstance instance(String id, int weight) {
+        ServiceInstance.builder(id, URI.create("http://${id}:8080"))
+            .metadata([(ServiceInstanceMetadata.WEIGHT): String.valueOf(weight)])
+            .build()
+    }
+}
@@ -0,0 +1,186 @@
+package io.micronaut.discovery.client.loadbalance
+
+import io.micronaut.context.event.ApplicationEventPublisher
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.client.exceptions.HttpClientException
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.filter.ClientFilterChain
+import reactor.core.publisher.Flux
+import spock.lang.Specification
+
+import java.time.Duration
+
+class OutlierDetectorSpec extends Specification {
+
+    ApplicationEventPublisher<InstanceEjectedEvent> eventPublisher = Mock()
+
+    void "test an instance is ejected after consecutive 5xx responses"() {
+        given:
+        def detector = detector()
+        def uri = URI.create('http://a:8080/path')
+
+        when:
+        2.times { detector.onResponse(uri, 503) }
+        detector.onResponse(uri, 200)
+        2.times { detector.onResponse(uri, 503) }
+
+        then: "a success resets the count"
+        !detector.isEjected(uri)
+        0 * eventPublisher.publishEvent(_)
+
+        when:
+        detector.onError(uri, new HttpClientResponseException('error', HttpResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)))
+
+        then:
+        detector.isEjected(URI.create('http://a:8080'))
+        detector.ejectedCount == 1
+        detector.getEjectionCount(EjectionReason.CONSECUTIVE_ERRORS) == 1
+        1 * eventPublisher.publishEvent({ InstanceEjectedEvent e ->
+            e.source == URI.create('http://a:8080') && e.reason == EjectionReason.CONSECUTIVE_ERRORS && e.ejectionTime == Duration.ofMillis(100)
+        })
+    }
+
+    void "test an instance is ejected after consecutive connect failures"() {
+        given:
+        def detector = detector()
+        def uri = URI.create('http://a:8080')
+
+        when:
+        2.times { detector.onError(uri, new HttpClientException('Connect Error', new ConnectException('refused'))) }
+        detector.onError(uri, new IllegalStateException('unrelated'))
+
+        then:
+        detector.isEjected(uri)
+        detector.getEjectionCount(EjectionReason.CONSECUTIVE_CONNECT_FAILURES) == 1
+    }
+
+    void "test the ejection time doubles on each ejection"() {
+        given:
+        def detector = detector()
+        def uri = URI.create('http://a:8080')
+
+        when:
+        3.times { detector.onResponse(uri, 500) }
+        Thread.sleep(150)
+
+        then: "re-admitted"
+        !detector.isEjected(uri)
+
+        when:
+        3.times { detector.onResponse(uri, 500) }
+        Thread.sleep(150)
+
+        then: "ejected for twice as long"
+        detector.isEjected(uri)
+        1 * eventPublisher.publishEvent({ InstanceEjectedEvent e -> e.ejectionTime == Duration.ofMillis(200) })
+    }
+
+    void "test no more than the max ejection percentage of the instances are left out"() {
+        given:
+        def detector = detector()
+        def instances = ['a', 'b', 'c', 'd'].collect { ServiceInstance.of(it, URI.create("http://${it}:8080")) }
+
+        when:
+        ['a', 'b', 'c'].each { id -> 3.times { detector.onResponse(URI.create("http://${id}:8080"), 500) } }
+
+        then:
+        detector.filter(instances)*.id.size() == 2
+        detector.filter(instances)*.id.contains('d')
+        detector.filter([instances[3]])*.id == ['d']
+    }
+
+    void "test latency outliers are ejected"() {
+        given:
+        def registry = new InstanceStatsRegistry(new LoadBalancerConfiguration())
+        def detector = detector(registry)
+        def instances = ['a', 'b', 'c', 'slow'].collect { ServiceInstance.of(it, URI.create("http://${it}:8080")) }
+        instances.each { instance ->
+            def stats = registry.get(instance.URI)
+            def start = stats.start()
+            Thread.sleep(instance.id == 'slow' ? 100 : 5)
+            stats.end(start)
+        }
+
+        when:
+        detector.detectLatencyOutliers(instances)
+
+        then:
+        detector.isEjected(URI.create('http://slow:8080'))
+        !detector.isEjected(URI.create('http://a:8080'))
+        detector.getEjectionCount(EjectionReason.LATENCY) == 1
+    }
+
+    void "test only the instances of the services are tracked, until they leave"() {
+        given:
+        def registry = new InstanceStatsRegistry(new LoadBalancerConfiguration())
+        def detector = detector(registry)
+        def a = ServiceInstance.of('a', URI.create('http://a:8080'))
+        def b = ServiceInstance.of('b', URI.create('http://b:8080'))
+        def tracker = new InstanceTracker('foo', registry, detector)
+
+        when:
+        tracker.filter([a, b])
+
+        then:
+        registry.find(URI.create('http://a:8080/path')) != null
+        registry.find(URI.create('http://other:8080/path')) == null
+
+        when: 'an instance is shared with another service'
+        new InstanceTracker('bar', registry, detector).filter([b])
+        3.times { detector.onResponse(a.URI, 500) }
+        3.times { detector.onResponse(b.URI, 500) }
+        tracker.filter([a])
+
+        then:
+        registry.find(b.URI) != null
+        detector.isEjected(b.URI)
+
+        when: 'the instance leaves its last service'
+        tracker.filter([])
+        tracker.filter([b])
+
+        then:
+        registry.find(a.URI) == null
+        !detector.isEjected(a.URI)
+        detector.ejectedCount == 1
+    }
+
+    void "test a cancelled request releases its slot without recording its latency"() {
+        given:
+        def registry = new InstanceStatsRegistry(new LoadBalancerConfiguration())
+        def detector = detector(registry)
+        def a = ServiceInstance.of('a', URI.create('http://a:8080'))
+        new InstanceTracker('foo', registry, detector).filter([a])
+        def filter = new InstanceStatsFilter(registry, detector)
+        ClientFilterChain chain = Stub() {
+            proceed(_) >> Flux.never()
+        }
+
+        when:
+        def subscription = Flux.from(filter.doFilter(HttpRequest.GET('http://a:8080/path'), chain)).subscribe()
+
+        then:
+        registry.find(a.URI).inFlight == 1
+
+        when:
+        subscription.dispose()
+
+        then:
+        registry.find(a.URI).inFlight == 0
+        registry.find(a.URI).completed == 0
+        registry.find(a.URI).latencyEwma < 0
+    }
+
+    private OutlierDetector detector(InstanceStatsRegistry registry = new InstanceStatsRegistry(new LoadBalancerConfiguration())) {
+        def configuration = new LoadBalancerConfiguration()
+        configuration.outlierDetection.enabled = true
+        configuration.outlierDetection.consecutiveErrors = 3
+        configuration.outlierDetection.consecutiveConnectFailures = 2
+        configuration.outlierDetection.baseEjectionTime = Duration.ofMillis(100)
+        configuration.outlierDetection.maxEjectionTime = Duration.ofSeconds(1)
+        new OutlierDetector(configuration, registry, eventPublisher)
+    }
+}
@@ -0,0 +1,89 @@
+package io.micronaut.discovery.client.loadbalance
+
+import io.micronaut.discovery.ServiceInstance
+import spock.lang.Specification
+
+import java.time.Duration
+
+class SlowStartSpec extends Specification {
+
+    void "test the instances of the first list are warm"() {
+        given:
+        def slowStart = new SlowStart(configuration(Duration.ofMinutes(1)))
+        def a = instance('a')
+        def b = instance('b')
+
+        when:
+        def filtered = slowStart.filter([a, b])
+
+        then:
+        filtered == [a, b]
+        slowStart.factor(a) == 1
+        slowStart.factor(b) == 1
+    }
+
+    void "test a new instance ramps up from the min weight ratio"() {
+        given:
+        def slowStart = new SlowStart(configuration(Duration.ofMinutes(1)))
+        def a = instance('a')
+        def b = instance('b')
+        slowStart.filter([a])
+
+        when:
+        slowStart.filter([a, b])
+
+        then:
+        slowStart.factor(a) == 1
+        slowStart.factor(b) == 0.1d
+
+        when: "the instance leaves and comes back"
+        slowStart.filter([a])
+        slowStart.filter([a, b])
+
+        then:
+        slowStart.factor(b) == 0.1d
+    }
+
+    void "test a new instance reaches its full weight after the window"() {
+        given:
+        def slowStart = new SlowStart(configuration(Duration.ofMillis(100)))
+        def a = instance('a')
+        def b = instance('b')
+        slowStart.filter([a])
+        slowStart.filter([a, b])
+
+        when:
+        Thread.sleep(150)
+
+        then:
+        slowStart.factor(b) == 1
+    }
+
+    void "test slow start scales the weights of the new instances"() {
+        given:
+        def slowStart = new SlowStart(configuration(Duration.ofMinutes(1)))
+        def a = instance('a')
+        def b = instance('b')
+        slowStart.filter([a])
+        slowStart.filter([a, b])
+        def selector = new SmoothWeightedRoundRobinSelector(slowStart::factor)
+
+        when:
+        def counts = (1..110).collect { selector.select([a, b]).id }.countBy { it }
+
+        then:
+        counts.b in 9..11
+        counts.a == 110 - counts.b
+    }
+
+    private static LoadBalancerConfiguration.SlowStartConfiguration configuration(Duration window) {
+        def configuration = new LoadBalancerConfiguration.SlowStartConfiguration()
+        configuration.enabled = true
+        configuration.window = window
+        configuration
+    }
+
+    private static ServiceInstance instance(String id) {
+        ServiceInstance.builder(id, URI.create("http://${id}:8080")).build()
+    }
+}
@@ -0,0 +1,109 @@
+package io.micronaut.discovery.client.loadbalance
+
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.health.HealthStatus
+import spock.lang.Specification
+
+class SubsettingFilterSpec extends Specification {
+
+    void "test the subset is bounded and stable"() {
+        given:
+        def instances = instances(1..100)
+
+        when:
+        def subset = filter('client-1').filter(instances)
+
+        then:
+        subset.size() == 10
+        subset.toSet().size() == 10
+        filter('client-1').filter(instances.reverse()).toSet() == subset.toSet()
+    }
+
+    void "test small instance lists are kept"() {
+        given:
+        def instances = instances(1..5)
+
+        expect:
+        filter('client-1').filter(instances).is(instances)
+    }
+
+    void "test an instance joining or leaving changes at most one instance of the subset"() {
+        given:
+        def instances = instances(1..100)
+        def filter = filter('client-1')
+        def subset = filter.filter(instances).toSet()
+
+        when:
+        def joined = filter.filter(instances + instances(101..101)).toSet()
+        def left = filter.filter(instances - subset.first()).toSet()
+
+        then:
+        (subset - joined).size() <= 1
+        (subset - left).size() == 1
+    }
+
+    void "test the clients are spread over the instances"() {
+        given:
+        def instances = instances(1..100)
+
+        when:
+        def counts = (1..200).collectMany { filter("client-$it").filter(instances) }.countBy { it.id }
+
+        then: "each instance is used by 20 clients on average"
+        counts.size() > 90
+        counts.values().every { it < 45 }
+    }
+
+    void "test the instances that are down are skipped"() {
+        given:
+        def instances = instances(1..100)
+        def subset = filter('client-1').filter(instances)
+        def down = ServiceInstance.builder(subset[0].id, subset[0].URI).status(HealthStatus.DOWN).build()
+
+        when:
+        def filtered = filter('client-1').filter([down] + (instances - subset[0]))
+
+        then:
+        filtered.size() == 10
+        !filtered.contains(down)
+        filtered.containsAll(subset.drop(1))
+    }
+
+    void "test the subset is not selected again behind zone affinity"() {
+        given:
+        def instances = (1..100).collect {
+            ServiceInstance.builder("instance-$it", URI.create("http://10.0.${it % 2}.${it}:8080")).zone(it % 2 == 0 ? 'zone-a' : 'zone-b').build()
+        }
+        def zoneAffinity = new ZoneAffinityFilter('zone-a', new LoadBalancerConfiguration.ZoneAffinityConfiguration())
+        def subsetting = filter('client-1')
+
+        when:
+        def first = zoneAffinity.filter(instances)
+        def second = zoneAffinity.filter(instances)
+        def subset = subsetting.filter(first)
+
+        then: "zone affinity returns a new list of the same instances on every call"
+        !second.is(first)
+        subset.size() == 10
+        subset.every { it.zone.get() == 'zone-a' }
+        subsetting.filter(second).is(subset)
+
+        when: "an instance of the zone leaves"
+        def left = subsetting.filter(zoneAffinity.filter(instances - subset[0]))
+
+        then:
+        !left.is(subset)
+        (subset.toSet() - left.toSet()) == [subset[0]] as Set
+    }
+
+    private static SubsettingFilter filter(String clientId) {
+        def configuration = new LoadBalancerConfiguration.SubsettingConfiguration()
+        configuration.enabled = true
+        configuration.size = 10
+        new SubsettingFilter(configuration, { clientId })
+    }
+
+    private static List<ServiceInstance> instances(IntRange range) {
+        range.collect { ServiceInstance.builder("instance-$it", URI.create("http://10.0.0.${it}:8080")).build() }
+    }
+}
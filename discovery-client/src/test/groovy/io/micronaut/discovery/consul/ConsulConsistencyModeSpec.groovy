@@ -0,0 +1,102 @@
+package io.micronaut.discovery.consul
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.discovery.consul.client.v1.ConsistencyMode
+import io.micronaut.discovery.consul.client.v1.ConsulCatalogEntry
+import io.micronaut.discovery.consul.client.v1.ConsulHealthEntry
+import io.micronaut.discovery.consul.client.v1.ConsulResponseMetadata
+import io.micronaut.discovery.consul.client.v1.ConsulServiceEntry
+import io.micronaut.http.HttpResponse
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Duration
+
+class ConsulConsistencyModeSpec extends Specification {
+
+    @Unroll
+    void "test the query parameters of the #mode mode"() {
+        expect:
+        mode.stale() == stale
+        mode.consistent() == consistent
+        mode.cached() == cached
+        mode.cacheControl(Duration.ofSeconds(30)) == cacheControl
+        mode.withoutCaching() == withoutCaching
+
+        where:
+        mode                       | stale | consistent | cached | cacheControl  | withoutCaching
+        ConsistencyMode.DEFAULT    | null  | null       | null   | null          | ConsistencyMode.DEFAULT
+        ConsistencyMode.STALE      | true  | null       | null   | null          | ConsistencyMode.STALE
+        ConsistencyMode.CONSISTENT | null  | true       | null   | null          | ConsistencyMode.CONSISTENT
+        ConsistencyMode.CACHED     | null  | null       | true   | 'max-age=30'  | ConsistencyMode.STALE
+    }
+
+    void "test the response metadata is read from the headers"() {
+        when:
+        def metadata = ConsulResponseMetadata.of(HttpResponse.ok()
+            .header('X-Consul-LastContact', '120')
+            .header('X-Consul-KnownLeader', 'true')
+            .header('X-Cache', 'HIT')
+            .header('Age', '7')
+            .getHeaders())
+
+        then:
+        metadata.lastContact() == Duration.ofMillis(120)
+        metadata.knownLeader()
+        metadata.cacheHit()
+        metadata.cacheAge() == Duration.ofSeconds(7)
+
+        when:
+        metadata = ConsulResponseMetadata.of(HttpResponse.ok().header('X-Consul-LastContact', 'invalid').getHeaders())
+
+        then:
+        metadata.lastContact() == null
+        metadata.knownLeader() == null
+        metadata.cacheHit() == null
+        metadata.cacheAge() == null
+    }
+
+    void "test the response metadata is exposed by the service instances"() {
+        given:
+        def node = new ConsulCatalogEntry("test-node", InetAddress.localHost, null, null, null, null)
+        def service = new ConsulServiceEntry("test-service", "127.0.0.1", 8080, null, "test-service-1", null)
+        def healthEntry = new ConsulHealthEntry(node, service, [])
+
+        when:
+        def instance = new ConsulServiceInstance(healthEntry, "http", new ConsulResponseMetadata(Duration.ofMillis(250), true, false, null))
+
+        then:
+        instance.responseMetadata.present
+        instance.metadata.get(ConsulServiceInstance.METADATA_LAST_CONTACT, String).get() == '250'
+        instance.metadata.get(ConsulServiceInstance.METADATA_CACHE, String).get() == 'MISS'
+
+        when:
+        instance = new ConsulServiceInstance(healthEntry, "http")
+
+        then:
+        !instance.responseMetadata.present
+        !instance.metadata.contains(ConsulServiceInstance.METADATA_LAST_CONTACT)
+    }
+
+    void "test the consistency modes are configurable per service"() {
+        given:
+        ApplicationContext context = ApplicationContext.run([
+            'consul.client.host'                                  : 'localhost',
+            'consul.client.port'                                  : 8500,
+            'consul.client.discovery.consistency-mode'            : 'stale',
+            'consul.client.discovery.consistency-modes.foo'       : 'consistent',
+            'consul.client.discovery.cache-max-age'               : '10s',
+            'consul.client.config.consistency-mode'               : 'cached'
+        ])
+        ConsulConfiguration configuration = context.getBean(ConsulConfiguration)
+
+        expect:
+        configuration.discovery.getConsistencyMode('foo') == ConsistencyMode.CONSISTENT
+        configuration.discovery.getConsistencyMode('bar') == ConsistencyMode.STALE
+        configuration.discovery.cacheMaxAge.get() == Duration.ofSeconds(10)
+        configuration.configuration.consistencyMode == ConsistencyMode.CACHED
+
+        cleanup:
+        context.close()
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.annotation.Value
+import io.micronaut.context.env.Environment
+import io.micronaut.context.event.ApplicationEventListener
+import io.micronaut.discovery.client.config.PropertySourceSnapshotStore
+import io.micronaut.discovery.config.ConfigurationClient
+import io.micronaut.discovery.consul.client.v1.ConsulClient
+import io.micronaut.runtime.context.scope.Refreshable
+import io.micronaut.runtime.context.scope.refresh.RefreshEvent
+import io.micronaut.runtime.server.EmbeddedServer
+import jakarta.inject.Singleton
+import reactor.core.publisher.Flux
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.util.concurrent.PollingConditions
+import spock.util.environment.RestoreSystemProperties
+
+import java.nio.file.Path
+
+@RestoreSystemProperties
+class ConsulMockConfigurationSnapshotSpec extends Specification {
+
+    @AutoCleanup
+    @Shared
+    EmbeddedServer consulServer = ApplicationContext.run(EmbeddedServer, [
+            (MockConsulServer.ENABLED): true
+    ])
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext someContext = ApplicationContext.run(
+            [
+                    'consul.client.host': 'localhost',
+                    'consul.client.port': consulServer.getPort()]
+    )
+
+    @Shared
+    ConsulClient client = someContext.getBean(ConsulClient)
+
+    @TempDir
+    Path dir
+
+    def setup() {
+        System.setProperty(Environment.BOOTSTRAP_CONTEXT_PROPERTY, "true")
+        consulServer.applicationContext.getBean(MockConsulServer).keyvalues.clear()
+    }
+
+    void "test refreshable beans see the configuration reconciled with the snapshot"() {
+        given: "a snapshot of the configuration written by a previous run"
+        writeValue("application", "snapshot.value", "one")
+        ApplicationContext.run(configuration()).close()
+
+        when: "the configuration changes in Consul before the next run"
+        writeValue("application", "snapshot.value", "two")
+        ApplicationContext applicationContext = ApplicationContext.run(configuration())
+        SnapshotBean bean = applicationContext.getBean(SnapshotBean)
+        RefreshListener listener = applicationContext.getBean(RefreshListener)
+
+        then: "the refreshable bean is rebuilt with the remote value"
+        new PollingConditions(timeout: 10).eventually {
+            assert listener.events
+            assert bean.value == 'two'
+        }
+        applicationContext.environment.getProperty("snapshot.value", String).get() == 'two'
+
+        cleanup:
+        applicationContext?.close()
+    }
+
+    private Map<String, Object> configuration() {
+        [
+                (ConfigurationClient.ENABLED)           : true,
+                (PropertySourceSnapshotStore.ENABLED)   : true,
+                (PropertySourceSnapshotStore.DIR)       : dir.toString(),
+                'spec.name'                             : 'ConsulMockConfigurationSnapshotSpec',
+                'consul.client.host'                    : 'localhost',
+                'consul.client.port'                    : consulServer.port
+        ]
+    }
+
+    private void writeValue(String env, String name, String value) {
+        Flux.from(client.putValue("/config/$env/$name", value)).blockFirst()
+    }
+
+    @Refreshable
+    @Requires(property = 'spec.name', value = 'ConsulMockConfigurationSnapshotSpec')
+    static class SnapshotBean {
+
+        @Value('${snapshot.value}')
+        String value
+    }
+
+    @Singleton
+    @Requires(property = 'spec.name', value = 'ConsulMockConfigurationSnapshotSpec')
+    static class RefreshListener implements ApplicationEventListener<RefreshEvent> {
+        final List<RefreshEvent> events = [].asSynchronized()
+
+        @Override
+        void onApplicationEvent(RefreshEvent event) {
+            events << event
+        }
+    }
+}
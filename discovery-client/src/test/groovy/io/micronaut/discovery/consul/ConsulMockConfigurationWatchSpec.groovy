@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Context
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.env.Environment
+import io.micronaut.context.event.ApplicationEventListener
+import io.micronaut.discovery.config.ConfigurationClient
+import io.micronaut.discovery.consul.client.v1.ConsulClient
+import io.micronaut.runtime.context.scope.refresh.RefreshEvent
+import io.micronaut.runtime.server.EmbeddedServer
+import jakarta.inject.Singleton
+import reactor.core.publisher.Flux
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+import spock.util.environment.RestoreSystemProperties
+
+@RestoreSystemProperties
+class ConsulMockConfigurationWatchSpec extends Specification {
+
+    @AutoCleanup
+    @Shared
+    EmbeddedServer consulServer = ApplicationContext.run(EmbeddedServer, [
+            (MockConsulServer.ENABLED): true
+    ])
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext someContext = ApplicationContext.run(
+            [
+                    'consul.client.host': 'localhost',
+                    'consul.client.port': consulServer.getPort()]
+    )
+
+    @Shared
+    ConsulClient client = someContext.getBean(ConsulClient)
+
+    def setup() {
+        System.setProperty(Environment.BOOTSTRAP_CONTEXT_PROPERTY, "true")
+        consulServer.applicationContext.getBean(MockConsulServer).keyvalues.clear()
+    }
+
+    void "test changed configuration is refreshed"() {
+        given:
+        writeValue("application", "watched.value", "one")
+        writeValue("application", "watched.other", "unchanged")
+
+        ApplicationContext applicationContext = ApplicationContext.run(
+                [
+                        (ConfigurationClient.ENABLED)           : true,
+                        'spec.name'                             : 'ConsulMockConfigurationWatchSpec',
+                        'consul.client.config.watch.enabled'    : true,
+                        'consul.client.config.watch.retry-delay': '100ms',
+                        'consul.client.host'                    : 'localhost',
+                        'consul.client.port'                    : consulServer.port]
+        )
+        Environment environment = applicationContext.environment
+        RefreshListener listener = applicationContext.getBean(RefreshListener)
+        PollingConditions conditions = new PollingConditions(timeout: 10)
+
+        expect:
+        environment.getProperty("watched.value", String).get() == 'one'
+
+        when:"a value is changed in Consul"
+        writeValue("application", "watched.value", "two")
+
+        then:"the environment is refreshed with only the changed key"
+        conditions.eventually {
+            assert environment.getProperty("watched.value", String).get() == 'two'
+            assert listener.events
+        }
+        listener.events[0].source.keySet() == ['watched.value'] as Set
+        environment.getProperty("watched.other", String).get() == 'unchanged'
+
+        cleanup:
+        applicationContext.close()
+    }
+
+    void "test a change made before the first watch query is refreshed"() {
+        given:
+        writeValue("application", "watched.value", "one")
+
+        ApplicationContext applicationContext = ApplicationContext.run(
+                [
+                        (ConfigurationClient.ENABLED)           : true,
+                        'spec.name'                             : 'ConsulMockConfigurationWatchSpec',
+                        'spec.write-on-startup'                 : 'two',
+                        'consul.client.config.watch.enabled'    : true,
+                        'consul.client.config.watch.retry-delay': '100ms',
+                        'consul.client.host'                    : 'localhost',
+                        'consul.client.port'                    : consulServer.port]
+        )
+        Environment environment = applicationContext.environment
+        RefreshListener listener = applicationContext.getBean(RefreshListener)
+        PollingConditions conditions = new PollingConditions(timeout: 10)
+
+        expect:"the value written after the configuration was read at startup"
+        conditions.eventually {
+            assert environment.getProperty("watched.value", String).get() == 'two'
+            assert listener.events
+        }
+        listener.events[0].source.keySet() == ['watched.value'] as Set
+
+        cleanup:
+        applicationContext.close()
+    }
+
+    private void writeValue(String env, String name, String value) {
+        Flux.from(client.putValue("/config/$env/$name", value)).blockFirst()
+    }
+
+    /**
+     * Changes the value in Consul once the configuration was read, before the watch starts.
+     */
+    @Context
+    @Requires(property = 'spec.name', value = 'ConsulMockConfigurationWatchSpec')
+    @Requires(property = 'spec.write-on-startup')
+    static class StartupWriter {
+        StartupWriter(ConsulClient consulClient, Environment environment) {
+            Flux.from(consulClient.putValue("/config/application/watched.value", environment.getRequiredProperty('spec.write-on-startup', String))).blockFirst()
+        }
+    }
+
+    @Singleton
+    @Requires(property = 'spec.name', value = 'ConsulMockConfigurationWatchSpec')
+    static class RefreshListener implements ApplicationEventListener<RefreshEvent> {
+        final List<RefreshEvent> events = [].asSynchronized()
+
+        @Override
+        void onApplicationEvent(RefreshEvent event) {
+            events << event
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.discovery.consul.client.v1.ConsulClient
+import io.micronaut.health.HealthStatus
+import io.micronaut.runtime.server.EmbeddedServer
+import reactor.core.publisher.Flux
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+class ConsulMockServiceWatchSpec extends Specification {
+
+    void "test watched service instances are updated"() {
+        given:
+        EmbeddedServer consulServer = ApplicationContext.run(EmbeddedServer,
+                [(MockConsulServer.ENABLED):true]
+        )
+
+        when:
+        String serviceId = 'watchedService'
+        EmbeddedServer application = ApplicationContext.run(
+                EmbeddedServer,
+                ['consul.client.host': consulServer.getHost(),
+                 'consul.client.port': consulServer.getPort(),
+                 'consul.client.discovery.watch.enabled': true,
+                 'consul.client.discovery.watch.retry-delay': '100ms',
+                 'micronaut.application.name': serviceId]
+        )
+        PollingConditions conditions = new PollingConditions()
+        ConsulClient consulClient = application.getApplicationContext().getBean(ConsulClient)
+
+        then:
+        conditions.eventually {
+            Flux.from(consulClient.getInstances(serviceId)).blockFirst().size() == 1
+        }
+
+        when:"the application is set to fail"
+        Flux.from(consulClient.fail("service:watched-service:${application.port}")).blockFirst()
+
+        then:"the watch picks up the change"
+        conditions.eventually {
+            Flux.from(consulClient.getInstances(serviceId)).blockFirst()[0].healthStatus == HealthStatus.DOWN
+        }
+
+        cleanup:
+        application?.stop()
+        consulServer?.stop()
+    }
+}
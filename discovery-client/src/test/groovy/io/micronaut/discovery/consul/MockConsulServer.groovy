@@ -68,6 +68,7 @@ class MockConsulServer implements ConsulOperations {
 
     static Map<String, ConsulNewServiceEntry> newEntries
     static List<String> passingReports = []
+    static List<String> serviceLookups = []
 
     final MemberEntry agent = new MemberEntry().tap {
         name = "localhost"
@@ -79,6 +80,7 @@ class MockConsulServer implements ConsulOperations {
     MockConsulServer(EmbeddedServer embeddedServer) {
         newEntries = [:]
         passingReports.clear()
+        serviceLookups.clear()
         nodeEntry = new ConsulCatalogEntry(UUID.randomUUID().toString(), InetAddress.localHost, null, null, null, null)
     }
 
@@ -200,7 +202,8 @@ class MockConsulServer implements ConsulOperations {
                 entry.port(),
                 entry.tags(),
                 entry.id(),
-                entry.meta()))
+                entry.meta(),
+                entry.weights()))
         checks.computeIfAbsent(service, { String key -> {
             ConsulCheck check = new ConsulCheck()
             check.setStatus(ConsulCheckStatus.PASSING.toString())
@@ -239,6 +242,15 @@ class MockConsulServer implements ConsulOperations {
         return Publishers.just(consulServices)
     }
 
+    @Override
+    @Get("/agent/service/{serviceId}")
+    @SingleResult
+    Publisher<ConsulServiceEntry> findService(@NotNull String serviceId) {
+        serviceLookups.add(serviceId)
+        ConsulServiceEntry entry = consulServices.values().find { it.id() == serviceId }
+        return entry != null ? Publishers.just(entry) : Publishers.empty()
+    }
+
     @Override
     Publisher<List<ConsulHealthEntry>> findHealthyServices(
             @NotNull String service, @Nullable Boolean passing, @Nullable String tag, @Nullable String dc) {
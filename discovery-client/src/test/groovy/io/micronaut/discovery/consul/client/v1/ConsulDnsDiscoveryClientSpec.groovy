@@ -0,0 +1,98 @@
+package io.micronaut.discovery.consul.client.v1
+
+import io.micronaut.discovery.client.ServiceInstanceMetadata
+import io.micronaut.discovery.consul.ConsulConfiguration
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+
+import javax.naming.NameNotFoundException
+import javax.naming.NamingException
+
+class ConsulDnsDiscoveryClientSpec extends Specification {
+
+    /**
+     * An in-process stand-in for the Consul DNS interface, keyed by name then record type.
+     */
+    Map<String, Map<String, List<String>>> zone = [:]
+    List<String> queries = []
+
+    ConsulDnsDiscoveryClient.DnsLookup lookup = { String name, String type ->
+        queries << "$type $name".toString()
+        def records = zone[name]
+        if (records == null) {
+            throw new NameNotFoundException(name)
+        }
+        return records[type] ?: []
+    }
+
+    void "test the instances are resolved from the SRV records of the service"() {
+        given:
+        zone['billing.service.consul'] = [SRV: [
+            '2 1 8081 node2.node.dc1.consul.',
+            '1 10 8080 0a000001.addr.dc1.consul.'
+        ]]
+        zone['node2.node.dc1.consul'] = [A: ['10.0.0.2']]
+        def client = new ConsulDnsDiscoveryClient(new ConsulConfiguration(), lookup)
+
+        when:
+        def instances = Mono.from(client.getInstances('billing')).block()
+
+        then: "the lowest priority first, addresses decoded from the target when possible"
+        instances*.URI*.toString() == ['http://10.0.0.1:8080', 'http://10.0.0.2:8081']
+        instances*.id == ['billing', 'billing']
+        instances*.instanceId*.orElse(null) == ['0a000001.addr.dc1.consul:8080', 'node2.node.dc1.consul:8081']
+        instances*.metadata*.get(ServiceInstanceMetadata.WEIGHT, String)*.orElse(null) == ['10', '1']
+        queries == ['SRV billing.service.consul', 'A node2.node.dc1.consul']
+        Mono.from(client.serviceIds).block() == []
+    }
+
+    void "test the name of the service includes the tag, datacenter and domain"() {
+        given:
+        def configuration = new ConsulConfiguration()
+        configuration.discovery.tags = [billing: 'v2']
+        configuration.discovery.datacenters = [billing: 'dc2']
+        configuration.discovery.schemes = [billing: 'https']
+        configuration.discovery.dns.domain = 'example'
+        zone['v2.billing.service.dc2.example'] = [SRV: ['1 1 8443 0a000001.addr.dc2.example.']]
+        def client = new ConsulDnsDiscoveryClient(configuration, lookup)
+
+        expect:
+        Mono.from(client.getInstances('billing')).block()*.URI*.toString() == ['https://10.0.0.1:8443']
+    }
+
+    void "test the resolved instances are cached for the time to live"() {
+        given:
+        zone['billing.service.consul'] = [SRV: ['1 1 8080 0a000001.addr.dc1.consul.']]
+        def client = new ConsulDnsDiscoveryClient(new ConsulConfiguration(), lookup)
+
+        when:
+        def first = Mono.from(client.getInstances('billing')).block()
+        def second = Mono.from(client.getInstances('billing')).block()
+
+        then:
+        second.is(first)
+        queries == ['SRV billing.service.consul']
+    }
+
+    void "test a service without healthy instances resolves to no instances"() {
+        given:
+        def client = new ConsulDnsDiscoveryClient(new ConsulConfiguration(), lookup)
+
+        expect:
+        Mono.from(client.getInstances('billing')).block() == []
+    }
+
+    void "test a failing DNS interface fails the lookup"() {
+        given:
+        def client = new ConsulDnsDiscoveryClient(new ConsulConfiguration(), { String name, String type ->
+            throw new NamingException('timeout')
+        } as ConsulDnsDiscoveryClient.DnsLookup)
+
+        when:
+        Mono.from(client.getInstances('billing')).block()
+
+        then:
+        def e = thrown(RuntimeException)
+        e.cause instanceof NamingException
+    }
+}
@@ -0,0 +1,71 @@
+package io.micronaut.discovery.consul.client.v1
+
+import io.micronaut.core.async.publisher.Publishers
+import io.micronaut.discovery.consul.ConsulServiceInstance
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+
+import java.time.Duration
+
+class ConsulNetworkCoordinatesSpec extends Specification {
+
+    void "test the round trip time is estimated from the coordinates"() {
+        given:
+        def a = new ConsulCoordinate([0.001d, 0d], 0.1d, 0d, 0.0001d)
+        def b = new ConsulCoordinate([0.004d, 0.004d], 0.1d, 0d, 0.0001d)
+
+        expect: "the distance plus both heights"
+        a.rttTo(b) == Duration.ofNanos(5_200_000)
+        b.rttTo(a) == a.rttTo(b)
+
+        and: "negative adjustments are ignored when they would make the estimate negative"
+        a.rttTo(new ConsulCoordinate([0.001d, 0d], 0.1d, -1d, 0d)) == Duration.ofNanos(100_000)
+    }
+
+    void "test the estimates are read once per refresh interval"() {
+        given:
+        ConsulClient consulClient = Mock(ConsulClient)
+        def coordinates = new ConsulNetworkCoordinates(consulClient, Duration.ofMinutes(1))
+
+        when:
+        def estimates = coordinates.getEstimates().block()
+        coordinates.getEstimates().block()
+
+        then:
+        1 * consulClient.getSelf() >> Publishers.just(new LocalAgentConfiguration(configuration: [NodeName: 'local']))
+        1 * consulClient.getNodeCoordinates(null) >> Publishers.just([
+            new ConsulNodeCoordinate('local', null, new ConsulCoordinate([0d], 0d, 0d, 0d)),
+            new ConsulNodeCoordinate('remote', null, new ConsulCoordinate([0.002d], 0d, 0d, 0d))
+        ])
+        estimates.rttTo('remote') == Duration.ofMillis(2)
+        estimates.rttTo('unknown') == null
+        coordinates.getEstimatesIfPresent().is(estimates)
+    }
+
+    void "test no estimates are available when the coordinates cannot be read"() {
+        given:
+        ConsulClient consulClient = Mock(ConsulClient)
+        def coordinates = new ConsulNetworkCoordinates(consulClient, Duration.ofMinutes(1))
+
+        when:
+        def estimates = coordinates.getEstimates().block()
+
+        then:
+        1 * consulClient.getSelf() >> Mono.error(new RuntimeException("Bad things happened"))
+        1 * consulClient.getNodeCoordinates(null) >> Publishers.just([])
+        estimates == null
+    }
+
+    void "test the round trip time is exposed as instance metadata"() {
+        given:
+        def node = new ConsulCatalogEntry("test-node", InetAddress.localHost, null, null, null, null)
+        def service = new ConsulServiceEntry("test-service", "127.0.0.1", 8080, null, "test-service-1", null)
+
+        when:
+        def instance = new ConsulServiceInstance(new ConsulHealthEntry(node, service, []), "http", null, Duration.ofNanos(1_500_000))
+
+        then:
+        instance.rtt.get() == Duration.ofNanos(1_500_000)
+        instance.metadata.get(ConsulServiceInstance.METADATA_RTT, String).get() == '1.5'
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.client.v1
+
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.http.HttpResponse
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+class ConsulServiceWatcherSpec extends Specification {
+
+    void "test a watch that is not read is stopped and started again on the next lookup"() {
+        given:
+        AtomicInteger queries = new AtomicInteger()
+        AtomicInteger index = new AtomicInteger()
+        ConsulServiceWatcher.WatchQuery query = { String serviceId, Long previous ->
+            queries.incrementAndGet()
+            // a blocking query that returns after a short wait
+            Mono.delay(Duration.ofMillis(previous == null ? 0 : 20)).map {
+                HttpResponse.ok([]).header(ConsulClient.HEADER_CONSUL_INDEX, String.valueOf(index.incrementAndGet()))
+            }
+        }
+        ConsulServiceWatcher watcher = new ConsulServiceWatcher(
+                query,
+                { String serviceId, List<ConsulHealthEntry> entries -> [ServiceInstance.of(serviceId, URI.create('http://foo:8080'))] },
+                Duration.ofMillis(10),
+                Duration.ofMillis(200))
+        PollingConditions conditions = new PollingConditions(timeout: 5)
+
+        when:
+        List<ServiceInstance> instances = Mono.from(watcher.getInstances('foo')).block()
+
+        then:
+        instances*.id == ['foo']
+        watcher.watchCount == 1
+
+        then: "the watch is stopped once idle"
+        conditions.eventually {
+            assert watcher.watchCount == 0
+        }
+
+        when:
+        int stoppedAt = queries.get()
+        Thread.sleep(100)
+
+        then: "no more queries are issued"
+        queries.get() == stoppedAt
+
+        when:
+        instances = Mono.from(watcher.getInstances('foo')).block()
+
+        then: "the next lookup starts a new watch"
+        instances*.id == ['foo']
+        watcher.watchCount == 1
+        queries.get() > stoppedAt
+
+        cleanup:
+        watcher.close()
+    }
+}
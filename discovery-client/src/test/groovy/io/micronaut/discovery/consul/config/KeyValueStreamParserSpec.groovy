@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.config
+
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+
+class KeyValueStreamParserSpec extends Specification {
+
+    void "test key values are parsed from arbitrarily split chunks"() {
+        given:
+        String json = """[
+  {"LockIndex":0,"Key":"config/","Flags":0,"Value":null,"CreateIndex":1,"ModifyIndex":1},
+  {"LockIndex":0,"Key":"config/application/foo","Flags":0,"Value":"${encode('bar')}","CreateIndex":2,"ModifyIndex":2},
+  {"Value":"${encode('later')}","Key":"config/application/key-after-value"},
+  {"Key":"config/other/skipped","Value":"${encode('skipped')}"}
+]"""
+        Map<String, String> values = [:]
+        List<String> decoded = []
+        KeyValueStreamParser parser = new KeyValueStreamParser(
+                { String key -> key.startsWith('config/application') },
+                { String key, value ->
+                    decoded << key
+                    values[key] = new String(value.get(), StandardCharsets.UTF_8)
+                }
+        )
+
+        when:
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8)
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            parser.feed(ByteBuffer.wrap(bytes, i, Math.min(bytes.length - i, chunkSize)))
+        }
+        parser.complete()
+
+        then:
+        values == ['config/application/foo': 'bar', 'config/application/key-after-value': 'later']
+        decoded == ['config/application/foo', 'config/application/key-after-value']
+
+        where:
+        chunkSize << [1, 7, 64, 4096]
+    }
+
+    void "test a truncated response fails"() {
+        given:
+        KeyValueStreamParser parser = new KeyValueStreamParser({ true }, { key, value -> })
+
+        when:
+        parser.feed(ByteBuffer.wrap('[{"Key":"config/application/foo"'.getBytes(StandardCharsets.UTF_8)))
+        parser.complete()
+
+        then:
+        thrown(IOException)
+    }
+
+    private static String encode(String value) {
+        Base64.encoder.encodeToString(value.getBytes(StandardCharsets.UTF_8))
+    }
+}
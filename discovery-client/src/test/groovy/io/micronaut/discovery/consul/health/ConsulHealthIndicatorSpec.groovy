@@ -0,0 +1,93 @@
+package io.micronaut.discovery.consul.health
+
+import io.micronaut.discovery.consul.ConsulConfiguration
+import io.micronaut.discovery.consul.client.v1.ConsulClient
+import io.micronaut.health.HealthStatus
+import io.micronaut.management.health.indicator.HealthResult
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+
+import java.time.Duration
+
+class ConsulHealthIndicatorSpec extends Specification {
+
+    ConsulClient client = Mock()
+
+    void "test the health result is fetched on every request by default"() {
+        given:
+        def indicator = new ConsulHealthIndicator(client, new ConsulConfiguration())
+
+        when:
+        3.times { result(indicator) }
+
+        then:
+        3 * client.status() >> Mono.just('10.0.0.1:8300')
+    }
+
+    void "test the cached health result is served without querying Consul"() {
+        given:
+        def indicator = new ConsulHealthIndicator(client, configuration(Duration.ofMinutes(1), Duration.ofMinutes(5)))
+
+        when:
+        def results = (1..3).collect { result(indicator) }
+
+        then:
+        1 * client.status() >> Mono.just('10.0.0.1:8300')
+        results.every { it.status == HealthStatus.UP && it.details == [leader: '10.0.0.1:8300'] }
+
+        cleanup:
+        indicator.close()
+    }
+
+    void "test the cached health result is refreshed in the background"() {
+        given:
+        int calls = 0
+        client.status() >> { calls++ == 0 ? Mono.just('10.0.0.1:8300') : Mono.error(new IllegalStateException('No leader')) }
+        def indicator = new ConsulHealthIndicator(client, configuration(Duration.ofMillis(50), Duration.ofMinutes(5)))
+
+        expect:
+        result(indicator).status == HealthStatus.UP
+
+        when:
+        Thread.sleep(300)
+
+        then:
+        calls > 1
+        result(indicator).status == HealthStatus.DOWN
+
+        cleanup:
+        indicator.close()
+    }
+
+    void "test Consul is reported down when the cached health result is too old"() {
+        given:
+        client.status() >>> [Mono.just('10.0.0.1:8300'), Mono.never()]
+        def indicator = new ConsulHealthIndicator(client, configuration(Duration.ofMinutes(1), Duration.ofMillis(100)))
+
+        expect:
+        result(indicator).status == HealthStatus.UP
+
+        when:
+        Thread.sleep(200)
+        def result = result(indicator)
+
+        then:
+        result.status == HealthStatus.DOWN
+        result.details.lastStatus == HealthStatus.UP.name
+
+        cleanup:
+        indicator.close()
+    }
+
+    private static ConsulConfiguration configuration(Duration refreshInterval, Duration maxAge) {
+        def configuration = new ConsulConfiguration()
+        configuration.healthIndicator.enabled = true
+        configuration.healthIndicator.refreshInterval = refreshInterval
+        configuration.healthIndicator.maxAge = maxAge
+        configuration
+    }
+
+    private static HealthResult result(ConsulHealthIndicator indicator) {
+        Mono.from(indicator.result).block()
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.registration
+
+import io.micronaut.discovery.consul.client.v1.ConsulClient
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+
+class ConsulRegistrationRecoverySpec extends Specification {
+
+    void "test a failed passing update looks the service up and registers it again"() {
+        given:
+        ConsulClient consulClient = Mock(ConsulClient)
+        ConsulRegistrationRecovery recovery = new ConsulRegistrationRecovery(consulClient, { true })
+        boolean registered = false
+
+        when:
+        recovery.failed('a', { registered = true })
+
+        then:
+        1 * consulClient.findService('a') >> Mono.empty()
+        0 * consulClient.getServiceIds()
+        registered
+    }
+
+    void "test repeated failures are looked up once per backoff round"() {
+        given:
+        ConsulClient consulClient = Mock(ConsulClient)
+        ConsulRegistrationRecovery recovery = new ConsulRegistrationRecovery(consulClient, { true })
+        int registrations = 0
+
+        when: 'the agent keeps failing'
+        3.times {
+            recovery.failed('a', { registrations++ })
+        }
+
+        then: 'the service is looked up once, then the recovery backs off'
+        1 * consulClient.findService('a') >> Mono.error(new RuntimeException('Bad'))
+        registrations == 0
+        recovery.getRecoveryState('a') == ConsulRegistrationRecovery.RecoveryState.BACKING_OFF
+
+        when: 'the agent recovers'
+        recovery.passed('a')
+
+        then:
+        recovery.getRecoveryState('a') == ConsulRegistrationRecovery.RecoveryState.HEALTHY
+
+        when: 'the next failure is looked up right away'
+        recovery.failed('a', { registrations++ })
+
+        then:
+        1 * consulClient.findService('a') >> Mono.empty()
+        registrations == 1
+    }
+
+    void "test the service is not registered again once the services are deregistered"() {
+        given:
+        ConsulClient consulClient = Mock(ConsulClient)
+        ConsulRegistrationRecovery recovery = new ConsulRegistrationRecovery(consulClient, { false })
+        boolean registered = false
+
+        when:
+        recovery.failed('a', { registered = true })
+
+        then:
+        1 * consulClient.findService('a') >> Mono.empty()
+        !registered
+    }
+}
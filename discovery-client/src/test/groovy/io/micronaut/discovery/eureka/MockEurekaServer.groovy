@@ -89,6 +89,12 @@ class MockEurekaServer implements EurekaOperations{
         } as List<ApplicationInfo>))
     }
 
+    @Get('/apps/delta')
+    @Produces(single = true)
+    Publisher<MockApplicationInfos> getApplicationInfosDeltaInternal() {
+        return Publishers.just(new MockApplicationInfos([]))
+    }
+
     @Override
     Publisher<List<ApplicationInfo>> getApplicationInfos() {
         // no-op... never called
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.eureka.client.v2
+
+import io.micronaut.core.async.publisher.Publishers
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.eureka.EurekaServiceInstance
+import reactor.core.publisher.Flux
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+
+class EurekaRegistryMirrorSpec extends Specification {
+
+    void "test the reconcile hash code counts instances per status"() {
+        given:
+        InstanceInfo up1 = instance('foo', 'foo1')
+        InstanceInfo up2 = instance('bar', 'bar1')
+        InstanceInfo down = instance('bar', 'bar2')
+        down.status = InstanceInfo.Status.DOWN
+
+        expect:
+        EurekaRegistryMirror.reconcileHashCode([['foo1': up1], ['bar1': up2, 'bar2': down]]) == 'DOWN_1_UP_2_'
+        EurekaRegistryMirror.reconcileHashCode([]) == ''
+    }
+
+    void "test deltas are applied to the mirror"() {
+        given:
+        List<AbstractEurekaClient.ApplicationInfos> deltas = [
+                new AbstractEurekaClient.ApplicationInfos([
+                        new ApplicationInfo('FOO', [instance('foo', 'foo2', InstanceInfo.ActionType.ADDED)]),
+                        new ApplicationInfo('BAR', [instance('bar', 'bar1', InstanceInfo.ActionType.DELETED)])
+                ], 'UP_2_')
+        ]
+        int fullFetches = 0
+        EurekaRegistryMirror mirror = new EurekaRegistryMirror(
+                { ->
+                    fullFetches++
+                    Publishers.just(new AbstractEurekaClient.ApplicationInfos([
+                            new ApplicationInfo('FOO', [instance('foo', 'foo1')]),
+                            new ApplicationInfo('BAR', [instance('bar', 'bar1')])
+                    ]))
+                },
+                { -> Publishers.just(deltas ? deltas.remove(0) : new AbstractEurekaClient.ApplicationInfos([], null)) },
+                { InstanceInfo ii -> (ServiceInstance) new EurekaServiceInstance(ii) },
+                Duration.ofMillis(50)
+        )
+        PollingConditions conditions = new PollingConditions(timeout: 5)
+
+        when:
+        mirror.start()
+
+        then:
+        conditions.eventually {
+            assert mirror.loaded
+            assert deltas.isEmpty()
+            assert Flux.from(mirror.getInstances('foo')).blockFirst()*.instanceId*.get() as Set == ['foo1', 'foo2'] as Set
+            assert Flux.from(mirror.getInstances('bar')).blockFirst().isEmpty()
+            assert mirror.serviceIds == ['FOO']
+        }
+        fullFetches == 1
+
+        cleanup:
+        mirror?.close()
+    }
+
+    void "test a hash code mismatch fetches the whole registry"() {
+        given:
+        int fullFetches = 0
+        EurekaRegistryMirror mirror = new EurekaRegistryMirror(
+                { ->
+                    fullFetches++
+                    Publishers.just(new AbstractEurekaClient.ApplicationInfos([
+                            new ApplicationInfo('FOO', [instance('foo', 'foo1')])
+                    ]))
+                },
+                { -> Publishers.just(new AbstractEurekaClient.ApplicationInfos([], 'UP_3_')) },
+                { InstanceInfo ii -> (ServiceInstance) new EurekaServiceInstance(ii) },
+                Duration.ofMillis(50)
+        )
+        PollingConditions conditions = new PollingConditions(timeout: 5)
+
+        when:
+        mirror.start()
+
+        then:
+        conditions.eventually {
+            assert fullFetches > 1
+        }
+        Flux.from(mirror.getInstances('foo')).blockFirst().size() == 1
+
+        cleanup:
+        mirror?.close()
+    }
+
+    private static InstanceInfo instance(String app, String id, InstanceInfo.ActionType actionType = null) {
+        InstanceInfo instanceInfo = new InstanceInfo('localhost', 8080, '127.0.0.1', app, id)
+        instanceInfo.actionType = actionType
+        return instanceInfo
+    }
+}
@@ -17,9 +17,13 @@ package io.micronaut.discovery.eureka.health
 
 import io.micronaut.context.ApplicationContext
 import io.micronaut.context.env.Environment
+import io.micronaut.discovery.eureka.EurekaConfiguration
 import io.micronaut.discovery.eureka.MockEurekaServer
+import io.micronaut.discovery.eureka.client.v2.EurekaClient
 import io.micronaut.health.HealthStatus
+import io.micronaut.http.HttpStatus
 import io.micronaut.management.health.indicator.HealthResult
+import io.micronaut.runtime.ApplicationConfiguration
 import io.micronaut.runtime.server.EmbeddedServer
 import reactor.core.publisher.Mono
 import spock.lang.Specification
@@ -53,4 +57,55 @@ class EurekaHealthIndicatorSpec extends Specification {
         eurekaServer?.stop()
         applicationContext.close()
     }
+
+    void "test eureka health indicator in ping mode"() {
+        given:
+        Map eurekaServerMap = [
+                'jackson.serialization.WRAP_ROOT_VALUE': true,
+                (MockEurekaServer.ENABLED)             : true
+        ]
+        EmbeddedServer eurekaServer = ApplicationContext.run(EmbeddedServer, eurekaServerMap, Environment.TEST)
+
+        Map applicationContextMap = [
+                'eureka.client.defaultZone'            : eurekaServer.getURL(),
+                'eureka.client.health-indicator.ping'  : true
+        ]
+        ApplicationContext applicationContext = ApplicationContext.run(applicationContextMap, Environment.TEST)
+
+        EurekaHealthIndicator healthIndicator = applicationContext.getBean(EurekaHealthIndicator)
+
+        when:
+        HealthResult healthResult = Mono.from(healthIndicator.result).block()
+
+        then:
+        healthResult.status == HealthStatus.UP
+        healthResult.details == null
+
+        cleanup:
+        eurekaServer?.stop()
+        applicationContext.close()
+    }
+
+    void "test the ping mode does not fetch the registry"() {
+        given:
+        EurekaClient client = Mock()
+        def configuration = new EurekaConfiguration(new EurekaConfiguration.EurekaConnectionPoolConfiguration(), new ApplicationConfiguration(), null)
+        configuration.healthIndicator.ping = true
+        def healthIndicator = new EurekaHealthIndicator(client, configuration)
+
+        when:
+        HealthResult healthResult = Mono.from(healthIndicator.result).block()
+
+        then:
+        1 * client.ping() >> Mono.just(HttpStatus.OK)
+        0 * client.getServiceIds()
+        healthResult.status == HealthStatus.UP
+
+        when:
+        healthResult = Mono.from(healthIndicator.result).block()
+
+        then:
+        1 * client.ping() >> Mono.error(new IllegalStateException('Eureka is down'))
+        healthResult.status == HealthStatus.DOWN
+    }
 }